@@ -0,0 +1,274 @@
+package connectorGenerator;
+
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+
+/**
+ * The class <code>ConnectorClassCache</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  On-disk cache of the bytecode of the connectors generated from the xml
+ *  descriptors, so that the descriptors are parsed and compiled only once and
+ *  the next starts of the JVM load the generated classes directly.
+ * </p>
+ *
+ * <p>
+ *  A class is stored in {@code <directory>/<key>.class} where the key is the
+ *  SHA-256 of the descriptor contents, of the implemented interface and of the
+ *  name of the class, which is written in the bytecode. The version of the
+ *  generator, the digest of the bytecode of its classes, is also hashed, so
+ *  that the classes generated by another build of the generator are not
+ *  loaded. The files are written in a temporary file first and
+ *  then moved, so a concurrent reader never sees a partial class.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code getDirectory() != null}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class ConnectorClassCache {
+
+    /** system property giving the directory of the cache. */
+    public static final String DIRECTORY_PROPERTY = "connectorGenerator.cache";
+    /** directory of the cache when the property is not set. */
+    protected static final String DEFAULT_DIRECTORY =
+            Paths.get(System.getProperty("user.home"), ".alasca", "connectors").toString();
+    protected static final String CLASS_EXTENSION = ".class";
+    protected static final String TEMPORARY_EXTENSION = ".tmp";
+
+    /** classes of the generator whose bytecode determines the generated code. */
+    protected static final Class<?>[] GENERATOR_CLASSES = {
+            ConnectorConfigurationParser.class,
+            ConnectorRenderer.class,
+            ConnectorRenderer.Operation.class,
+            ControlAdapterReader.class,
+            ControlAdapterDescriptor.class,
+            Memo.class
+    };
+    /** version of the generated code, the digest of the bytecode of the generator. */
+    protected static final String GENERATOR_VERSION = generatorVersion();
+
+    protected final Path directory;
+
+    /**
+     *
+     * Creates a cache in the given directory, created when the first class is stored
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code directory != null}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param directory directory of the cache
+     */
+    public ConnectorClassCache(Path directory) {
+        assert directory != null :
+                new PreconditionException("directory == null");
+
+        this.directory = directory;
+    }
+
+    /**
+     *
+     * Computes the version of the generated code from the bytecode of the classes of the generator, so that any
+     * change to the generator changes the keys of the classes it generates; when the bytecode cannot be read, the
+     * version is unique to this run and the classes stored by the other runs are never loaded
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code true} // no precondition
+     *  post {@code return != null}
+     * </pre>
+     * @return the version of the generated code
+     */
+    protected static String generatorVersion() {
+        byte[][] parts = new byte[GENERATOR_CLASSES.length][];
+        for (int i = 0; i < GENERATOR_CLASSES.length; ++i) {
+            String resource = "/" + GENERATOR_CLASSES[i].getName().replace('.', '/') + CLASS_EXTENSION;
+            try (InputStream in = GENERATOR_CLASSES[i].getResourceAsStream(resource)) {
+                if (in == null) {
+                    return UUID.randomUUID().toString();
+                }
+                parts[i] = in.readAllBytes();
+            } catch (IOException e) {
+                return UUID.randomUUID().toString();
+            }
+        }
+        return sha256(parts);
+    }
+
+    /**
+     * @return a cache in the directory given by the {@code DIRECTORY_PROPERTY} system property or in the default directory
+     */
+    public static ConnectorClassCache fromSystemProperties() {
+        return new ConnectorClassCache(Paths.get(System.getProperty(DIRECTORY_PROPERTY, DEFAULT_DIRECTORY)));
+    }
+
+    public Path getDirectory() {
+        return this.directory;
+    }
+
+    /**
+     *
+     * Computes the key of a generated class
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code className != null && connectorImplementedInterface != null && descriptor != null}
+     *  post {@code return != null && return.length() == 64}
+     * </pre>
+     * @param className name of the generated class
+     * @param connectorImplementedInterface interface implemented by the connector
+     * @param descriptor contents of the xml descriptor
+     * @return the hexadecimal SHA-256 identifying the generated class
+     */
+    public static String key(String className, Class<?> connectorImplementedInterface, byte[] descriptor) {
+        assert className != null && connectorImplementedInterface != null && descriptor != null :
+                new PreconditionException(
+                        "className == null || connectorImplementedInterface == null || descriptor == null");
+
+        return sha256(
+                GENERATOR_VERSION.getBytes(StandardCharsets.UTF_8),
+                className.getBytes(StandardCharsets.UTF_8),
+                connectorImplementedInterface.getName().getBytes(StandardCharsets.UTF_8),
+                descriptor);
+    }
+
+    /**
+     *
+     * Computes the digest of a descriptor, of the interface implemented by its connector and of the version of the
+     * generator, which does not depend on the name of the class
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code connectorImplementedInterface != null && descriptor != null}
+     *  post {@code return != null && return.length() == 64}
+     * </pre>
+     * @param connectorImplementedInterface interface implemented by the connector
+     * @param descriptor contents of the xml descriptor
+     * @return the hexadecimal SHA-256 of the version, of the interface and of the descriptor
+     */
+    public static String digest(Class<?> connectorImplementedInterface, byte[] descriptor) {
+        assert connectorImplementedInterface != null && descriptor != null :
+                new PreconditionException("connectorImplementedInterface == null || descriptor == null");
+
+        return sha256(
+                GENERATOR_VERSION.getBytes(StandardCharsets.UTF_8),
+                connectorImplementedInterface.getName().getBytes(StandardCharsets.UTF_8),
+                descriptor);
+    }
+
+    /**
+     * @param parts the parts to hash, separated by a zero byte
+     * @return the hexadecimal SHA-256 of the parts
+     */
+    protected static String sha256(byte[]... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (int i = 0; i < parts.length; ++i) {
+                if (i > 0) {
+                    digest.update((byte) 0);
+                }
+                digest.update(parts[i]);
+            }
+
+            StringBuilder builder = new StringBuilder(64);
+            for (byte b : digest.digest()) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16));
+                builder.append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is required on every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     *
+     * Returns the bytecode stored with the given key
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code key != null}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param key key of the class
+     * @return the bytecode or null if it is not in the cache or cannot be read
+     */
+    public byte[] load(String key) {
+        assert key != null :
+                new PreconditionException("key == null");
+
+        Path file = this.directory.resolve(key + CLASS_EXTENSION);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     *
+     * Stores the bytecode of a class, a failure only means that the class will
+     * be generated again
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code key != null && bytecode != null}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param key key of the class
+     * @param bytecode bytecode of the class
+     */
+    public void store(String key, byte[] bytecode) {
+        assert key != null && bytecode != null :
+                new PreconditionException("key == null || bytecode == null");
+
+        try {
+            Files.createDirectories(this.directory);
+            Path temporary = Files.createTempFile(this.directory, key, TEMPORARY_EXTENSION);
+            try {
+                Files.write(temporary, bytecode);
+                Files.move(
+                        temporary,
+                        this.directory.resolve(key + CLASS_EXTENSION),
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
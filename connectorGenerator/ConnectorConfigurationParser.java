@@ -3,14 +3,16 @@ package connectorGenerator;
 import fr.sorbonne_u.components.connectors.AbstractConnector;
 import fr.sorbonne_u.exceptions.PreconditionException;
 import javassist.*;
-import org.xml.sax.Attributes;
-import org.xml.sax.SAXException;
-import org.xml.sax.helpers.DefaultHandler;
 
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.parsers.SAXParser;
-import javax.xml.parsers.SAXParserFactory;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 /**
  * The class <code>ConnectorConfigurationParser</code>.
@@ -19,6 +21,10 @@ import java.io.IOException;
  *
  * <p>
  *  This class is used to read connectors encoded as xml files
+ *  The descriptors are validated and read by {@code ControlAdapterReader} and
+ *  the classes are rendered from the resulting model by {@code ConnectorRenderer}
+ *  The classes of distinct descriptors are generated concurrently; the callers asking for a class being generated
+ *  wait for its generation, and only the definitions of the classes in the class pool are serialised
  * </p>
  *
  * <p><strong>Invariants</strong></p>
@@ -35,35 +41,78 @@ public class ConnectorConfigurationParser {
 
     protected static final String xml_extension = ".xml";
 
+    /** when true, the generated classes are kept in an on-disk cache and loaded from it by the next starts; off
+     *  unless the directory of the cache is given by the {@code ConnectorClassCache.DIRECTORY_PROPERTY} property */
+    public static boolean USE_CLASS_CACHE = System.getProperty(ConnectorClassCache.DIRECTORY_PROPERTY) != null;
+    /** system property setting {@code INSTRUMENTED_CONNECTORS} */
+    public static final String INSTRUMENTED_PROPERTY = "connectorGenerator.instrumented";
+    /** when true, the generated connectors count and time the calls to their operations, see
+     *  {@code InstrumentedConnectorI}; the instrumented connectors are distinct classes */
+    public static boolean INSTRUMENTED_CONNECTORS = Boolean.getBoolean(INSTRUMENTED_PROPERTY);
+    /** cache of the generated classes */
+    protected static final ConnectorClassCache CLASS_CACHE = ConnectorClassCache.fromSystemProperties();
+    /** package of the connector classes named after their descriptor */
+    public static final String GENERATED_PACKAGE = "connectorGenerator.generated";
+    /** number of hexadecimal digits of the digest of the descriptor kept in the class names */
+    protected static final int CLASS_NAME_DIGEST_LENGTH = 16;
+    /** generations of the connector classes by name, completed once the class is defined; a failed one is removed */
+    protected static final ConcurrentHashMap<String, CompletableFuture<Void>> GENERATIONS = new ConcurrentHashMap<>();
+    /** lock of the definitions of the classes in the class pool */
+    protected static final Object POOL_LOCK = new Object();
+
+    /**
+     *
+     * Returns the name of the connector class generated from a descriptor, which only depends on the contents of the
+     * descriptor, on the implemented interface, on the version of the generator and on
+     * {@code INSTRUMENTED_CONNECTORS}, so that the devices using the same descriptor share one class and a class
+     * generated by another build of the generator is never taken for the current one
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code connectorImplementedInterface != null && descriptor != null}
+     *  post {@code return != null && !return.isEmpty()}
+     * </pre>
+     * @param connectorImplementedInterface Interfaces implemented by the connector
+     * @param descriptor contents of the xml file
+     * @return the canonical name of the connector class
+     */
+    public static String ConnectorClassName(Class<?> connectorImplementedInterface, byte[] descriptor) {
+        assert connectorImplementedInterface != null && descriptor != null :
+                new PreconditionException("connectorImplementedInterface == null || descriptor == null");
+
+        String digest = ConnectorClassCache.digest(connectorImplementedInterface, descriptor);
+        return GENERATED_PACKAGE + "." + connectorImplementedInterface.getSimpleName() +
+                (INSTRUMENTED_CONNECTORS ? "InstrumentedConnector_" : "Connector_") +
+                digest.substring(0, CLASS_NAME_DIGEST_LENGTH);
+    }
+
     /**
      *
-     * Tries to create the connectorCanonicalName connector class from the xml file entitled filename
-     * If the class already exists then we do nothing
+     * Creates, unless it already exists, the connector class shared by all the devices using the xml file entitled
+     * filename, and returns its name
+     * A caller asking for a class which another one is generating waits for that generation and gets its failure
      *
      * <p><strong>Contract</strong></p>
      *
      * <pre>
-     *  pre {@code connectorCanonicalName != null && !connectorCanonicalName.isEmpty()}
      *  pre {@code connectorImplementedInterface != null }
      *  pre {@code filename != null && !filename.isEmpty()}
-     *  post {@code true} // no postcondition
+     *  post {@code return.equals(ConnectorClassName(connectorImplementedInterface, contents of filename))}
      * </pre>
-     * @param connectorCanonicalName name of the class we want to create
      * @param connectorImplementedInterface Interfaces implemented by the connector
      * @param filename name of the xml file
+     * @return the canonical name of the connector class
      * @throws NotFoundException The file does not exist
      * @throws CannotCompileException An error has occurred
-     * @throws ParserConfigurationException
-     * @throws SAXException
+     * @throws DescriptorException The descriptor is not valid or does not compile
      * @throws IOException
      */
-    public static void ClassFromXml(String connectorCanonicalName, Class<?> connectorImplementedInterface, String filename)
-            throws NotFoundException, CannotCompileException, ParserConfigurationException, SAXException, IOException {
+    public static String ClassFromXml(Class<?> connectorImplementedInterface, String filename)
+            throws NotFoundException, CannotCompileException, DescriptorException, IOException {
 
         assert filename != null && ! filename.isEmpty():
                 new PreconditionException("filename == null || filename.isEmpty()");
-        assert connectorCanonicalName != null && !connectorCanonicalName.isEmpty():
-                new PreconditionException("connectorCanonicalName == null || connectorCanonicalName.isEmpty()");
         assert connectorImplementedInterface != null :
                 new PreconditionException("connectorImplementedInterface == null");
 
@@ -71,317 +120,224 @@ public class ConnectorConfigurationParser {
             throw new IllegalArgumentException("filename has no xml_extension");
         }
 
-        ClassPool pool = ClassPool.getDefault();
-
-        // If the class already exists we do nothing
-        CtClass connectorCtClass = pool.getOrNull(connectorCanonicalName);
-
-        if (connectorCtClass == null) {
-            CtClass superClass = pool.get(AbstractConnector.class.getCanonicalName());
-            connectorCtClass = pool.makeClass(connectorCanonicalName);
-
-            connectorCtClass.setSuperclass(superClass);
-
-            CtClass CtInterface = pool.get(connectorImplementedInterface.getCanonicalName());
-            connectorCtClass.setInterfaces(new CtClass[]{CtInterface});
-
-            CtInterface.detach();
-            superClass.detach();
-
-            // We parse and create the class
-            SAXParserFactory factory = SAXParserFactory.newInstance();
-            SAXParser parser = factory.newSAXParser();
-            ConfigurationHandler handler = new ConfigurationHandler(connectorCtClass, connectorImplementedInterface);
-            parser.parse(filename, handler);
-            handler.getConnectorClass();
+        byte[] descriptor = Files.readAllBytes(Paths.get(filename));
+        String connectorCanonicalName = ConnectorClassName(connectorImplementedInterface, descriptor);
+        // the connectors of the known descriptors are generated at build time by ConnectorPrecompiler
+        if (isPrecompiled(connectorCanonicalName)) {
+            return connectorCanonicalName;
         }
 
-    }
-
-}
-
-class ConfigurationHandler
-extends DefaultHandler {
-
-    protected static final char SPACE = ' ';
-    protected static final char LPAR = '(';
-    protected static final char RPAR = ')';
-    protected static final char RBRA = '}';
-    protected static final char LBRA = '{';
-    protected static final char NEWLINE = '\n';
-
-    protected static final String PARAMETER_COMMA = ", ";
-    protected static final String THROWS = " throws";
-
-    protected static final String EXCEPTION = "java.lang.Exception";
-
-    protected static final String INT_TYPE = "int ";
-
-    private CtClass connectorCtClass;
-
-    /** Accumulator for the content of the class */
-    StringBuilder builder;
-
-    /** The previous marker is sometimes useful to determine what code to generate */
-    String previousTag;
-    /** The equipmentRef is an argument in the body marker*/
-    String equipmentRef;
-    String offeringCast;
-    /** Used to know if we are parsing internal auxiliary methods */
-    boolean inInternal;
-    public ConfigurationHandler(CtClass new_class, Class<?> connectorImplementedInterface)
-            throws NotFoundException, CannotCompileException {
-        super();
-
-        this.builder = new StringBuilder();
-        this.previousTag = "";
-        this.equipmentRef = null;
-        this.offeringCast = "";
-        this.inInternal = false;
-
-        this.connectorCtClass = new_class;
-
+        CompletableFuture<Void> generation = new CompletableFuture<>();
+        CompletableFuture<Void> running = GENERATIONS.putIfAbsent(connectorCanonicalName, generation);
+        if (running != null) {
+            awaitGeneration(connectorCanonicalName, running);
+            return connectorCanonicalName;
+        }
+        try {
+            if (ClassPool.getDefault().getOrNull(connectorCanonicalName) == null) {
+                generate(connectorCanonicalName, connectorImplementedInterface, descriptor);
+            }
+            generation.complete(null);
+        } catch (Exception | Error e) {
+            // the next registration tries again and reports the errors again
+            GENERATIONS.remove(connectorCanonicalName, generation);
+            generation.completeExceptionally(e);
+            throw e;
+        }
+        return connectorCanonicalName;
     }
 
     /**
      *
-     * Add the correct modifiers to the fields of the class
+     * Waits for the generation of a class by another caller
      *
      * <p><strong>Contract</strong></p>
      *
      * <pre>
-     *  pre {@code true} // no precondition
-     *  post {@code true} // no postcondition
+     *  pre {@code connectorCanonicalName != null && generation != null}
+     *  post {@code generation.isDone()}
      * </pre>
-     * @param field
-     * @param modifiers
+     * @param connectorCanonicalName name of the class being generated
+     * @param generation generation of the class
+     * @throws NotFoundException The file does not exist
+     * @throws CannotCompileException An error has occurred
+     * @throws DescriptorException The descriptor is not valid or does not compile
+     * @throws IOException
      */
-    private void addModifiers(CtField field, String modifiers) {
-
-        if (modifiers.contains("public")) {
-            field.setModifiers(Modifier.PUBLIC);
-        } else if (modifiers.contains("protected")) {
-            field.setModifiers(Modifier.PROTECTED);
-        } else if (modifiers.contains("private")) {
-            field.setModifiers(Modifier.PRIVATE);
-        }
-
-        if (modifiers.contains("static")) {
-            field.setModifiers(Modifier.STATIC);
+    protected static void awaitGeneration(String connectorCanonicalName, CompletableFuture<Void> generation)
+            throws NotFoundException, CannotCompileException, DescriptorException, IOException {
+        try {
+            generation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while " + connectorCanonicalName + " is generated");
+        } catch (ExecutionException e) {
+            // the failure of the generating caller, thrown by ClassFromXml
+            Throwable cause = e.getCause();
+            if (cause instanceof NotFoundException) {
+                throw (NotFoundException) cause;
+            } else if (cause instanceof CannotCompileException) {
+                throw (CannotCompileException) cause;
+            } else if (cause instanceof DescriptorException) {
+                throw (DescriptorException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw (Error) cause;
         }
+    }
 
-        if (modifiers.contains("final")) {
-            field.setModifiers(Modifier.FINAL);
+    /**
+     * @param connectorCanonicalName name of a connector class
+     * @return true if the class is on the class path, that is if it has been generated at build time
+     */
+    protected static boolean isPrecompiled(String connectorCanonicalName) {
+        try {
+            Class.forName(connectorCanonicalName, false, ConnectorConfigurationParser.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
         }
-
     }
 
     /**
      *
-     * Creates the variables
+     * Creates the connectorCanonicalName connector class from the contents of an xml file, or loads it from the
+     * cache if it has already been generated by a previous start
+     * The descriptor is read and the class rendered without lock, only its definition holds {@code POOL_LOCK}
      *
      * <p><strong>Contract</strong></p>
      *
      * <pre>
-     *  pre {@code true} // no precondition
+     *  pre {@code ClassPool.getDefault().getOrNull(connectorCanonicalName) == null}
      *  post {@code true} // no postcondition
      * </pre>
-     * @param attributes
+     * @param connectorCanonicalName name of the class we want to create
+     * @param connectorImplementedInterface Interfaces implemented by the connector
+     * @param descriptor contents of the xml file
+     * @throws NotFoundException The file does not exist
+     * @throws CannotCompileException An error has occurred
+     * @throws DescriptorException The descriptor is not valid or does not compile
+     * @throws IOException
      */
-    private void addVar(Attributes attributes) {
-        String modifiers = attributes.getValue("modifiers");
-        String type = attributes.getValue("type");
+    protected static void generate(String connectorCanonicalName, Class<?> connectorImplementedInterface, byte[] descriptor)
+            throws NotFoundException, CannotCompileException, DescriptorException, IOException {
 
-        // We get the type of the field
-        CtClass typeClass = null;
-        try {
-            typeClass = ClassPool.getDefault().get(type);
-        } catch (NotFoundException e) {
-            e.printStackTrace();
-        }
-
-        String name = attributes.getValue("name");
-        String initializer = attributes.getValue("static-init");
-
-        try {
-            CtField field = new CtField(typeClass, name, this.connectorCtClass);
-            // adding the modifiers to the field
-            addModifiers(field, modifiers);
+        ClassPool pool = ClassPool.getDefault();
 
-            // if the field have a initial value in the xml file
-            // we use it to initialise the field in class
-            if (initializer != null) {
-                this.connectorCtClass.addField(field, initializer);
-            } else {
-                this.connectorCtClass.addField(field);
+        String key = null;
+        if (USE_CLASS_CACHE) {
+            key = ConnectorClassCache.key(connectorCanonicalName, connectorImplementedInterface, descriptor);
+            if (loadCachedClass(pool, key)) {
+                return;
             }
+        }
 
-        } catch (CannotCompileException e) {
-            e.printStackTrace();
+        ConnectorRenderer handler = makeConnectorClass(connectorCanonicalName, connectorImplementedInterface, descriptor);
+        List<Exception> errors = handler.getErrors();
+        if (!errors.isEmpty()) {
+            // the class is not loaded, so that the next registration reports the errors again
+            synchronized (POOL_LOCK) {
+                handler.connectorCtClass.detach();
+            }
+            StringBuilder message = new StringBuilder(connectorCanonicalName).append(" cannot be generated:");
+            for (Exception e : errors) {
+                message.append("\n    ").append(e.getMessage());
+            }
+            throw new DescriptorException(message.toString(), -1, errors.get(0));
         }
 
+        if (key != null) {
+            CLASS_CACHE.store(key, handler.connectorCtClass.toBytecode());
+        }
+        synchronized (POOL_LOCK) {
+            handler.getConnectorClass();
+        }
     }
 
-    public void startElement(String uri, String localName, String qName, Attributes attributes) {
-        switch (qName) {
-            case "control-adapter":
-                String offeredInterface = attributes.getValue("offered");
-                // We save the offered interface so as to be able to cast the abstract connector in the class
-                this.offeringCast = this.castingString(offeredInterface);
-                break;
-            case "required":
-                break;
-            case "instance-var": {
-                this.addVar(attributes);
-                break;
-            }
-            case "internal": {
-                this.inInternal = true;
-
-                String modifiers = attributes.getValue("modifiers");
-                String type = attributes.getValue("type");
-                String name = attributes.getValue("name");
-                this.builder.append(modifiers);
-                this.builder.append(SPACE);
-                this.builder.append(type);
-                this.builder.append(SPACE);
-                this.builder.append(name);
-                this.builder.append(LPAR);
-                break;
-            }
-            case "parameter": {
-                String type = attributes.getValue("type");
-                if (type == null) {
-                    // We consider the int type to be the default type
-                    type = INT_TYPE;
-                }
-                String name = attributes.getValue("name");
-                if (previousTag.equals("parameter")) {
-                    this.builder.append(PARAMETER_COMMA);
-                }
-                this.builder.append(type);
-                this.builder.append(SPACE);
-                this.builder.append(name);
-                break;
-            }
-            case "thrown": {
-                if (previousTag.equals("thrown")){
-                    this.builder.append(PARAMETER_COMMA);
-                } else {
-                    this.builder.append(RPAR);
-                    this.builder.append(THROWS);
-                    this.builder.append(SPACE);
-                }
-                break;
-            }
-            case "body": {
-                this.equipmentRef = attributes.getValue("equipmentRef");
+    /**
+     *
+     * Reads the contents of an xml file and renders the connectorCanonicalName connector class in the class pool,
+     * without loading it; the errors of compilation of the generated code are reported by the returned renderer
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code ClassPool.getDefault().getOrNull(connectorCanonicalName) == null}
+     *  post {@code return != null}
+     * </pre>
+     * @param connectorCanonicalName name of the class we want to create
+     * @param connectorImplementedInterface Interfaces implemented by the connector
+     * @param descriptor contents of the xml file
+     * @return the renderer holding the class and the errors of its generation
+     * @throws NotFoundException The file does not exist
+     * @throws CannotCompileException An error has occurred
+     * @throws DescriptorException The descriptor is not valid or does not compile
+     * @throws IOException
+     */
+    protected static ConnectorRenderer makeConnectorClass(
+            String connectorCanonicalName,
+            Class<?> connectorImplementedInterface,
+            byte[] descriptor
+    ) throws NotFoundException, CannotCompileException, DescriptorException, IOException {
 
-                if (previousTag.equals("parameter")) {
-                    this.builder.append(RPAR);
+        // the descriptor is validated and read before anything is generated
+        ControlAdapterDescriptor model = ControlAdapterReader.read(descriptor);
 
-                    if (! this.inInternal ) {
-                        this.builder.append(THROWS);
-                        this.builder.append(SPACE);
-                        this.builder.append(EXCEPTION);
-                    }
-                }
-                this.builder.append(LBRA);
-                this.builder.append(NEWLINE);
-                break;
-            }
-            case "maxMode": {
-                this.builder.append("public int maxMode() throws java.lang.Exception\n");
-                break;
-            }
-            case "upMode": {
-                this.builder.append("public boolean upMode() throws java.lang.Exception\n");
-                break;
-            }
-            case "downMode": {
-                this.builder.append("public boolean downMode() throws java.lang.Exception\n");
-                break;
-            }
-            case "currentMode": {
-                this.builder.append("public int currentMode() throws java.lang.Exception\n");
-                break;
-            }
-            case "suspended": {
-                this.builder.append("public boolean suspended() throws java.lang.Exception\n");
-                break;
-            }
-            case "suspend": {
-                this.builder.append("public boolean suspend() throws java.lang.Exception\n");
-                break;
-            }
-            case "resume": {
-                this.builder.append("public boolean resume() throws java.lang.Exception\n");
-                break;
-            }
-            case "emergency": {
-                this.builder.append("public double emergency() throws java.lang.Exception\n");
-                break;
-            }
-            case "setMode": {
-                this.builder.append("public boolean setMode(");
-                break;
-            }
-            case "getModeConsumption": {
-                this.builder.append("public double getModeConsumption(");
-                break;
-            }
-            default:
+        ClassPool pool = ClassPool.getDefault();
 
-        }
-        this.previousTag = qName;
-    }
+        CtClass superClass = pool.get(AbstractConnector.class.getCanonicalName());
+        CtClass connectorCtClass = pool.makeClass(connectorCanonicalName);
 
-    public void endElement(String uri, String localName, String qName) {
-        switch (qName) {
-            case "internal": {
-                this.inInternal = false;
-                break;
-            }
-            case "body": {
-                this.builder.append(NEWLINE);
-                this.builder.append(RBRA);
-                this.builder.append(NEWLINE);
-                this.builder.append(NEWLINE);
+        connectorCtClass.setSuperclass(superClass);
 
-                // creating a new method
-                CtMethod newMethod;
-                try {
-                    newMethod = CtMethod.make(this.builder.toString(), this.connectorCtClass);
-                    connectorCtClass.addMethod(newMethod);
-                } catch (CannotCompileException e) {
-                    e.printStackTrace();
-                }
+        CtClass CtInterface = pool.get(connectorImplementedInterface.getCanonicalName());
+        connectorCtClass.setInterfaces(new CtClass[]{CtInterface});
 
-                // reset the string builder
-                this.builder = new StringBuilder();
-                this.equipmentRef = null;
+        CtInterface.detach();
+        superClass.detach();
 
-                break;
-            }
-            default:
-        }
+        ConnectorRenderer renderer =
+                new ConnectorRenderer(connectorCtClass, connectorImplementedInterface, INSTRUMENTED_CONNECTORS);
+        renderer.render(model);
+        return renderer;
     }
 
-    public void characters(char[] ch, int start, int end) {
-        String content_string = new String(ch, start, end);
-
-        if (this.equipmentRef != null) {
-            content_string = content_string.replaceAll(this.equipmentRef, this.offeringCast);
+    /**
+     *
+     * Loads the class stored in the cache with the given key, as if it had just been generated
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code pool != null && key != null}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param pool pool in which the class is loaded
+     * @param key key of the class in the cache
+     * @return true if the class has been loaded, false if it is not in the cache or is corrupted
+     * @throws CannotCompileException the class cannot be loaded
+     */
+    protected static boolean loadCachedClass(ClassPool pool, String key) throws CannotCompileException {
+        byte[] bytecode = CLASS_CACHE.load(key);
+        if (bytecode == null) {
+            return false;
         }
-        this.builder.append(content_string);
-    }
 
-    public Class<?> getConnectorClass() throws CannotCompileException, NotFoundException, IOException {
-        this.connectorCtClass.writeFile();
-        return this.connectorCtClass.toClass();
+        synchronized (POOL_LOCK) {
+            CtClass cached;
+            try {
+                cached = pool.makeClass(new ByteArrayInputStream(bytecode));
+            } catch (IOException | RuntimeException e) {
+                // corrupted file, the class is generated again and the file replaced
+                e.printStackTrace();
+                return false;
+            }
+            cached.toClass();
+        }
+        return true;
     }
 
-    private String castingString(String offeredInterface) {
-        return "((" + offeredInterface + ")this.offering)";
-    }
-}
\ No newline at end of file
+}
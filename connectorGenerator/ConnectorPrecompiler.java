@@ -0,0 +1,162 @@
+package connectorGenerator;
+
+import equipments.hem.AdjustableStatusCI;
+import fr.sorbonne_u.components.hem2025.bases.AdjustableCI;
+import javassist.ClassPool;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The class <code>ConnectorPrecompiler</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Build-time generator of the connectors: every {@code *-descriptor.xml} of a
+ *  directory is turned into compiled connector classes written in an output
+ *  directory, one per descriptor and implemented interface, named as
+ *  {@code ConnectorConfigurationParser#ConnectorClassName} names them. When
+ *  the output directory is on the class path, {@code ClassFromXml} finds these
+ *  classes and does not generate anything at runtime; Javassist is only used
+ *  for the descriptors that were not known at build time.
+ * </p>
+ *
+ * <p>
+ *  Unlike the runtime generation, which reports the errors of compilation and
+ *  goes on, the precompiler fails when a descriptor does not compile, so that
+ *  the errors are found by the build and not when a device registers.
+ * </p>
+ *
+ * <p>
+ *  Usage, once the project is compiled, with the compiled classes and the
+ *  libraries on the class path:
+ *  {@code ConnectorPrecompiler outputDirectory [descriptorDirectory [interface ...]]}.
+ *  The descriptors are taken by default in {@code connectorGenerator} and the
+ *  connectors are generated for {@code AdjustableCI} and
+ *  {@code AdjustableStatusCI}, the interfaces used by {@code HEM} and
+ *  {@code HEMCyPhy}.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class ConnectorPrecompiler {
+
+    protected static final String DEFAULT_DESCRIPTOR_DIRECTORY = "connectorGenerator";
+    protected static final String DESCRIPTOR_PATTERN = "*-descriptor.xml";
+    protected static final Class<?>[] DEFAULT_INTERFACES = {AdjustableCI.class, AdjustableStatusCI.class};
+
+    /**
+     *
+     * Generates the connector of one descriptor for one interface in the output directory
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code descriptorFile != null && connectorImplementedInterface != null && outputDirectory != null}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param descriptorFile the xml descriptor
+     * @param connectorImplementedInterface interface implemented by the connector
+     * @param outputDirectory root directory of the generated classes
+     * @return the errors met while generating the connector, empty if it has been written
+     * @throws Exception if the descriptor cannot be read or the class cannot be written
+     */
+    protected static List<Exception> precompile(
+            Path descriptorFile,
+            Class<?> connectorImplementedInterface,
+            Path outputDirectory
+    ) throws Exception {
+        byte[] descriptor = Files.readAllBytes(descriptorFile);
+        String className = ConnectorConfigurationParser.ConnectorClassName(connectorImplementedInterface, descriptor);
+
+        if (ClassPool.getDefault().getOrNull(className) != null) {
+            // an identical descriptor has already been compiled
+            return new ArrayList<>();
+        }
+
+        ConnectorRenderer renderer;
+        try {
+            renderer = ConnectorConfigurationParser.makeConnectorClass(className, connectorImplementedInterface, descriptor);
+        } catch (DescriptorException e) {
+            List<Exception> errors = new ArrayList<>();
+            errors.add(e);
+            return errors;
+        }
+        List<Exception> errors = new ArrayList<>(renderer.getErrors());
+        if (errors.isEmpty()) {
+            renderer.connectorCtClass.writeFile(outputDirectory.toString());
+            System.out.println(descriptorFile + " -> " + className);
+        }
+        return errors;
+    }
+
+    /**
+     * @param directory directory of the descriptors
+     * @return the descriptors of the directory, sorted by name
+     * @throws IOException if the directory cannot be read
+     */
+    protected static List<Path> descriptors(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, DESCRIPTOR_PATTERN)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        files.sort(null);
+        return files;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println(
+                    "usage: ConnectorPrecompiler outputDirectory [descriptorDirectory [interface ...]]");
+            System.exit(2);
+        }
+
+        try {
+            Path outputDirectory = Paths.get(args[0]);
+            Path descriptorDirectory = Paths.get(args.length > 1 ? args[1] : DEFAULT_DESCRIPTOR_DIRECTORY);
+            Class<?>[] interfaces = DEFAULT_INTERFACES;
+            if (args.length > 2) {
+                interfaces = new Class<?>[args.length - 2];
+                for (int i = 2; i < args.length; ++i) {
+                    interfaces[i - 2] = Class.forName(args[i]);
+                }
+            }
+
+            int failures = 0;
+            for (Path descriptor : descriptors(descriptorDirectory)) {
+                for (Class<?> connectorImplementedInterface : interfaces) {
+                    List<Exception> errors = precompile(descriptor, connectorImplementedInterface, outputDirectory);
+                    if (!errors.isEmpty()) {
+                        ++failures;
+                        System.err.println(
+                                descriptor + " does not compile for " + connectorImplementedInterface.getName() + ":");
+                        for (Exception e : errors) {
+                            System.err.println("    " + e.getMessage());
+                        }
+                    }
+                }
+            }
+            System.exit(failures == 0 ? 0 : 1);
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
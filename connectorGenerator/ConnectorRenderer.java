@@ -0,0 +1,526 @@
+package connectorGenerator;
+
+import equipments.hem.AdjustableAsyncI;
+import equipments.hem.AdjustableStatusCI;
+import fr.sorbonne_u.components.hem2025.bases.AdjustableCI;
+import fr.sorbonne_u.exceptions.PreconditionException;
+import javassist.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The class <code>ConnectorRenderer</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Renders the model of a control adapter descriptor into a connector class:
+ *  the fields are created from the instance variables and each method is
+ *  rendered through the templates below, then compiled by Javassist. The
+ *  signatures of the operations of the implemented interface are fixed here,
+ *  the descriptor only gives their parameter names and bodies.
+ * </p>
+ *
+ * <p>
+ *  The generation goes on after an error, so that all the errors of a
+ *  descriptor are reported at once by {@code getErrors}, each one giving the
+ *  line of the method in the descriptor.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+class ConnectorRenderer {
+
+    /** signature of an operation of {@code AdjustableCI} */
+    static class Operation {
+        final String returnType;
+        /** type of the parameter, null if the operation takes none */
+        final String parameterType;
+        /** true for a query, false for a command */
+        final boolean query;
+        /** true for a query of the state of the device, whose memo is invalidated by the commands */
+        final boolean state;
+
+        Operation(String returnType, String parameterType, boolean query, boolean state) {
+            this.returnType = returnType;
+            this.parameterType = parameterType;
+            this.query = query;
+            this.state = state;
+        }
+
+        /**
+         * @return true if the result of the operation may be memoized by the connector; the consumptions of the
+         * modes are kept by the HEM, which invalidates them when the device asks it to, so the connector does not
+         * keep a second copy expiring on its own
+         */
+        boolean isMemoizable() {
+            return this.query && this.parameterType == null;
+        }
+    }
+
+    /** Operations which can be given in a descriptor */
+    static final Map<String, Operation> OPERATIONS = new LinkedHashMap<>();
+    static {
+        OPERATIONS.put("maxMode", new Operation("int", null, true, false));
+        OPERATIONS.put("upMode", new Operation("boolean", null, false, false));
+        OPERATIONS.put("downMode", new Operation("boolean", null, false, false));
+        OPERATIONS.put("setMode", new Operation("boolean", "int", false, false));
+        OPERATIONS.put("currentMode", new Operation("int", null, true, true));
+        OPERATIONS.put("getModeConsumption", new Operation("double", "int", true, false));
+        OPERATIONS.put("suspended", new Operation("boolean", null, true, true));
+        OPERATIONS.put("suspend", new Operation("boolean", null, false, false));
+        OPERATIONS.put("resume", new Operation("boolean", null, false, false));
+        OPERATIONS.put("emergency", new Operation("double", null, true, true));
+    }
+
+    /** bulk operations, composed of the individual operations of the connector */
+    static final Set<String> BULK_OPERATIONS =
+            Collections.unmodifiableSet(new TreeSet<>(List.of("modeStatus", "modeConsumptions", "status")));
+
+    protected static final String EXCEPTION = "java.lang.Exception";
+    /** Suffix of the generated method computing a memoized operation */
+    protected static final String UNCACHED_SUFFIX = "Uncached";
+
+    // Templates, %1$s is the result type, %2$s the name of the operation and
+    // %3$d the time to live in nanoseconds
+
+    /** modifiers, type, name, parameters, throws clause and body */
+    protected static final String METHOD_TEMPLATE = "%s %s %s(%s)%s {\n%s\n}\n";
+    // a memo is an immutable connectorGenerator.Memo published by a volatile
+    // field
+    protected static final String MEMO_CONSTANT_TEMPLATE =
+            "public %1$s %2$s() throws java.lang.Exception {\n" +
+            "    connectorGenerator.Memo sMemo = this.%2$sMemo;\n" +
+            "    if (sMemo == null) {\n" +
+            "        sMemo = connectorGenerator.Memo.of(this.%2$sUncached(), 0L);\n" +
+            "        this.%2$sMemo = sMemo;\n" +
+            "    }\n" +
+            "    return sMemo.%1$sValue();\n" +
+            "}\n";
+    protected static final String MEMO_TTL_TEMPLATE =
+            "public %1$s %2$s() throws java.lang.Exception {\n" +
+            "    long sNow = System.nanoTime();\n" +
+            "    connectorGenerator.Memo sMemo = this.%2$sMemo;\n" +
+            "    if (sMemo == null || sNow - sMemo.expiry >= 0L) {\n" +
+            "        sMemo = connectorGenerator.Memo.of(this.%2$sUncached(), sNow + %3$dL);\n" +
+            "        this.%2$sMemo = sMemo;\n" +
+            "    }\n" +
+            "    return sMemo.%1$sValue();\n" +
+            "}\n";
+    protected static final String INVALIDATE_TEMPLATE = "this.%2$sMemo = null;\n";
+    protected static final String INVALIDATE_CALL = "this.invalidateMemos();\n";
+    protected static final String MODE_STATUS =
+            "public equipments.hem.AdjustableStatus modeStatus() throws java.lang.Exception {\n" +
+            "    int sMaxMode = this.maxMode();\n" +
+            "    boolean sSuspended = this.suspended();\n" +
+            "    int sCurrentMode = sSuspended ? 0 : this.currentMode();\n" +
+            "    double sEmergency = sSuspended ? this.emergency() : 0.0;\n" +
+            "    double[] sNoConsumptions = null;\n" +
+            "    return new equipments.hem.AdjustableStatus(sCurrentMode, sMaxMode, sSuspended, sEmergency, sNoConsumptions);\n" +
+            "}\n";
+    protected static final String MODE_CONSUMPTIONS =
+            "public double[] modeConsumptions() throws java.lang.Exception {\n" +
+            "    int sMaxMode = this.maxMode();\n" +
+            "    double[] sConsumptions = new double[sMaxMode];\n" +
+            "    for (int sMode = 1; sMode <= sMaxMode; ++sMode) {\n" +
+            "        sConsumptions[sMode - 1] = this.getModeConsumption(sMode);\n" +
+            "    }\n" +
+            "    return sConsumptions;\n" +
+            "}\n";
+    protected static final String STATUS =
+            "public equipments.hem.AdjustableStatus status() throws java.lang.Exception {\n" +
+            "    return this.modeStatus().withModeConsumptions(this.modeConsumptions());\n" +
+            "}\n";
+
+    CtClass connectorCtClass;
+
+    /** Errors met while generating the class, the generation goes on after an error */
+    protected final List<Exception> errors;
+
+    /** Interface implemented by the connector */
+    final Class<?> implementedInterface;
+    /** True if the connector must offer the bulk operations of {@code AdjustableStatusCI} */
+    final boolean withStatus;
+    /** True if the operations of the interface must count and time their calls */
+    final boolean instrumented;
+    /** Cast of the offering component in the bodies of the methods */
+    String offeringCast;
+
+    public ConnectorRenderer(CtClass new_class, Class<?> connectorImplementedInterface, boolean instrumented)
+            throws NotFoundException {
+        this.connectorCtClass = new_class;
+        this.implementedInterface = connectorImplementedInterface;
+        this.withStatus = AdjustableStatusCI.class.isAssignableFrom(connectorImplementedInterface);
+        this.instrumented = instrumented;
+        this.errors = new ArrayList<>();
+        this.offeringCast = "";
+
+        if (AdjustableCI.class.isAssignableFrom(connectorImplementedInterface)) {
+            // the non-blocking variants are default methods of the interface
+            this.connectorCtClass.addInterface(
+                    new_class.getClassPool().get(AdjustableAsyncI.class.getCanonicalName()));
+        }
+    }
+
+    /**
+     *
+     * Renders a descriptor into the connector class
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code descriptor != null}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param descriptor the model of the descriptor
+     */
+    public void render(ControlAdapterDescriptor descriptor) {
+        assert descriptor != null :
+                new PreconditionException("descriptor == null");
+
+        // We save the offered interface so as to be able to cast the abstract connector in the class
+        this.offeringCast = this.castingString(descriptor.getOffered());
+
+        for (ControlAdapterDescriptor.Variable variable : descriptor.getVariables()) {
+            this.addVar(variable);
+        }
+
+        // the commands invalidate the memos of the state of the device before running
+        String invalidations = this.invalidations(descriptor);
+        if (!invalidations.isEmpty()) {
+            this.compile("invalidateMemos", "protected void invalidateMemos() {\n" + invalidations + "}\n");
+        }
+
+        for (ControlAdapterDescriptor.Method method : descriptor.getMethods()) {
+            String prologue =
+                    !method.internal && !OPERATIONS.get(method.name).query && !invalidations.isEmpty() ?
+                            INVALIDATE_CALL : "";
+            String source = this.renderMethod(method, prologue);
+            try {
+                CtMethod newMethod = CtMethod.make(source, this.connectorCtClass);
+                if (method.isMemoized()) {
+                    this.addMemoized(method, newMethod);
+                } else {
+                    this.connectorCtClass.addMethod(newMethod);
+                }
+            } catch (CannotCompileException e) {
+                this.errors.add(new DescriptorException(
+                        "cannot compile " + method.name + ": " + e.getMessage(), method.line, e));
+            }
+        }
+
+        if (this.withStatus) {
+            this.addStatus();
+        }
+        if (this.instrumented) {
+            try {
+                this.addInstrumentation();
+            } catch (CannotCompileException | NotFoundException e) {
+                this.errors.add(e);
+            }
+        }
+    }
+
+    /**
+     *
+     * Renders the source of a method of the descriptor
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code method != null && prologue != null}
+     *  post {@code return != null}
+     * </pre>
+     * @param method the method
+     * @param prologue statements inserted at the beginning of the body
+     * @return the source of the method
+     */
+    protected String renderMethod(ControlAdapterDescriptor.Method method, String prologue) {
+        StringJoiner parameters = new StringJoiner(", ");
+        String modifiers;
+        String type;
+        String throwsClause;
+        if (method.internal) {
+            modifiers = method.modifiers;
+            type = method.type;
+            for (ControlAdapterDescriptor.Parameter parameter : method.parameters) {
+                parameters.add(parameter.type + " " + parameter.name);
+            }
+            throwsClause = method.thrown.isEmpty() ? "" : " throws " + String.join(", ", method.thrown);
+        } else {
+            Operation operation = OPERATIONS.get(method.name);
+            modifiers = "public";
+            type = operation.returnType;
+            if (operation.parameterType != null) {
+                parameters.add(operation.parameterType + " " + method.parameters.get(0).name);
+            }
+            throwsClause = " throws " + EXCEPTION;
+        }
+
+        String body = method.body;
+        if (method.equipmentRef != null) {
+            body = Pattern.compile("\\b" + Pattern.quote(method.equipmentRef) + "\\b")
+                    .matcher(body)
+                    .replaceAll(Matcher.quoteReplacement(this.offeringCast));
+        }
+        return String.format(METHOD_TEMPLATE, modifiers, type, method.name, parameters, throwsClause, prologue + body);
+    }
+
+    /**
+     * @param descriptor the model of the descriptor
+     * @return the statements invalidating the memos of the queries of the state of the device with a time to live,
+     * empty if there is none; the other memos, like the maximum mode, do not depend on the commands
+     */
+    protected String invalidations(ControlAdapterDescriptor descriptor) {
+        StringBuilder invalidations = new StringBuilder();
+        for (ControlAdapterDescriptor.Method method : descriptor.getMethods()) {
+            // the queries of the state take no mode
+            if (method.memoTtl > 0 && !method.internal && OPERATIONS.get(method.name).state) {
+                invalidations.append(String.format(INVALIDATE_TEMPLATE, "", method.name));
+            }
+        }
+        return invalidations.toString();
+    }
+
+    /**
+     *
+     * Add the correct modifiers to the fields of the class
+     * The modifiers are combined; a static field with an initial value is a constant shared by all the devices
+     * using the class, so it is made final and the state of a device can only be kept in instance fields
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code true} // no precondition
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param field
+     * @param modifiers
+     * @param initialised true if the field has an initial value
+     */
+    private void addModifiers(CtField field, String modifiers, boolean initialised) {
+
+        int flags = 0;
+        if (modifiers.contains("public")) {
+            flags |= Modifier.PUBLIC;
+        } else if (modifiers.contains("protected")) {
+            flags |= Modifier.PROTECTED;
+        } else if (modifiers.contains("private")) {
+            flags |= Modifier.PRIVATE;
+        }
+
+        if (modifiers.contains("static")) {
+            flags |= Modifier.STATIC;
+            if (initialised) {
+                flags |= Modifier.FINAL;
+            }
+        }
+
+        if (modifiers.contains("final")) {
+            flags |= Modifier.FINAL;
+        }
+
+        field.setModifiers(flags);
+    }
+
+    /**
+     *
+     * Creates a variable
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code variable != null}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param variable the variable given in the descriptor
+     */
+    private void addVar(ControlAdapterDescriptor.Variable variable) {
+        try {
+            CtClass typeClass = this.connectorCtClass.getClassPool().get(variable.type);
+            CtField field = new CtField(typeClass, variable.name, this.connectorCtClass);
+            // adding the modifiers to the field
+            addModifiers(field, variable.modifiers, variable.initializer != null);
+
+            // if the field have a initial value in the xml file
+            // we use it to initialise the field in class
+            if (variable.initializer != null) {
+                this.connectorCtClass.addField(field, variable.initializer);
+            } else {
+                this.connectorCtClass.addField(field);
+            }
+        } catch (NotFoundException | CannotCompileException e) {
+            this.errors.add(new DescriptorException(
+                    "cannot create the variable " + variable.name + ": " + e.getMessage(), -1, e));
+        }
+    }
+
+    /**
+     *
+     * Adds a memoized operation: the method generated from the xml is renamed
+     * and made private, and the operation returns the result stored in the
+     * fields of the connector while it is valid. The memos are fields of the
+     * instance, so each device keeps its own even if its class is shared. The
+     * connector may be called by several threads: a memo is an immutable
+     * {@code Memo} published by a volatile field, so a call sees either no
+     * memo or a whole one. Two concurrent calls may both
+     * compute the result, and a result computed while a command runs may be
+     * published after the command invalidated the memo, in which case it
+     * lasts until its time to live expires
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code method != null && method.isMemoized() && compiled != null}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param method the memoized operation
+     * @param compiled the method compiled from the xml for the operation
+     * @throws CannotCompileException if the memoized operation cannot be compiled
+     */
+    private void addMemoized(ControlAdapterDescriptor.Method method, CtMethod compiled) throws CannotCompileException {
+        final String name = method.name;
+        final Operation operation = OPERATIONS.get(name);
+        final boolean expires = method.memoTtl > 0;
+
+        compiled.setName(name + UNCACHED_SUFFIX);
+        compiled.setModifiers(Modifier.PRIVATE);
+        this.connectorCtClass.addMethod(compiled);
+
+        this.connectorCtClass.addField(CtField.make(
+                "private volatile connectorGenerator.Memo " + name + "Memo;", this.connectorCtClass));
+
+        String template = expires ? MEMO_TTL_TEMPLATE : MEMO_CONSTANT_TEMPLATE;
+        this.connectorCtClass.addMethod(CtMethod.make(
+                String.format(template, operation.returnType, name, method.memoTtl),
+                this.connectorCtClass));
+    }
+
+    /**
+     *
+     * Generates the bulk operations of {@code AdjustableStatusCI}
+     * The operations are compositions of the operations generated from the xml
+     * file: they run in the connector, so they make the same calls to the
+     * device as the operations they compose, see {@code AdjustableStatusCI}
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code true} // no precondition
+     *  post {@code true} // no postcondition
+     * </pre>
+     */
+    private void addStatus() {
+        this.compile("modeStatus", MODE_STATUS);
+        this.compile("modeConsumptions", MODE_CONSUMPTIONS);
+        this.compile("status", STATUS);
+    }
+
+    /**
+     *
+     * Instruments the operations of the implemented interface: each call is
+     * timed and recorded in the {@code ConnectorStatistics} of the connector,
+     * returned by {@code InstrumentedConnectorI#getConnectorStatistics}. The
+     * bulk operations are not instrumented, the calls they make to the
+     * individual operations are, so that each call to the device is counted
+     * once in the total time of the connector
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code instrumented}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @throws CannotCompileException if the instrumentation cannot be compiled
+     * @throws NotFoundException if {@code InstrumentedConnectorI} is not found
+     */
+    private void addInstrumentation() throws CannotCompileException, NotFoundException {
+        Set<String> names = new TreeSet<>();
+        for (java.lang.reflect.Method method : this.implementedInterface.getMethods()) {
+            names.add(method.getName());
+        }
+        List<CtMethod> operations = new ArrayList<>();
+        for (CtMethod method : this.connectorCtClass.getDeclaredMethods()) {
+            if (Modifier.isPublic(method.getModifiers()) &&
+                    names.contains(method.getName()) &&
+                    !BULK_OPERATIONS.contains(method.getName())) {
+                operations.add(method);
+            }
+        }
+        if (operations.isEmpty()) {
+            return;
+        }
+        operations.sort(Comparator.comparing(CtMethod::getName));
+
+        StringJoiner operationNames = new StringJoiner(ConnectorStatistics.SEPARATOR);
+        for (CtMethod method : operations) {
+            operationNames.add(method.getName());
+        }
+        this.connectorCtClass.addField(CtField.make(
+                "private final connectorGenerator.ConnectorStatistics connectorStatistics = " +
+                "new connectorGenerator.ConnectorStatistics(\"" + operationNames + "\");",
+                this.connectorCtClass));
+        this.connectorCtClass.addInterface(
+                this.connectorCtClass.getClassPool().get(InstrumentedConnectorI.class.getCanonicalName()));
+        this.connectorCtClass.addMethod(CtMethod.make(
+                "public connectorGenerator.ConnectorStatistics getConnectorStatistics() {\n" +
+                "    return this.connectorStatistics;\n" +
+                "}\n",
+                this.connectorCtClass));
+
+        for (int i = 0; i < operations.size(); ++i) {
+            CtMethod method = operations.get(i);
+            method.addLocalVariable("sStarted", CtClass.longType);
+            method.insertBefore("sStarted = System.nanoTime();");
+            method.insertAfter("this.connectorStatistics.record(" + i + ", sStarted);", true);
+        }
+    }
+
+    /**
+     * @param name name of a method generated without the descriptor
+     * @param source source of the method
+     */
+    private void compile(String name, String source) {
+        try {
+            this.connectorCtClass.addMethod(CtMethod.make(source, this.connectorCtClass));
+        } catch (CannotCompileException e) {
+            this.errors.add(new DescriptorException("cannot compile " + name + ": " + e.getMessage(), -1, e));
+        }
+    }
+
+    /**
+     * @return the errors met while generating the class, empty if the whole descriptor has been compiled
+     */
+    public List<Exception> getErrors() {
+        return Collections.unmodifiableList(this.errors);
+    }
+
+    public Class<?> getConnectorClass() throws CannotCompileException, NotFoundException, IOException {
+        this.connectorCtClass.writeFile();
+        return this.connectorCtClass.toClass();
+    }
+
+    private String castingString(String offeredInterface) {
+        return "((" + offeredInterface + ")this.offering)";
+    }
+}
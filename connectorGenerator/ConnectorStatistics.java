@@ -0,0 +1,147 @@
+package connectorGenerator;
+
+import equipments.utils.LatencyHistogram;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+/**
+ * The class <code>ConnectorStatistics</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Call counters and latencies of the operations of one instrumented
+ *  connector, one {@code LatencyHistogram} per operation. The generated
+ *  connectors record their calls by the index of the operation, so recording
+ *  a call neither allocates nor looks up a name; the histograms count the
+ *  calls, so they give both how often and how long each operation is called.
+ * </p>
+ *
+ * <p>
+ *  The latencies are measured in the connector, that is on the HEM side, and
+ *  include the remote call to the appliance. A memoized operation records its
+ *  calls too, the memo hits being the shortest ones.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code getOperations().length > 0}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class ConnectorStatistics {
+
+    /** separator of the names of the operations given to the constructor */
+    public static final String SEPARATOR = ",";
+
+    protected final String[] operations;
+    protected final LatencyHistogram[] latencies;
+
+    /**
+     *
+     * Creates the statistics of the given operations, taken as one string as
+     * the generated code cannot easily build arrays
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code operations != null && !operations.isEmpty()}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param operations names of the operations separated by {@code SEPARATOR}, in the order of their indexes
+     */
+    public ConnectorStatistics(String operations) {
+        assert operations != null && !operations.isEmpty() :
+                new PreconditionException("operations == null || operations.isEmpty()");
+
+        this.operations = operations.split(SEPARATOR);
+        this.latencies = new LatencyHistogram[this.operations.length];
+        for (int i = 0; i < this.operations.length; ++i) {
+            this.latencies[i] = new LatencyHistogram(this.operations[i]);
+        }
+    }
+
+    /**
+     *
+     * Records a call to an operation
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code operation >= 0 && operation < getOperations().length}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param operation index of the operation
+     * @param started date of the beginning of the call, from {@code System.nanoTime}
+     */
+    public void record(int operation, long started) {
+        this.latencies[operation].recordSince(started);
+    }
+
+    /**
+     * @return the names of the operations, in the order of their indexes
+     */
+    public String[] getOperations() {
+        return this.operations.clone();
+    }
+
+    /**
+     * @param operation name of an operation
+     * @return the latencies of the operation, null if it is not instrumented
+     */
+    public LatencyHistogram getLatencies(String operation) {
+        for (int i = 0; i < this.operations.length; ++i) {
+            if (this.operations[i].equals(operation)) {
+                return this.latencies[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the total time in nanoseconds spent in the operations of the connector
+     */
+    public long getTotalTime() {
+        long total = 0L;
+        for (LatencyHistogram histogram : this.latencies) {
+            total += histogram.getTotal();
+        }
+        return total;
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : this.latencies) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     *
+     * Appends one line per operation called at least once
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code builder != null && indent != null}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param builder the builder receiving the report
+     * @param indent prefix of the lines
+     * @return {@code builder}
+     */
+    public StringBuilder report(StringBuilder builder, String indent) {
+        assert builder != null && indent != null :
+                new PreconditionException("builder == null || indent == null");
+
+        for (LatencyHistogram histogram : this.latencies) {
+            if (histogram.getCount() > 0) {
+                histogram.report(builder.append(indent)).append('\n');
+            }
+        }
+        return builder;
+    }
+}
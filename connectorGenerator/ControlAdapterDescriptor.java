@@ -0,0 +1,164 @@
+package connectorGenerator;
+
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The class <code>ControlAdapterDescriptor</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Model of a control adapter descriptor, read once from the xml file by
+ *  {@code ControlAdapterReader} and rendered into a connector class by
+ *  {@code ConnectorRenderer}. It holds the offered interface, the instance
+ *  variables and the methods of the connector in the order of the file; the
+ *  methods are either internal auxiliary methods or operations of the
+ *  implemented interface, whose signatures are fixed by the generator.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code getOffered() != null && !getOffered().isEmpty()}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class ControlAdapterDescriptor {
+
+    /** time to live of the result of an operation which is not memoized */
+    public static final long NOT_MEMOIZED = -1L;
+    /** time to live of the result of a constant operation */
+    public static final long CONSTANT = 0L;
+
+    /** an instance variable of the connector */
+    public static class Variable {
+        public final String modifiers;
+        public final String type;
+        public final String name;
+        /** initial value, null if none */
+        public final String initializer;
+
+        public Variable(String modifiers, String type, String name, String initializer) {
+            this.modifiers = modifiers;
+            this.type = type;
+            this.name = name;
+            this.initializer = initializer;
+        }
+    }
+
+    /** a parameter of a method */
+    public static class Parameter {
+        public final String type;
+        public final String name;
+
+        public Parameter(String type, String name) {
+            this.type = type;
+            this.name = name;
+        }
+    }
+
+    /** a method of the connector, internal or operation of the implemented interface */
+    public static class Method {
+        /** true for an internal method, false for an operation */
+        public final boolean internal;
+        public final String name;
+        /** modifiers of an internal method, null for an operation */
+        public final String modifiers;
+        /** return type of an internal method, null for an operation */
+        public final String type;
+        public final List<Parameter> parameters;
+        public final List<String> thrown;
+        public final String body;
+        /** name given in the body to the offering component, null if none */
+        public final String equipmentRef;
+        /** {@code NOT_MEMOIZED}, {@code CONSTANT} or the time to live of the result in nanoseconds */
+        public final long memoTtl;
+        /** line of the method in the descriptor, for the error messages */
+        public final int line;
+
+        public Method(
+                boolean internal,
+                String name,
+                String modifiers,
+                String type,
+                List<Parameter> parameters,
+                List<String> thrown,
+                String body,
+                String equipmentRef,
+                long memoTtl,
+                int line
+        ) {
+            this.internal = internal;
+            this.name = name;
+            this.modifiers = modifiers;
+            this.type = type;
+            this.parameters = Collections.unmodifiableList(new ArrayList<>(parameters));
+            this.thrown = Collections.unmodifiableList(new ArrayList<>(thrown));
+            this.body = body;
+            this.equipmentRef = equipmentRef;
+            this.memoTtl = memoTtl;
+            this.line = line;
+        }
+
+        public boolean isMemoized() {
+            return this.memoTtl != NOT_MEMOIZED;
+        }
+    }
+
+    protected final String uid;
+    protected final String offered;
+    protected final List<Variable> variables;
+    protected final List<Method> methods;
+
+    /**
+     *
+     * Creates the model of a descriptor
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code offered != null && !offered.isEmpty()}
+     *  pre {@code variables != null && methods != null}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param uid uid given in the descriptor, null if none
+     * @param offered interface offered by the appliance
+     * @param variables instance variables of the connector
+     * @param methods methods of the connector, in the order of the descriptor
+     */
+    public ControlAdapterDescriptor(String uid, String offered, List<Variable> variables, List<Method> methods) {
+        assert offered != null && !offered.isEmpty() :
+                new PreconditionException("offered == null || offered.isEmpty()");
+        assert variables != null && methods != null :
+                new PreconditionException("variables == null || methods == null");
+
+        this.uid = uid;
+        this.offered = offered;
+        this.variables = Collections.unmodifiableList(new ArrayList<>(variables));
+        this.methods = Collections.unmodifiableList(new ArrayList<>(methods));
+    }
+
+    public String getUid() {
+        return this.uid;
+    }
+
+    public String getOffered() {
+        return this.offered;
+    }
+
+    public List<Variable> getVariables() {
+        return this.variables;
+    }
+
+    public List<Method> getMethods() {
+        return this.methods;
+    }
+}
@@ -0,0 +1,350 @@
+package connectorGenerator;
+
+import fr.sorbonne_u.exceptions.PreconditionException;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The class <code>ControlAdapterReader</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Streaming reader of the control adapter descriptors: the descriptor is
+ *  validated against the schema {@code control-adapter.xsd} and read in one
+ *  pass with StAX into a {@code ControlAdapterDescriptor}, so that the
+ *  generator works on a model instead of the events of the parser. The errors
+ *  are reported as {@code DescriptorException}s giving the line of the error,
+ *  before any code is generated.
+ * </p>
+ *
+ * <p>
+ *  The schema and the factory of the readers are created once and shared, as
+ *  both are thread-safe, so validating and reading a descriptor costs one
+ *  linear pass each.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class ControlAdapterReader {
+
+    /** namespace of the descriptors */
+    public static final String NAMESPACE = "http://www.sorbonne-universite.fr/alasca/control-adapter";
+    /** schema of the descriptors, next to this class */
+    public static final String SCHEMA_RESOURCE = "control-adapter.xsd";
+    /** when true, the descriptors are validated against the schema before being read */
+    public static boolean VALIDATE = true;
+
+    /** default type of the parameters */
+    protected static final String DEFAULT_PARAMETER_TYPE = "int";
+
+    protected static final XMLInputFactory INPUT_FACTORY = newInputFactory();
+    /** compiled schema, created with the first validation */
+    protected static volatile Schema schema;
+
+    /**
+     * @return a factory of readers which neither resolves external entities nor reads a DTD
+     */
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * @return the compiled schema of the descriptors
+     * @throws IOException if the schema cannot be found or compiled
+     */
+    protected static Schema getSchema() throws IOException {
+        Schema result = schema;
+        if (result == null) {
+            synchronized (ControlAdapterReader.class) {
+                result = schema;
+                if (result == null) {
+                    URL resource = ControlAdapterReader.class.getResource(SCHEMA_RESOURCE);
+                    if (resource == null) {
+                        throw new IOException(SCHEMA_RESOURCE + " not found next to " +
+                                ControlAdapterReader.class.getName());
+                    }
+                    try {
+                        result = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI).newSchema(resource);
+                    } catch (SAXException e) {
+                        throw new IOException("invalid schema " + SCHEMA_RESOURCE, e);
+                    }
+                    schema = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     *
+     * Validates a descriptor against the schema
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code descriptor != null}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param descriptor contents of the xml file
+     * @throws DescriptorException if the descriptor does not follow the schema
+     * @throws IOException if the schema cannot be loaded
+     */
+    public static void validate(byte[] descriptor) throws DescriptorException, IOException {
+        assert descriptor != null :
+                new PreconditionException("descriptor == null");
+
+        try {
+            getSchema().newValidator().validate(new StreamSource(new ByteArrayInputStream(descriptor)));
+        } catch (SAXParseException e) {
+            throw new DescriptorException(e.getMessage(), e.getLineNumber(), e);
+        } catch (SAXException e) {
+            throw new DescriptorException(e.getMessage(), -1, e);
+        }
+    }
+
+    /**
+     *
+     * Reads a descriptor, validated first when {@code VALIDATE} is set
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code descriptor != null}
+     *  post {@code return != null}
+     * </pre>
+     * @param descriptor contents of the xml file
+     * @return the model of the descriptor
+     * @throws DescriptorException if the descriptor is not valid
+     * @throws IOException if the schema cannot be loaded
+     */
+    public static ControlAdapterDescriptor read(byte[] descriptor) throws DescriptorException, IOException {
+        assert descriptor != null :
+                new PreconditionException("descriptor == null");
+
+        if (VALIDATE) {
+            validate(descriptor);
+        }
+
+        XMLStreamReader reader = null;
+        try {
+            reader = INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(descriptor));
+            return readDescriptor(reader);
+        } catch (XMLStreamException e) {
+            Location location = e.getLocation();
+            throw new DescriptorException(e.getMessage(), location == null ? -1 : location.getLineNumber(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // nothing is held by a reader on a byte array
+                }
+            }
+        }
+    }
+
+    /**
+     * @param reader reader positioned before the root element
+     * @return the model of the descriptor
+     * @throws XMLStreamException if the descriptor is not well formed
+     * @throws DescriptorException if the descriptor is not valid
+     */
+    protected static ControlAdapterDescriptor readDescriptor(XMLStreamReader reader)
+            throws XMLStreamException, DescriptorException {
+        reader.nextTag();
+        expect(reader, "control-adapter");
+        String uid = reader.getAttributeValue(null, "uid");
+        String offered = required(reader, "offered");
+
+        List<ControlAdapterDescriptor.Variable> variables = new ArrayList<>();
+        List<ControlAdapterDescriptor.Method> methods = new ArrayList<>();
+        Set<String> operations = new HashSet<>();
+
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            String element = reader.getLocalName();
+            switch (element) {
+                case "consumption":
+                case "required":
+                    skipElement(reader);
+                    break;
+                case "instance-var":
+                    variables.add(new ControlAdapterDescriptor.Variable(
+                            required(reader, "modifiers"),
+                            required(reader, "type"),
+                            required(reader, "name"),
+                            reader.getAttributeValue(null, "static-init")));
+                    skipElement(reader);
+                    break;
+                case "internal":
+                    methods.add(readMethod(reader, true));
+                    break;
+                default:
+                    if (!ConnectorRenderer.OPERATIONS.containsKey(element)) {
+                        throw new DescriptorException("unknown element " + element, line(reader));
+                    }
+                    if (!operations.add(element)) {
+                        throw new DescriptorException("operation " + element + " given twice", line(reader));
+                    }
+                    methods.add(readMethod(reader, false));
+            }
+        }
+        return new ControlAdapterDescriptor(uid, offered, variables, methods);
+    }
+
+    /**
+     * @param reader reader positioned on the start of an internal method or of an operation
+     * @param internal true for an internal method
+     * @return the method, the reader being positioned on its end
+     * @throws XMLStreamException if the descriptor is not well formed
+     * @throws DescriptorException if the method is not valid
+     */
+    protected static ControlAdapterDescriptor.Method readMethod(XMLStreamReader reader, boolean internal)
+            throws XMLStreamException, DescriptorException {
+        final int line = line(reader);
+        final String name = internal ? required(reader, "name") : reader.getLocalName();
+        final String modifiers = internal ? required(reader, "modifiers") : null;
+        final String type = internal ? required(reader, "type") : null;
+        final long memoTtl = internal ? ControlAdapterDescriptor.NOT_MEMOIZED : memoTtl(reader, name);
+
+        List<ControlAdapterDescriptor.Parameter> parameters = new ArrayList<>();
+        List<String> thrown = new ArrayList<>();
+        String body = null;
+        String equipmentRef = null;
+
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "parameter": {
+                    String parameterType = reader.getAttributeValue(null, "type");
+                    parameters.add(new ControlAdapterDescriptor.Parameter(
+                            parameterType == null ? DEFAULT_PARAMETER_TYPE : parameterType,
+                            required(reader, "name")));
+                    skipElement(reader);
+                    break;
+                }
+                case "thrown":
+                    thrown.add(reader.getElementText().trim());
+                    break;
+                case "body":
+                    equipmentRef = reader.getAttributeValue(null, "equipmentRef");
+                    body = reader.getElementText();
+                    break;
+                default:
+                    throw new DescriptorException(
+                            "unexpected element " + reader.getLocalName() + " in " + name, line(reader));
+            }
+        }
+        if (body == null) {
+            throw new DescriptorException(name + " has no body", line);
+        }
+
+        if (!internal) {
+            int expected = ConnectorRenderer.OPERATIONS.get(name).parameterType == null ? 0 : 1;
+            if (parameters.size() != expected) {
+                throw new DescriptorException(name + " takes " + expected + " parameter(s)", line);
+            }
+        }
+        return new ControlAdapterDescriptor.Method(
+                internal, name, modifiers, type, parameters, thrown, body, equipmentRef, memoTtl, line);
+    }
+
+    /**
+     * @param reader reader positioned on the start of an operation
+     * @param name name of the operation
+     * @return the time to live of the memoized result of the operation
+     * @throws DescriptorException if the memoization is not valid
+     */
+    protected static long memoTtl(XMLStreamReader reader, String name) throws DescriptorException {
+        String cache = reader.getAttributeValue(null, "cache");
+        if (cache == null) {
+            return ControlAdapterDescriptor.NOT_MEMOIZED;
+        }
+        if (!ConnectorRenderer.OPERATIONS.get(name).query) {
+            throw new DescriptorException("the command " + name + " cannot be memoized", line(reader));
+        }
+        if (!ConnectorRenderer.OPERATIONS.get(name).isMemoizable()) {
+            throw new DescriptorException(
+                    "the query " + name + " cannot be memoized, its results are kept by the HEM", line(reader));
+        }
+        switch (cache) {
+            case "constant":
+                return ControlAdapterDescriptor.CONSTANT;
+            case "ttl":
+                try {
+                    long milliseconds = Long.parseLong(required(reader, "ttl"));
+                    if (milliseconds <= 0) {
+                        throw new NumberFormatException("ttl <= 0");
+                    }
+                    return TimeUnit.MILLISECONDS.toNanos(milliseconds);
+                } catch (NumberFormatException e) {
+                    throw new DescriptorException("invalid ttl of " + name + ": " + e.getMessage(), line(reader), e);
+                }
+            default:
+                throw new DescriptorException("unknown cache " + cache + " of " + name, line(reader));
+        }
+    }
+
+    private static void expect(XMLStreamReader reader, String element) throws DescriptorException {
+        if (!element.equals(reader.getLocalName())) {
+            throw new DescriptorException("expected " + element + " instead of " + reader.getLocalName(), line(reader));
+        }
+    }
+
+    private static String required(XMLStreamReader reader, String attribute) throws DescriptorException {
+        String value = reader.getAttributeValue(null, attribute);
+        if (value == null || value.isEmpty()) {
+            throw new DescriptorException(
+                    "missing attribute " + attribute + " of " + reader.getLocalName(), line(reader));
+        }
+        return value;
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                ++depth;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                --depth;
+            }
+        }
+    }
+
+    private static int line(XMLStreamReader reader) {
+        Location location = reader.getLocation();
+        return location == null ? -1 : location.getLineNumber();
+    }
+}
@@ -0,0 +1,40 @@
+package connectorGenerator;
+
+/**
+ * The class <code>DescriptorException</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Thrown when a control adapter descriptor is not well formed, does not
+ *  follow the schema {@code control-adapter.xsd} or describes a connector
+ *  which cannot be generated; the message gives the line of the error.
+ * </p>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class DescriptorException
+extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    /** line of the error, -1 if unknown */
+    protected final int line;
+
+    public DescriptorException(String message, int line) {
+        super(line < 0 ? message : "line " + line + ": " + message);
+        this.line = line;
+    }
+
+    public DescriptorException(String message, int line, Throwable cause) {
+        super(line < 0 ? message : "line " + line + ": " + message, cause);
+        this.line = line;
+    }
+
+    public int getLine() {
+        return this.line;
+    }
+}
@@ -0,0 +1,25 @@
+package connectorGenerator;
+
+/**
+ * The interface <code>InstrumentedConnectorI</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Implemented by the connectors generated when
+ *  {@code ConnectorConfigurationParser#INSTRUMENTED_CONNECTORS} is set, to read
+ *  the counters and latencies of their operations.
+ * </p>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public interface InstrumentedConnectorI {
+
+    /**
+     * @return the statistics of the operations of this connector, never null
+     */
+    ConnectorStatistics getConnectorStatistics();
+}
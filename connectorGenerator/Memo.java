@@ -0,0 +1,62 @@
+package connectorGenerator;
+
+/**
+ * The class <code>Memo</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Immutable result of a memoized operation of a generated connector, with
+ *  its expiry. The connectors publish their memos through volatile fields,
+ *  so a thread reading a memo sees the value and the expiry written
+ *  together. The value is kept in the bits of a long, as the results of the
+ *  operations of {@code AdjustableCI} are all primitive.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public final class Memo {
+
+    /** bits of the memoized value */
+    protected final long bits;
+    /** instant given by {@code System.nanoTime} from which the memo is expired, unused for a constant */
+    public final long expiry;
+
+    protected Memo(long bits, long expiry) {
+        this.bits = bits;
+        this.expiry = expiry;
+    }
+
+    public static Memo of(int value, long expiry) {
+        return new Memo(value, expiry);
+    }
+
+    public static Memo of(boolean value, long expiry) {
+        return new Memo(value ? 1L : 0L, expiry);
+    }
+
+    public static Memo of(double value, long expiry) {
+        return new Memo(Double.doubleToRawLongBits(value), expiry);
+    }
+
+    public int intValue() {
+        return (int) this.bits;
+    }
+
+    public boolean booleanValue() {
+        return this.bits != 0L;
+    }
+
+    public double doubleValue() {
+        return Double.longBitsToDouble(this.bits);
+    }
+}
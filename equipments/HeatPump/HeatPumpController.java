@@ -4,6 +4,7 @@ import equipments.HeatPump.connections.HeatPumpActuatorOutboundPort;
 import equipments.HeatPump.connections.HeatPumpControllerInboundPort;
 import equipments.HeatPump.connections.HeatPumpExternalControlOutboundPort;
 import equipments.HeatPump.interfaces.*;
+import equipments.utils.FixedRateLoop;
 import fr.sorbonne_u.alasca.physical_data.SignalData;
 import fr.sorbonne_u.components.AbstractComponent;
 import fr.sorbonne_u.components.annotations.OfferedInterfaces;
@@ -74,6 +75,9 @@ public class HeatPumpController extends AbstractComponent implements HeatPumpCon
 
     protected TimeUnit time_unit;
 
+    /** executes controlLoop at a fixed rate while controlling. */
+    protected FixedRateLoop loop;
+
     protected HeatPumpUserI.State current_state;
 
     protected HeatPumpController(
@@ -126,6 +130,12 @@ public class HeatPumpController extends AbstractComponent implements HeatPumpCon
         this.controlPeriod = (long) ((controlPeriod * TimeUnit.SECONDS.toNanos(1)) / accelerationFactor);
         this.time_unit = TimeUnit.NANOSECONDS;
 
+        this.loop = new FixedRateLoop(
+                this.time_unit.toNanos(this.controlPeriod),
+                FixedRateLoop.OverrunPolicy.SKIP,
+                (task, delay) -> this.scheduleTask(owner -> task.run(), delay, TimeUnit.NANOSECONDS),
+                this::controlLoop);
+
         this.parameters = parameters;
 
         this.heatPumpExternalURI = heatPumpExternalURI;
@@ -165,11 +175,7 @@ public class HeatPumpController extends AbstractComponent implements HeatPumpCon
 
         this.current_state = HeatPumpUserI.State.On;
 
-        this.scheduleTask(
-                owner -> ((HeatPumpController)owner).controlLoop(),
-                this.controlPeriod,
-                time_unit
-        );
+        this.loop.start(this.time_unit.toNanos(this.controlPeriod));
 
         assert this.current_state == HeatPumpUserI.State.On :
                 new PostconditionException("this.current_state != State.On");
@@ -186,6 +192,8 @@ public class HeatPumpController extends AbstractComponent implements HeatPumpCon
         synchronized ( this.current_state ) {
             this.current_state = HeatPumpUserI.State.Off;
         }
+        this.loop.stop();
+        this.tracing(this.loop.toString());
 
         assert this.current_state == HeatPumpUserI.State.Off :
                 new PostconditionException("this.current_state != State.Off");
@@ -315,12 +323,6 @@ public class HeatPumpController extends AbstractComponent implements HeatPumpCon
                     this.tracing(builder.toString());
                 }
 
-                this.scheduleTask(
-                        owner -> ((HeatPumpController) owner).controlLoop(),
-                        this.controlPeriod,
-                        time_unit
-                );
-
             }
         }
 
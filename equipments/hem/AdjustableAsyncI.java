@@ -0,0 +1,102 @@
+package equipments.hem;
+
+import fr.sorbonne_u.components.hem2025.bases.AdjustableCI;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * The interface <code>equipments.hem.AdjustableAsyncI</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Non-blocking variants of the commands of {@code AdjustableCI} and of
+ *  {@code emergency}: each call is submitted to the given executor and
+ *  returns at once a future completed with the result of the blocking
+ *  operation, so that the home energy manager can send its commands to all
+ *  the devices of a cycle and then wait for all of them together.
+ * </p>
+ *
+ * <p>
+ *  The variants are implemented once here on top of the blocking operations,
+ *  so the generated connectors and {@code AdjustableOutboundPort} only have
+ *  to implement this interface. With a null executor, the call is made in
+ *  the calling thread and the returned future is already completed.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public interface AdjustableAsyncI
+extends AdjustableCI {
+
+    /**
+     *
+     * Runs a blocking call in the executor, or in the calling thread if it is null
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code call != null}
+     *  post {@code return != null}
+     * </pre>
+     * @param call the blocking call
+     * @param executor executor running the call, null to run it in the calling thread
+     * @return the future result of the call, completed exceptionally if the call throws
+     * @param <T> type of the result
+     */
+    static <T> CompletableFuture<T> callAsync(Callable<T> call, Executor executor) {
+        if (executor == null) {
+            try {
+                return CompletableFuture.completedFuture(call.call());
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * @see AdjustableCI#setMode(int)
+     */
+    default CompletableFuture<Boolean> setModeAsync(int modeIndex, Executor executor) {
+        return callAsync(() -> this.setMode(modeIndex), executor);
+    }
+
+    /**
+     * @see AdjustableCI#suspend()
+     */
+    default CompletableFuture<Boolean> suspendAsync(Executor executor) {
+        return callAsync(this::suspend, executor);
+    }
+
+    /**
+     * @see AdjustableCI#resume()
+     */
+    default CompletableFuture<Boolean> resumeAsync(Executor executor) {
+        return callAsync(this::resume, executor);
+    }
+
+    /**
+     * @see AdjustableCI#emergency()
+     */
+    default CompletableFuture<Double> emergencyAsync(Executor executor) {
+        return callAsync(this::emergency, executor);
+    }
+}
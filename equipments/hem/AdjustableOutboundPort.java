@@ -32,6 +32,8 @@ package equipments.hem;
 // The fact that you are presently reading this means that you have had
 // knowledge of the CeCILL-C license and that you accept its terms.
 
+import connectorGenerator.ConnectorStatistics;
+import connectorGenerator.InstrumentedConnectorI;
 import fr.sorbonne_u.components.ComponentI;
 import fr.sorbonne_u.components.hem2025.bases.AdjustableCI;
 import fr.sorbonne_u.components.ports.AbstractOutboundPort;
@@ -55,6 +57,16 @@ import fr.sorbonne_u.exceptions.PreconditionException;
  * {@code AdjustableCI} as they are not tested on the server side (which may
  * perform other tests that the connector will have to take into account).
  * </p>
+ * <p>
+ * The bulk operations of {@code AdjustableStatusCI} are forwarded to the
+ * connector when it implements them, otherwise they are emulated by calling
+ * the individual operations of {@code AdjustableCI}.
+ * </p>
+ * <p>
+ * The non-blocking variants of {@code AdjustableAsyncI} run the operations of
+ * this port, pre- and postconditions included, in the executor given by the
+ * caller.
+ * </p>
  * 
  * <p><strong>Implementation Invariants</strong></p>
  * 
@@ -74,7 +86,8 @@ import fr.sorbonne_u.exceptions.PreconditionException;
  */
 public class			AdjustableOutboundPort
 extends		AbstractOutboundPort
-implements	AdjustableCI
+implements	AdjustableStatusCI,
+			AdjustableAsyncI
 {
 	// -------------------------------------------------------------------------
 	// Constants and variables
@@ -270,5 +283,81 @@ implements	AdjustableCI
 				new PostconditionException("return >= 0.0 && return <= 1.0");
 		return ret;
 	}
+
+	/**
+	 * @see AdjustableStatusCI#status()
+	 */
+	@Override
+	public AdjustableStatus	status() throws Exception
+	{
+		AdjustableStatus ret;
+		if (this.getConnector() instanceof AdjustableStatusCI) {
+			ret = ((AdjustableStatusCI)this.getConnector()).status();
+		} else {
+			// the connector only knows the individual operations
+			ret = AdjustableStatus.query((AdjustableCI)this.getConnector());
+		}
+		assert	ret != null : new PostconditionException("return != null");
+		assert	ret.getMaxMode() > 0 :
+				new PostconditionException("return.getMaxMode() > 0");
+		return ret;
+	}
+
+	/**
+	 * @see AdjustableStatusCI#modeStatus()
+	 */
+	@Override
+	public AdjustableStatus	modeStatus() throws Exception
+	{
+		AdjustableStatus ret;
+		if (this.getConnector() instanceof AdjustableStatusCI) {
+			ret = ((AdjustableStatusCI)this.getConnector()).modeStatus();
+		} else {
+			ret = AdjustableStatus.queryMode((AdjustableCI)this.getConnector());
+		}
+		assert	ret != null && !ret.hasModeConsumptions() :
+				new PostconditionException(
+						"return != null && !return.hasModeConsumptions()");
+		return ret;
+	}
+
+	/**
+	 * @see AdjustableStatusCI#modeConsumptions()
+	 */
+	@Override
+	public double[]	modeConsumptions() throws Exception
+	{
+		double[] ret;
+		if (this.getConnector() instanceof AdjustableStatusCI) {
+			ret = ((AdjustableStatusCI)this.getConnector()).modeConsumptions();
+		} else {
+			ret = AdjustableStatus.queryModeConsumptions(
+										(AdjustableCI)this.getConnector());
+		}
+		assert	ret != null : new PostconditionException("return != null");
+		return ret;
+	}
+
+	/**
+	 * return the statistics of the calls made through the connector when it
+	 * has been generated with {@code INSTRUMENTED_CONNECTORS}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @return	the statistics of the connector, null if it is not instrumented or not connected.
+	 */
+	public ConnectorStatistics	getConnectorStatistics()
+	{
+		if (this.getConnector() instanceof InstrumentedConnectorI) {
+			return ((InstrumentedConnectorI)this.getConnector()).
+													getConnectorStatistics();
+		}
+		return null;
+	}
 }
 // -----------------------------------------------------------------------------
@@ -0,0 +1,267 @@
+package equipments.hem;
+
+import fr.sorbonne_u.components.hem2025.bases.AdjustableCI;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+import java.io.Serializable;
+
+/**
+ * The class <code>equipments.hem.AdjustableStatus</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Immutable snapshot of the state of an adjustable appliance as seen through
+ *  the {@code AdjustableCI} interface: current mode, maximum mode, suspension
+ *  flag, emergency and the consumption of every mode. The home energy manager
+ *  captures one snapshot per device at the beginning of each control cycle and
+ *  takes all its decisions from it; commands issued during the cycle derive a
+ *  new snapshot with the {@code with*} methods instead of querying the device
+ *  again.
+ * </p>
+ *
+ * <p>
+ *  The table of the mode consumptions rarely changes, so a snapshot may be
+ *  captured without it (see {@code AdjustableStatusCI#modeStatus}) and be
+ *  completed with a table kept by the caller through
+ *  {@code withModeConsumptions}.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code getMaxMode() > 0}
+ * invariant	{@code isSuspended() || (getCurrentMode() > 0 && getCurrentMode() <= getMaxMode())}
+ * invariant	{@code getEmergency() >= 0.0 && getEmergency() <= 1.0}
+ * invariant	{@code !hasModeConsumptions() || getModeConsumptions().length == getMaxMode()}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public final class AdjustableStatus
+implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** current mode of the device, 0 when the device is suspended. */
+    protected final int currentMode;
+    /** maximum mode of the device. */
+    protected final int maxMode;
+    /** true if the device is suspended. */
+    protected final boolean suspended;
+    /** emergency of the device, only meaningful when it is suspended. */
+    protected final double emergency;
+    /** consumption of the mode {@code i} stored at index {@code i - 1}, null
+     *  when the snapshot has been captured without the consumptions. */
+    protected final double[] modeConsumptions;
+
+    /**
+     *
+     * Creates a snapshot of the state of an adjustable device
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code maxMode > 0}
+     *  pre {@code modeConsumptions == null || modeConsumptions.length == maxMode}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param currentMode current mode of the device, 0 if it is suspended
+     * @param maxMode maximum mode of the device
+     * @param suspended true if the device is suspended
+     * @param emergency emergency of the device when it is suspended
+     * @param modeConsumptions consumption of each mode, the mode {@code i} is at index {@code i - 1}, or null
+     */
+    public AdjustableStatus(
+            int currentMode,
+            int maxMode,
+            boolean suspended,
+            double emergency,
+            double[] modeConsumptions
+    ) {
+        assert maxMode > 0 :
+                new PreconditionException("maxMode <= 0");
+        assert modeConsumptions == null || modeConsumptions.length == maxMode :
+                new PreconditionException("modeConsumptions != null && modeConsumptions.length != maxMode");
+
+        this.currentMode = currentMode;
+        this.maxMode = maxMode;
+        this.suspended = suspended;
+        this.emergency = emergency;
+        this.modeConsumptions = modeConsumptions;
+    }
+
+    /**
+     *
+     * Builds the snapshot of a device by calling each of the individual
+     * operations of {@code AdjustableCI}, used when the device or its connector
+     * does not offer a bulk status operation
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code device != null}
+     *  post {@code return != null}
+     * </pre>
+     * @param device the device to query
+     * @return the snapshot of the state of the device
+     * @throws Exception if one of the calls fails
+     */
+    public static AdjustableStatus query(AdjustableCI device) throws Exception {
+        assert device != null :
+                new PreconditionException("device == null");
+
+        return queryMode(device).withModeConsumptions(queryModeConsumptions(device));
+    }
+
+    /**
+     *
+     * Builds the snapshot of a device without the consumptions of its modes
+     * by calling the individual operations of {@code AdjustableCI}
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code device != null}
+     *  post {@code return != null && !return.hasModeConsumptions()}
+     * </pre>
+     * @param device the device to query
+     * @return the snapshot of the state of the device, without the consumptions
+     * @throws Exception if one of the calls fails
+     */
+    public static AdjustableStatus queryMode(AdjustableCI device) throws Exception {
+        assert device != null :
+                new PreconditionException("device == null");
+
+        final int maxMode = device.maxMode();
+        final boolean suspended = device.suspended();
+        final int currentMode = suspended ? 0 : device.currentMode();
+        final double emergency = suspended ? device.emergency() : 0.0;
+        return new AdjustableStatus(currentMode, maxMode, suspended, emergency, null);
+    }
+
+    /**
+     *
+     * Builds the table of the consumptions of the modes of a device by calling
+     * the individual operations of {@code AdjustableCI}
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code device != null}
+     *  post {@code return != null && return.length == device.maxMode()}
+     * </pre>
+     * @param device the device to query
+     * @return the consumption of each mode, the mode {@code i} is at index {@code i - 1}
+     * @throws Exception if one of the calls fails
+     */
+    public static double[] queryModeConsumptions(AdjustableCI device) throws Exception {
+        assert device != null :
+                new PreconditionException("device == null");
+
+        final int maxMode = device.maxMode();
+        final double[] consumptions = new double[maxMode];
+        for (int mode = 1; mode <= maxMode; ++mode) {
+            consumptions[mode - 1] = device.getModeConsumption(mode);
+        }
+        return consumptions;
+    }
+
+    public int getCurrentMode() {
+        return this.currentMode;
+    }
+
+    public int getMaxMode() {
+        return this.maxMode;
+    }
+
+    public boolean isSuspended() {
+        return this.suspended;
+    }
+
+    public double getEmergency() {
+        return this.emergency;
+    }
+
+    public boolean hasModeConsumptions() {
+        return this.modeConsumptions != null;
+    }
+
+    /**
+     * @return the consumption of each mode, null if the snapshot has been captured without them
+     */
+    public double[] getModeConsumptions() {
+        return this.modeConsumptions;
+    }
+
+    /**
+     *
+     * Returns the consumption of the given mode, 0.0 if the mode does not exist
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code hasModeConsumptions()}
+     *  post {@code return >= 0.0}
+     * </pre>
+     * @param modeIndex index of the mode
+     * @return the consumption of the mode {@code modeIndex}
+     */
+    public double getModeConsumption(int modeIndex) {
+        assert this.hasModeConsumptions() :
+                new PreconditionException("!hasModeConsumptions()");
+
+        if (modeIndex <= 0 || modeIndex > this.maxMode) {
+            return 0.0;
+        }
+        return this.modeConsumptions[modeIndex - 1];
+    }
+
+    /**
+     * @return the consumption of the device in its current mode, 0.0 if it is suspended
+     */
+    public double getCurrentConsumption() {
+        return this.suspended ? 0.0 : this.getModeConsumption(this.currentMode);
+    }
+
+    /**
+     * @param modeIndex the new current mode
+     * @return a copy of this snapshot where the current mode is {@code modeIndex}
+     */
+    public AdjustableStatus withMode(int modeIndex) {
+        return new AdjustableStatus(modeIndex, this.maxMode, this.suspended, this.emergency, this.modeConsumptions);
+    }
+
+    /**
+     * @param modeConsumptions the consumption of each mode, the mode {@code i} is at index {@code i - 1}
+     * @return a copy of this snapshot completed with the given consumptions
+     */
+    public AdjustableStatus withModeConsumptions(double[] modeConsumptions) {
+        return new AdjustableStatus(this.currentMode, this.maxMode, this.suspended, this.emergency, modeConsumptions);
+    }
+
+    /**
+     * @param suspended the new suspension flag
+     * @return a copy of this snapshot where the device is suspended or not
+     */
+    public AdjustableStatus withSuspended(boolean suspended) {
+        return new AdjustableStatus(this.currentMode, this.maxMode, suspended, this.emergency, this.modeConsumptions);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("AdjustableStatus[mode=");
+        builder.append(this.currentMode);
+        builder.append('/');
+        builder.append(this.maxMode);
+        builder.append(", suspended=");
+        builder.append(this.suspended);
+        builder.append(", emergency=");
+        builder.append(this.emergency);
+        builder.append(']');
+        return builder.toString();
+    }
+}
@@ -0,0 +1,98 @@
+package equipments.hem;
+
+import fr.sorbonne_u.components.hem2025.bases.AdjustableCI;
+
+/**
+ * The interface <code>equipments.hem.AdjustableStatusCI</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Extends {@code AdjustableCI} with a bulk operation returning as one
+ *  snapshot everything the home energy manager needs to take its decisions
+ *  about a device, instead of calling {@code maxMode}, {@code suspended},
+ *  {@code currentMode}, {@code emergency} and {@code getModeConsumption}
+ *  separately. The connectors generated from the control adapter descriptors
+ *  implement it by composing the operations given in the descriptor.
+ * </p>
+ *
+ * <p>
+ *  The connector runs on the side of the HEM, so the composition does not
+ *  save the calls to the device: the snapshot costs the calls the operations
+ *  of the descriptor make to the offered interface of the device. The mode
+ *  and the suspension are usually kept in the connector and cost none, the
+ *  emergency costs the calls of its body, and the consumptions of the modes
+ *  cost nothing while they are memoized. Computing the snapshot in the
+ *  device itself would need each device to offer it, and the offered
+ *  interfaces of the devices are the ones the descriptors adapt.
+ * </p>
+ *
+ * <p>
+ *  As the consumptions of the modes rarely change, they can also be fetched
+ *  apart with {@code modeConsumptions} and left out of the snapshots returned
+ *  by {@code modeStatus}.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public interface AdjustableStatusCI
+extends AdjustableCI {
+
+    /**
+     *
+     * Returns a snapshot of the current state of the device
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code true} // no precondition
+     *  post {@code return != null}
+     *  post {@code return.getMaxMode() == maxMode()}
+     *  post {@code return.isSuspended() == suspended()}
+     * </pre>
+     * @return the current status of the device
+     * @throws Exception <i>to do</i>.
+     */
+    AdjustableStatus status() throws Exception;
+
+    /**
+     *
+     * Returns a snapshot of the current state of the device without the
+     * consumptions of its modes
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code true} // no precondition
+     *  post {@code return != null && !return.hasModeConsumptions()}
+     *  post {@code return.getMaxMode() == maxMode()}
+     * </pre>
+     * @return the current status of the device without the mode consumptions
+     * @throws Exception <i>to do</i>.
+     */
+    AdjustableStatus modeStatus() throws Exception;
+
+    /**
+     *
+     * Returns the consumption of every mode of the device
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code true} // no precondition
+     *  post {@code return != null && return.length == maxMode()}
+     * </pre>
+     * @return the consumption of each mode, the mode {@code i} is at index {@code i - 1}
+     * @throws Exception <i>to do</i>.
+     */
+    double[] modeConsumptions() throws Exception;
+
+}
@@ -0,0 +1,188 @@
+package equipments.hem;
+
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * The class <code>equipments.hem.DeviceCallGate</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Runs the blocking calls to one device in an executor, bounded by a
+ *  timeout. A call which times out is abandoned, but the thread running it
+ *  stays blocked until the device answers; while it does, the next calls are
+ *  refused at once instead of taking another thread, so a hung device holds
+ *  at most one thread of the executor.
+ * </p>
+ *
+ * <p>
+ *  The end of the abandoned call is tracked by the gate itself, in a
+ *  {@code finally} of the task it submits: a cancelled {@code Future} is done
+ *  as soon as it is cancelled, even though its thread is still blocked in
+ *  the call. The non-blocking calls are gated the same way: their timeout
+ *  fails a copy of the future of the call, and the future of the call itself
+ *  tells when the call returns.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code getTimeout() > 0}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class DeviceCallGate {
+
+    protected final ExecutorService executor;
+    /** timeout of one call in nanoseconds */
+    protected final long timeout;
+    /** completed when the call abandoned at its timeout returns, null if none */
+    protected volatile CompletableFuture<?> abandoned;
+
+    /**
+     *
+     * Creates a gate running the calls in the given executor
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code executor != null}
+     *  pre {@code timeout > 0}
+     *  post {@code !isCallRunning()}
+     * </pre>
+     * @param executor executor running the calls
+     * @param timeout timeout of one call in nanoseconds
+     */
+    public DeviceCallGate(ExecutorService executor, long timeout) {
+        assert executor != null :
+                new PreconditionException("executor == null");
+        assert timeout > 0 :
+                new PreconditionException("timeout <= 0");
+
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    public long getTimeout() {
+        return this.timeout;
+    }
+
+    /**
+     * @return true while a call abandoned at its timeout has not returned
+     */
+    public boolean isCallRunning() {
+        final CompletableFuture<?> call = this.abandoned;
+        return call != null && ! call.isDone();
+    }
+
+    /**
+     *
+     * Runs a call in the executor and waits for its result until the timeout
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code call != null}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param call the call to the device
+     * @return the result of the call
+     * @param <T> type of the result of the call
+     * @throws TimeoutException if the call timed out, or if an abandoned call is still running
+     * @throws Exception if the call failed
+     */
+    public <T> T call(Callable<T> call) throws Exception {
+        assert call != null :
+                new PreconditionException("call == null");
+
+        this.refuseWhileCallRunning();
+        final AtomicBoolean started = new AtomicBoolean(false);
+        final CompletableFuture<Void> ended = new CompletableFuture<>();
+        final Future<T> future = this.executor.submit(() -> {
+            if (! started.compareAndSet(false, true)) {
+                // abandoned before it started
+                return null;
+            }
+            try {
+                return call.call();
+            } finally {
+                ended.complete(null);
+            }
+        });
+        try {
+            return future.get(this.timeout, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | InterruptedException e) {
+            future.cancel(true);
+            if (started.compareAndSet(false, true)) {
+                // the call will never run
+                ended.complete(null);
+            }
+            this.abandoned = ended;
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    /**
+     *
+     * Starts a non-blocking call in the executor, failed at the timeout
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code call != null}
+     *  post {@code return != null}
+     * </pre>
+     * @param call starts the call in the given executor
+     * @return the future result of the call, failed with a {@code TimeoutException} at the timeout or at once if an abandoned call is still running
+     * @param <T> type of the result of the call
+     */
+    public <T> CompletableFuture<T> callAsync(Function<Executor, CompletableFuture<T>> call) {
+        assert call != null :
+                new PreconditionException("call == null");
+
+        try {
+            this.refuseWhileCallRunning();
+        } catch (TimeoutException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        final CompletableFuture<T> running;
+        try {
+            running = call.apply(this.executor);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return running.copy().orTimeout(this.timeout, TimeUnit.NANOSECONDS).whenComplete((result, e) -> {
+            final Throwable failure = e instanceof CompletionException ? e.getCause() : e;
+            if (failure instanceof TimeoutException && ! running.isDone()) {
+                this.abandoned = running;
+            }
+        });
+    }
+
+    private void refuseWhileCallRunning() throws TimeoutException {
+        if (this.isCallRunning()) {
+            throw new TimeoutException("the device has not answered a previous call");
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package equipments.hem;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The class <code>equipments.hem.DeviceCallGateUnitTest</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Tests that a call blocked past its timeout keeps the gate closed until it
+ *  returns, for the blocking and the non-blocking calls alike, so that a
+ *  hung device does not take a new thread at each call.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class DeviceCallGateUnitTest {
+
+    static final long TIMEOUT = TimeUnit.MILLISECONDS.toNanos(50);
+
+    ExecutorService executor;
+    DeviceCallGate gate;
+
+    @BeforeEach
+    void initialise() {
+        this.executor = Executors.newCachedThreadPool();
+        this.gate = new DeviceCallGate(this.executor, TIMEOUT);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    void answeredCallTest() throws Exception {
+        Assertions.assertEquals(42, (int) this.gate.call(() -> 42));
+        Assertions.assertFalse(this.gate.isCallRunning());
+    }
+
+    @Test
+    void failedCallTest() {
+        Assertions.assertThrows(IllegalStateException.class, () -> this.gate.call(() -> {
+            throw new IllegalStateException("failed");
+        }));
+        Assertions.assertFalse(this.gate.isCallRunning());
+    }
+
+    @Test
+    void blockedCallTest() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        // a device which ignores the interruption and answers when released
+        final Callable<Boolean> hung = () -> {
+            calls.incrementAndGet();
+            while (true) {
+                try {
+                    release.await();
+                    return true;
+                } catch (InterruptedException e) {
+                    // ignored, as by a blocking remote call
+                }
+            }
+        };
+
+        Assertions.assertThrows(TimeoutException.class, () -> this.gate.call(hung));
+        Assertions.assertTrue(this.gate.isCallRunning());
+        // refused at once, without calling the device again
+        final long started = System.nanoTime();
+        Assertions.assertThrows(TimeoutException.class, () -> this.gate.call(hung));
+        Assertions.assertTrue(System.nanoTime() - started < TIMEOUT);
+        Assertions.assertEquals(1, calls.get());
+
+        release.countDown();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (this.gate.isCallRunning() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        Assertions.assertFalse(this.gate.isCallRunning());
+        Assertions.assertTrue(this.gate.call(() -> true));
+    }
+
+    @Test
+    void blockedAsyncCallTest() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        final Function<Executor, CompletableFuture<Boolean>> hung =
+                executor -> CompletableFuture.supplyAsync(() -> {
+                    calls.incrementAndGet();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return true;
+                }, executor);
+
+        ExecutionException failure = Assertions.assertThrows(
+                ExecutionException.class, () -> this.gate.callAsync(hung).get());
+        Assertions.assertTrue(failure.getCause() instanceof TimeoutException);
+        Assertions.assertTrue(this.gate.isCallRunning());
+        // refused at once, the blocking calls share the gate
+        failure = Assertions.assertThrows(ExecutionException.class, () -> this.gate.callAsync(hung).get());
+        Assertions.assertTrue(failure.getCause() instanceof TimeoutException);
+        Assertions.assertThrows(TimeoutException.class, () -> this.gate.call(() -> true));
+        Assertions.assertEquals(1, calls.get());
+
+        release.countDown();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (this.gate.isCallRunning() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        Assertions.assertTrue(this.gate.callAsync(hung).get());
+        Assertions.assertEquals(2, calls.get());
+    }
+}
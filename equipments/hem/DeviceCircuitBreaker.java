@@ -0,0 +1,221 @@
+package equipments.hem;
+
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+/**
+ * The class <code>equipments.hem.DeviceCircuitBreaker</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Circuit breaker guarding the calls of the home energy manager to one
+ *  registered device. After {@code failureThreshold} consecutive failures or
+ *  timeouts the breaker opens and the device is skipped for a back-off period.
+ *  When the period is over, the next calls are let through as a trial: a
+ *  success closes the breaker, a failure opens it again with a back-off twice
+ *  as long, up to {@code maxBackoff}.
+ * </p>
+ *
+ * <p>
+ *  The breaker also counts the failures, timeouts, openings and skipped cycles
+ *  of the device, so that they can be reported by the home energy manager.
+ *  Its methods are synchronized as the calls to the devices may run
+ *  concurrently.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code getConsecutiveFailures() >= 0}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class DeviceCircuitBreaker {
+
+    public enum State {
+        /** calls are let through. */
+        CLOSED,
+        /** calls are refused until the end of the back-off period. */
+        OPEN,
+        /** the back-off period is over, the next outcome decides. */
+        HALF_OPEN
+    }
+
+    /** number of consecutive failures opening the breaker. */
+    protected final int failureThreshold;
+    /** first back-off period in nanoseconds. */
+    protected final long initialBackoff;
+    /** longest back-off period in nanoseconds. */
+    protected final long maxBackoff;
+
+    protected State state;
+    protected int consecutiveFailures;
+    /** back-off period used the next time the breaker opens. */
+    protected long backoff;
+    /** date, in nanoseconds of {@code System.nanoTime}, when the breaker can be tried again. */
+    protected long openUntil;
+
+    protected long failures;
+    protected long timeouts;
+    protected long openings;
+    protected long skipped;
+
+    /**
+     *
+     * Creates a closed circuit breaker
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code failureThreshold > 0}
+     *  pre {@code initialBackoff > 0 && maxBackoff >= initialBackoff}
+     *  post {@code getState() == State.CLOSED}
+     * </pre>
+     * @param failureThreshold number of consecutive failures opening the breaker
+     * @param initialBackoff first back-off period in nanoseconds
+     * @param maxBackoff longest back-off period in nanoseconds
+     */
+    public DeviceCircuitBreaker(int failureThreshold, long initialBackoff, long maxBackoff) {
+        assert failureThreshold > 0 :
+                new PreconditionException("failureThreshold <= 0");
+        assert initialBackoff > 0 && maxBackoff >= initialBackoff :
+                new PreconditionException("initialBackoff <= 0 || maxBackoff < initialBackoff");
+
+        this.failureThreshold = failureThreshold;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+
+        this.state = State.CLOSED;
+        this.consecutiveFailures = 0;
+        this.backoff = initialBackoff;
+        this.openUntil = 0L;
+    }
+
+    /**
+     *
+     * Returns true if the device can be called now
+     * An open breaker whose back-off period is over becomes half open, a call
+     * refused by an open breaker is counted as skipped
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code true} // no precondition
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @return true if the device can be called now
+     */
+    public synchronized boolean allowRequest() {
+        if (this.state == State.OPEN) {
+            if (System.nanoTime() - this.openUntil >= 0) {
+                this.state = State.HALF_OPEN;
+            } else {
+                ++this.skipped;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     *
+     * Records a successful call, which closes the breaker
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code true} // no precondition
+     *  post {@code getState() == State.CLOSED}
+     * </pre>
+     * @return true if the breaker has been closed by this success
+     */
+    public synchronized boolean recordSuccess() {
+        final boolean closed = this.state != State.CLOSED;
+        this.state = State.CLOSED;
+        this.consecutiveFailures = 0;
+        this.backoff = this.initialBackoff;
+        return closed;
+    }
+
+    /**
+     *
+     * Records a failed call
+     * The breaker opens when the threshold is reached or when the trial of a
+     * half open breaker fails
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code true} // no precondition
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param timeout true if the call failed because it timed out
+     * @return true if the breaker has been opened by this failure
+     */
+    public synchronized boolean recordFailure(boolean timeout) {
+        ++this.failures;
+        if (timeout) {
+            ++this.timeouts;
+        }
+        ++this.consecutiveFailures;
+
+        boolean opened = false;
+        if (this.state == State.HALF_OPEN ||
+                (this.state == State.CLOSED && this.consecutiveFailures >= this.failureThreshold)) {
+            this.state = State.OPEN;
+            this.openUntil = System.nanoTime() + this.backoff;
+            this.backoff = Math.min(2 * this.backoff, this.maxBackoff);
+            ++this.openings;
+            opened = true;
+        }
+        return opened;
+    }
+
+    public synchronized State getState() {
+        return this.state;
+    }
+
+    public synchronized boolean isOpen() {
+        return this.state == State.OPEN;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return this.consecutiveFailures;
+    }
+
+    public synchronized long getFailures() {
+        return this.failures;
+    }
+
+    public synchronized long getTimeouts() {
+        return this.timeouts;
+    }
+
+    public synchronized long getOpenings() {
+        return this.openings;
+    }
+
+    public synchronized long getSkipped() {
+        return this.skipped;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder("DeviceCircuitBreaker[state=");
+        builder.append(this.state);
+        builder.append(", failures=");
+        builder.append(this.failures);
+        builder.append(", timeouts=");
+        builder.append(this.timeouts);
+        builder.append(", openings=");
+        builder.append(this.openings);
+        builder.append(", skipped=");
+        builder.append(this.skipped);
+        builder.append(']');
+        return builder.toString();
+    }
+}
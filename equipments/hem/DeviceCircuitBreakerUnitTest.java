@@ -0,0 +1,121 @@
+package equipments.hem;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The class <code>equipments.hem.DeviceCircuitBreakerUnitTest</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Tests the transitions of the circuit breaker between its closed, open and
+ *  half-open states, with a backoff short enough to be waited for.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class DeviceCircuitBreakerUnitTest {
+
+    static final int THRESHOLD = 3;
+    static final long BACKOFF = TimeUnit.MILLISECONDS.toNanos(50);
+    static final long MAX_BACKOFF = TimeUnit.MILLISECONDS.toNanos(100);
+
+    DeviceCircuitBreaker breaker;
+
+    @BeforeEach
+    void initialise() {
+        this.breaker = new DeviceCircuitBreaker(THRESHOLD, BACKOFF, MAX_BACKOFF);
+    }
+
+    void open() {
+        for (int i = 0; i < THRESHOLD; ++i) {
+            this.breaker.recordFailure(false);
+        }
+    }
+
+    static void waitFor(long nanos) throws InterruptedException {
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(nanos) + 5);
+    }
+
+    @Test
+    void closedUntilThresholdTest() {
+        Assertions.assertEquals(DeviceCircuitBreaker.State.CLOSED, this.breaker.getState());
+        for (int i = 1; i < THRESHOLD; ++i) {
+            Assertions.assertFalse(this.breaker.recordFailure(i == 1));
+            Assertions.assertEquals(DeviceCircuitBreaker.State.CLOSED, this.breaker.getState());
+            Assertions.assertTrue(this.breaker.allowRequest());
+        }
+        Assertions.assertTrue(this.breaker.recordFailure(false));
+        Assertions.assertEquals(DeviceCircuitBreaker.State.OPEN, this.breaker.getState());
+        Assertions.assertEquals(THRESHOLD, this.breaker.getFailures());
+        Assertions.assertEquals(1, this.breaker.getTimeouts());
+        Assertions.assertEquals(1, this.breaker.getOpenings());
+    }
+
+    @Test
+    void successResetsFailuresTest() {
+        for (int i = 1; i < THRESHOLD; ++i) {
+            this.breaker.recordFailure(false);
+        }
+        Assertions.assertFalse(this.breaker.recordSuccess());
+        Assertions.assertEquals(0, this.breaker.getConsecutiveFailures());
+        Assertions.assertFalse(this.breaker.recordFailure(false));
+        Assertions.assertEquals(DeviceCircuitBreaker.State.CLOSED, this.breaker.getState());
+    }
+
+    @Test
+    void openRefusesRequestsTest() {
+        this.open();
+        Assertions.assertFalse(this.breaker.allowRequest());
+        Assertions.assertFalse(this.breaker.allowRequest());
+        Assertions.assertTrue(this.breaker.isOpen());
+        Assertions.assertEquals(2, this.breaker.getSkipped());
+    }
+
+    @Test
+    void halfOpenAfterBackoffTest() throws InterruptedException {
+        this.open();
+        waitFor(BACKOFF);
+        Assertions.assertTrue(this.breaker.allowRequest());
+        Assertions.assertEquals(DeviceCircuitBreaker.State.HALF_OPEN, this.breaker.getState());
+        Assertions.assertTrue(this.breaker.recordSuccess());
+        Assertions.assertEquals(DeviceCircuitBreaker.State.CLOSED, this.breaker.getState());
+        Assertions.assertEquals(0, this.breaker.getConsecutiveFailures());
+    }
+
+    @Test
+    void halfOpenFailureReopensTest() throws InterruptedException {
+        this.open();
+        waitFor(BACKOFF);
+        Assertions.assertTrue(this.breaker.allowRequest());
+        // a single failure of the trial request opens the breaker again
+        Assertions.assertTrue(this.breaker.recordFailure(true));
+        Assertions.assertEquals(DeviceCircuitBreaker.State.OPEN, this.breaker.getState());
+        Assertions.assertEquals(2, this.breaker.getOpenings());
+        // the backoff has doubled
+        waitFor(BACKOFF);
+        Assertions.assertFalse(this.breaker.allowRequest());
+        waitFor(BACKOFF);
+        Assertions.assertTrue(this.breaker.allowRequest());
+    }
+
+    @Test
+    void failureWhileOpenTest() {
+        this.open();
+        // a command sent before the opening fails afterwards
+        Assertions.assertFalse(this.breaker.recordFailure(false));
+        Assertions.assertEquals(1, this.breaker.getOpenings());
+    }
+}
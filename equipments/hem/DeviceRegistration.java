@@ -0,0 +1,85 @@
+package equipments.hem;
+
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+import java.io.Serializable;
+
+/**
+ * The class <code>equipments.hem.DeviceRegistration</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Immutable registration request of one device, with the same arguments as
+ *  {@code RegistrationCI#register}, used to register batches of devices in
+ *  one call.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code getUid() != null && !getUid().isEmpty()}
+ * invariant	{@code getControlPortURI() != null && !getControlPortURI().isEmpty()}
+ * invariant	{@code getXmlControlAdapter() != null && !getXmlControlAdapter().isEmpty()}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public final class DeviceRegistration
+implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected final String uid;
+    protected final String controlPortURI;
+    protected final String xmlControlAdapter;
+
+    /**
+     *
+     * Creates the registration request of a device
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code uid != null && !uid.isEmpty()}
+     *  pre {@code controlPortURI != null && !controlPortURI.isEmpty()}
+     *  pre {@code xmlControlAdapter != null && !xmlControlAdapter.isEmpty()}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param uid uid of the device
+     * @param controlPortURI URI of the inbound port controlling the device
+     * @param xmlControlAdapter xml descriptor of the connector
+     */
+    public DeviceRegistration(String uid, String controlPortURI, String xmlControlAdapter) {
+        assert uid != null && !uid.isEmpty() :
+                new PreconditionException("uid == null || uid.isEmpty()");
+        assert controlPortURI != null && !controlPortURI.isEmpty() :
+                new PreconditionException("controlPortURI == null || controlPortURI.isEmpty()");
+        assert xmlControlAdapter != null && !xmlControlAdapter.isEmpty() :
+                new PreconditionException("xmlControlAdapter == null || xmlControlAdapter.isEmpty()");
+
+        this.uid = uid;
+        this.controlPortURI = controlPortURI;
+        this.xmlControlAdapter = xmlControlAdapter;
+    }
+
+    public String getUid() {
+        return this.uid;
+    }
+
+    public String getControlPortURI() {
+        return this.controlPortURI;
+    }
+
+    public String getXmlControlAdapter() {
+        return this.xmlControlAdapter;
+    }
+
+    @Override
+    public String toString() {
+        return "DeviceRegistration[" + this.uid + ", " + this.controlPortURI + ", " + this.xmlControlAdapter + ']';
+    }
+}
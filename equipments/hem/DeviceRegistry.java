@@ -0,0 +1,194 @@
+package equipments.hem;
+
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The class <code>equipments.hem.DeviceRegistry</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Copy-on-write registry of the devices managed by the home energy manager.
+ *  The registry publishes immutable {@code View}s: a reader takes the current
+ *  view once and iterates over it without any lock, while a registration or an
+ *  unregistration builds a new view from the current one and publishes it
+ *  atomically. Hence the control loop never waits for a registration and a
+ *  registration never waits for the end of a control cycle.
+ * </p>
+ *
+ * <p>
+ *  Inside a view, the devices are listed in the order of their uid, so that
+ *  the iterations do not depend on the order of the registrations.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code view() != null}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ * @param <D> type of the devices
+ */
+public class DeviceRegistry<D> {
+
+    /**
+     * Immutable state of the registry at one point in time.
+     *
+     * @param <D> type of the devices
+     */
+    public static final class View<D> {
+
+        /** registered devices indexed by their uid. */
+        protected final Map<String, D> byUid;
+        /** registered devices in the order of their uid. */
+        protected final List<D> devices;
+
+        protected View(Map<String, D> byUid) {
+            this.byUid = Collections.unmodifiableMap(byUid);
+            this.devices = Collections.unmodifiableList(new ArrayList<>(new TreeMap<>(byUid).values()));
+        }
+
+        public int size() {
+            return this.devices.size();
+        }
+
+        public boolean contains(String uid) {
+            return this.byUid.containsKey(uid);
+        }
+
+        /**
+         * @param uid uid of a device
+         * @return the device registered with {@code uid} or null
+         */
+        public D get(String uid) {
+            return this.byUid.get(uid);
+        }
+
+        /**
+         * @return the registered devices in the order of their uid
+         */
+        public List<D> devices() {
+            return this.devices;
+        }
+    }
+
+    /** currently published view. */
+    protected final AtomicReference<View<D>> current;
+
+    public DeviceRegistry() {
+        this.current = new AtomicReference<>(new View<>(new HashMap<>()));
+    }
+
+    /**
+     * @return the currently published view of the registry
+     */
+    public View<D> view() {
+        return this.current.get();
+    }
+
+    public boolean contains(String uid) {
+        return this.current.get().contains(uid);
+    }
+
+    public D get(String uid) {
+        return this.current.get().get(uid);
+    }
+
+    /**
+     *
+     * Registers a device and publishes the new view
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code uid != null && device != null}
+     *  post {@code !return || contains(uid)}
+     * </pre>
+     * @param uid uid of the device
+     * @param device the device
+     * @return false if a device is already registered with {@code uid}
+     */
+    public boolean register(String uid, D device) {
+        assert uid != null && device != null :
+                new PreconditionException("uid == null || device == null");
+
+        View<D> previous;
+        View<D> next;
+        do {
+            previous = this.current.get();
+            if (previous.contains(uid)) {
+                return false;
+            }
+
+            HashMap<String, D> byUid = new HashMap<>(previous.byUid);
+            byUid.put(uid, device);
+            next = new View<>(byUid);
+        } while (!this.current.compareAndSet(previous, next));
+
+        return true;
+    }
+
+    /**
+     *
+     * Unregisters a device and publishes the new view
+     * The views taken before still contain the device
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code uid != null}
+     *  post {@code !contains(uid)}
+     * </pre>
+     * @param uid uid of the device
+     * @return the unregistered device or null if none was registered with {@code uid}
+     */
+    public D unregister(String uid) {
+        assert uid != null :
+                new PreconditionException("uid == null");
+
+        View<D> previous;
+        View<D> next;
+        D removed;
+        do {
+            previous = this.current.get();
+            removed = previous.get(uid);
+            if (removed == null) {
+                return null;
+            }
+
+            HashMap<String, D> byUid = new HashMap<>(previous.byUid);
+            byUid.remove(uid);
+            next = new View<>(byUid);
+        } while (!this.current.compareAndSet(previous, next));
+
+        return removed;
+    }
+
+    /**
+     *
+     * Unregisters all the devices
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code true} // no precondition
+     *  post {@code view().size() == 0}
+     * </pre>
+     * @return the view holding the devices that were registered
+     */
+    public View<D> clear() {
+        return this.current.getAndSet(new View<>(new HashMap<>()));
+    }
+}
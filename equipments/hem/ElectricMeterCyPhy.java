@@ -40,6 +40,7 @@ import fr.sorbonne_u.alasca.physical_data.Measure;
 import fr.sorbonne_u.alasca.physical_data.SignalData;
 import fr.sorbonne_u.alasca.physical_data.TimedMeasure;
 import fr.sorbonne_u.components.annotations.OfferedInterfaces;
+import fr.sorbonne_u.components.annotations.RequiredInterfaces;
 import fr.sorbonne_u.components.cyphy.AbstractCyPhyComponent;
 import fr.sorbonne_u.components.cyphy.ExecutionMode;
 import fr.sorbonne_u.components.cyphy.annotations.LocalArchitecture;
@@ -73,12 +74,15 @@ import fr.sorbonne_u.exceptions.PostconditionException;
 import fr.sorbonne_u.exceptions.PreconditionException;
 import fr.sorbonne_u.utils.aclocks.ClocksServer;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
 // -----------------------------------------------------------------------------
@@ -158,8 +162,8 @@ import java.util.function.Supplier;
  * <p><strong>Implementation Invariants</strong></p>
  * 
  * <pre>
- * invariant	{@code currentPowerConsumption.get() == null || currentPowerConsumption.get().getMeasure().getData() >= 0.0 && currentPowerConsumption.get().getMeasure().getMeasurementUnit().equals(POWER_UNIT)}
- * invariant	{@code currentPowerProduction.get() == null || currentPowerProduction.get().getMeasure().getData() >= 0.0 && currentPowerProduction.get().getMeasure().getMeasurementUnit().equals(POWER_UNIT)}
+ * invariant	{@code !currentPowerConsumption.isSet() || currentPowerConsumption.getPower() >= 0.0}
+ * invariant	{@code !currentPowerProduction.isSet() || currentPowerProduction.getPower() >= 0.0}
  * invariant	{@code !getExecutionMode().isSimulationTest() || (localArchitectureURI != null && !localArchitectureURI.isEmpty())}
  * invariant	{@code !getExecutionMode().isSimulationTest() || accFactor > 0.0}
  * </pre>
@@ -220,11 +224,15 @@ import java.util.function.Supplier;
 	)
 })
 // -----------------------------------------------------------------------------
-@OfferedInterfaces(offered={ElectricMeterCI.class})
+@OfferedInterfaces(offered={ElectricMeterCI.class, MeterSubscriptionCI.class,
+							MeterHistoryCI.class})
+@RequiredInterfaces(required={MeterNotificationCI.class})
 // -----------------------------------------------------------------------------
 public class ElectricMeterCyPhy
 extends		AbstractCyPhyComponent
-implements	ElectricMeterImplementationI
+implements	ElectricMeterImplementationI,
+			MeterSubscriptionI,
+			MeterHistoryI
 {
 	// -------------------------------------------------------------------------
 	// Constants and variables
@@ -238,6 +246,24 @@ implements	ElectricMeterImplementationI
 	/** URI of the electric meter inbound port used in tests.				*/
 	public static final String		ELECTRIC_METER_INBOUND_PORT_URI =
 															"ELECTRIC-METER";
+	/** URI of the inbound port used to subscribe to the changes of the
+	 *  meter.																*/
+	public static final String		METER_SUBSCRIPTION_INBOUND_PORT_URI =
+												"ELECTRIC-METER-SUBSCRIPTION";
+	/** delay in milliseconds during which the changes following a
+	 *  significant one are merged into the same notification.			*/
+	public static long				NOTIFICATION_COALESCING_DELAY = 20L;
+	/** URI of the inbound port used to query the history of the meter.	*/
+	public static final String		METER_HISTORY_INBOUND_PORT_URI =
+												"ELECTRIC-METER-HISTORY";
+	/** number of samples of the consumption and production kept in the
+	 *  history of the meter.												*/
+	public static int				HISTORY_CAPACITY = 4096;
+	/** directory of the journal of every reading of the meter, null to
+	 *  keep no journal.													*/
+	public static String			METERING_JOURNAL_DIRECTORY = null;
+	/** number of records of a segment of the journal of the readings.		*/
+	public static int				METERING_SEGMENT_RECORDS = 1 << 16;
 
 	/**	the tension in the electric circuits of this meter.					*/
 	public static Measure<Double>	TENSION = new Measure<Double>(
@@ -248,11 +274,32 @@ implements	ElectricMeterImplementationI
 	protected ElectricMeterInboundPort		emip;
 
 	/** current total electric power consumption measured at the electric
-	 *  meter in the power unit of the meter.								*/
-	protected AtomicReference<SignalData<Double>>	currentPowerConsumption;
+	 *  meter in the power unit of the meter, kept as primitive values and
+	 *  materialised as a {@code SignalData} only when it is asked for.		*/
+	protected PowerReading							currentPowerConsumption;
 	/** current total electric power production measured at the electric
-	 *  meter in the power unit of the meter.								*/
-	protected AtomicReference<SignalData<Double>>	currentPowerProduction;
+	 *  meter in the power unit of the meter, kept as primitive values and
+	 *  materialised as a {@code SignalData} only when it is asked for.		*/
+	protected PowerReading							currentPowerProduction;
+	/** builds the signal of a reading, created once.						*/
+	protected PowerReading.Materialiser<SignalData<Double>>	signalMaterialiser;
+
+	/** inbound port offering the <code>MeterSubscriptionCI</code> interface.	*/
+	protected MeterSubscriptionInboundPort			msip;
+	/** subscriptions to the changes of the meter indexed by the URI of the
+	 *  inbound port receiving the notifications.							*/
+	protected ConcurrentHashMap<String,Subscription>	subscriptions;
+
+	/** inbound port offering the <code>MeterHistoryCI</code> interface.	*/
+	protected MeterHistoryInboundPort				mhip;
+	/** samples of the consumption and production, recorded at each change
+	 *  with the instant of the change in nanoseconds.						*/
+	protected MeterHistory							history;
+	/** journal of every reading of the meter, null when none is kept.	*/
+	protected MeteringJournal						meteringJournal;
+	/** model summing the energy consumed by each appliance in SIL runs,
+	 *  null when there is none.											*/
+	protected volatile ElectricMeterElectricitySILModel	applianceEnergiesModel;
 
 	// Execution/Simulation
 
@@ -270,8 +317,8 @@ implements	ElectricMeterImplementationI
 	 *  simulation report, and one to answer the calls to the component
 	 *  services.															*/
 	protected static int		NUMBER_OF_STANDARD_THREADS = 2;
-	/** no need for statically defined schedulable threads.					*/
-	protected static int		NUMBER_OF_SCHEDULABLE_THREADS = 0;
+	/** one thread to send the notifications to the subscribers.			*/
+	protected static int		NUMBER_OF_SCHEDULABLE_THREADS = 1;
 
 	/** URI of the local simulation architecture for SIL unit tests.		*/
 	public static final String	LOCAL_ARCHITECTURE_URI = "silIntegrationTests";
@@ -309,27 +356,17 @@ implements	ElectricMeterImplementationI
 
 		boolean ret = true;
 		ret &= AssertionChecking.checkImplementationInvariant(
-				instance.currentPowerConsumption.get() == null ||
-					instance.currentPowerConsumption.get().getMeasure().
-															getData() >= 0.0
-					&& instance.currentPowerConsumption.get().getMeasure().
-										getMeasurementUnit().equals(POWER_UNIT),
+				!instance.currentPowerConsumption.isSet() ||
+						instance.currentPowerConsumption.getPower() >= 0.0,
 				ElectricMeterCyPhy.class, instance,
-				"currentPowerConsumption.get() == null || "
-				+ "currentPowerConsumption.get().getMeasure().getData() >= 0.0 "
-				+ "&& currentPowerConsumption.get().getMeasure()."
-				+ "getMeasurementUnit().equals(POWER_UNIT)");
+				"!currentPowerConsumption.isSet() || "
+				+ "currentPowerConsumption.getPower() >= 0.0");
 		ret &= AssertionChecking.checkImplementationInvariant(
-				instance.currentPowerProduction.get() == null ||
-					instance.currentPowerProduction.get().getMeasure().
-															getData() >= 0.0
-					&& instance.currentPowerProduction.get().getMeasure().
-										getMeasurementUnit().equals(POWER_UNIT),
+				!instance.currentPowerProduction.isSet() ||
+						instance.currentPowerProduction.getPower() >= 0.0,
 				ElectricMeterCyPhy.class, instance,
-				"currentPowerProduction.get() == null || "
-				+ "currentPowerProduction.get().getMeasure().getData() >= 0.0 "
-				+ "&& currentPowerProduction.get().getMeasure()."
-				+ "getMeasurementUnit().equals(POWER_UNIT)");
+				"!currentPowerProduction.isSet() || "
+				+ "currentPowerProduction.getPower() >= 0.0");
 		ret &= AssertionChecking.checkImplementationInvariant(
 				!instance.getExecutionMode().isSimulationTest() ||
 					(instance.localArchitectureURI != null &&
@@ -370,6 +407,18 @@ implements	ElectricMeterImplementationI
 				ElectricMeterCyPhy.class,
 				"ELECTRIC_METER_INBOUND_PORT_URI != null &&"
 							+ "!ELECTRIC_METER_INBOUND_PORT_URI.isEmpty()");
+		ret &= AssertionChecking.checkStaticInvariant(
+				HISTORY_CAPACITY > 0,
+				ElectricMeterCyPhy.class,
+				"HISTORY_CAPACITY > 0");
+		ret &= AssertionChecking.checkStaticInvariant(
+				METERING_JOURNAL_DIRECTORY == null || !METERING_JOURNAL_DIRECTORY.isEmpty(),
+				ElectricMeterCyPhy.class,
+				"METERING_JOURNAL_DIRECTORY == null || !METERING_JOURNAL_DIRECTORY.isEmpty()");
+		ret &= AssertionChecking.checkStaticInvariant(
+				METERING_SEGMENT_RECORDS > 0,
+				ElectricMeterCyPhy.class,
+				"METERING_SEGMENT_RECORDS > 0");
 		ret &= AssertionChecking.checkStaticInvariant(
 				TENSION != null,
 				ElectricMeterCyPhy.class,
@@ -715,8 +764,31 @@ implements	ElectricMeterImplementationI
 				new ElectricMeterInboundPort(electricMeterInboundPortURI, this);
 		this.emip.publishPort();
 
-		this.currentPowerProduction = new AtomicReference<>();
-		this.currentPowerConsumption = new AtomicReference<>();
+		this.currentPowerProduction = new PowerReading();
+		this.currentPowerConsumption = new PowerReading();
+		this.signalMaterialiser = this::toSignal;
+
+		this.msip = new MeterSubscriptionInboundPort(
+										METER_SUBSCRIPTION_INBOUND_PORT_URI, this);
+		this.msip.publishPort();
+		this.subscriptions = new ConcurrentHashMap<>();
+
+		this.history = new MeterHistory(HISTORY_CAPACITY);
+		this.mhip = new MeterHistoryInboundPort(
+										METER_HISTORY_INBOUND_PORT_URI, this);
+		this.mhip.publishPort();
+
+		if (METERING_JOURNAL_DIRECTORY != null) {
+			try {
+				this.meteringJournal =
+						new MeteringJournal(
+								Paths.get(METERING_JOURNAL_DIRECTORY),
+								METERING_SEGMENT_RECORDS);
+			} catch (IOException e) {
+				// the meter works without journal
+				e.printStackTrace();
+			}
+		}
 
 		if (VERBOSE) {
 			this.tracer.get().setTitle("Electric meter component");
@@ -795,28 +867,18 @@ implements	ElectricMeterImplementationI
 		assert	t != null : new PreconditionException("t != null");
 
 		Instant currentInstant = this.getClock4Simulation().currentInstant();
-		TimedMeasure<Double> measuredPowerConsumption =
-				new TimedMeasure<Double>(
-						power,
-						POWER_UNIT,
-						this.getClock4Simulation(),
-						this.getClock4Simulation().instantOfSimulatedTime(t));
-		SignalData<Double> powerConsumptionSignal =
-				new SignalData<>(
-						this.getClock4Simulation(),
-						measuredPowerConsumption,
-						currentInstant);
-
-		SignalData<Double> oldSignalData =
-				this.currentPowerConsumption.getAndSet(powerConsumptionSignal);
-		if (oldSignalData != null && VERBOSE) {
-			double old = oldSignalData.getMeasure().getData();
-			if (Math.abs(old - power) > TOLERANCE) {
-				this.traceMessage(
-					"Electric meter sets its current consumption with new value "
-					+ measuredPowerConsumption + " at " + currentInstant + ".\n");
-			}
+		final long signalled = epochNanos(currentInstant);
+		double old = this.currentPowerConsumption.swap(
+				power,
+				epochNanos(this.getClock4Simulation().instantOfSimulatedTime(t)),
+				signalled);
+		if (VERBOSE && !Double.isNaN(old) && Math.abs(old - power) > TOLERANCE) {
+			this.traceMessage(
+				"Electric meter sets its current consumption with new value "
+				+ power + " " + POWER_UNIT + " at " + currentInstant + ".\n");
 		}
+		this.recordHistory(signalled);
+		this.powerChanged();
 	}
 
 	/**
@@ -845,30 +907,342 @@ implements	ElectricMeterImplementationI
 		assert	t != null : new PreconditionException("t != null");
 
 		Instant currentInstant = this.getClock4Simulation().currentInstant();
-		TimedMeasure<Double> measuredPowerProduction =
-				new TimedMeasure<Double>(
-						power,
-						POWER_UNIT,
-						this.getClock4Simulation(),
-						this.getClock4Simulation().instantOfSimulatedTime(t));
-		SignalData<Double> powerProductionSignal =
-				new SignalData<>(
+		final long signalled = epochNanos(currentInstant);
+		double old = this.currentPowerProduction.swap(
+				power,
+				epochNanos(this.getClock4Simulation().instantOfSimulatedTime(t)),
+				signalled);
+		if (VERBOSE && !Double.isNaN(old) && Math.abs(old - power) > TOLERANCE) {
+			this.traceMessage(
+				"Electric meter sets its current production with new value "
+				+ power + " " + POWER_UNIT + " at " + currentInstant + ".\n");
+		}
+		this.recordHistory(signalled);
+		this.powerChanged();
+	}
+
+	/**
+	 * set the model summing the energy consumed by each appliance, a method
+	 * that is meant to be called only by the simulator in SIL runs; the
+	 * breakdown is read from the model only when it is queried.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code getExecutionMode().isSimulationTest()}
+	 * pre	{@code model != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param model	model summing the energy consumed by each appliance.
+	 */
+	public void			setApplianceEnergiesModel(
+		ElectricMeterElectricitySILModel model
+		)
+	{
+		assert	getExecutionMode().isSimulationTest() :
+				new PreconditionException(
+						"getExecutionMode().isSimulationTest()");
+		assert	model != null : new PreconditionException("model != null");
+
+		this.applianceEnergiesModel = model;
+	}
+
+	// -------------------------------------------------------------------------
+	// History
+	// -------------------------------------------------------------------------
+
+	/**
+	 * return the instant {@code i} in nanoseconds, the time base of the
+	 * readings and of the history.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code i != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param i	an instant.
+	 * @return	the instant in nanoseconds since the epoch.
+	 */
+	protected static long	epochNanos(Instant i)
+	{
+		return TimeUnit.SECONDS.toNanos(i.getEpochSecond()) + i.getNano();
+	}
+
+	/**
+	 * return the current instant of the clock of the meter, the clock of
+	 * the simulation in SIL runs.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return	the current instant.
+	 */
+	protected Instant		currentInstant()
+	{
+		if (this.getExecutionMode().isSimulationTest()) {
+			return this.getClock4Simulation().currentInstant();
+		} else if (this.getExecutionMode().isTestWithoutSimulation()) {
+			return this.getClock().currentInstant();
+		} else {
+			return Instant.now();
+		}
+	}
+
+	/**
+	 * record in the history and in the journal the current consumption and
+	 * production, which hold from the instant {@code time}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param time	instant of the change in nanoseconds since the epoch.
+	 */
+	protected void			recordHistory(long time)
+	{
+		double consumption = this.currentPowerConsumption.getPower();
+		double production = this.currentPowerProduction.getPower();
+		consumption = Double.isNaN(consumption) ? 0.0 : consumption;
+		production = Double.isNaN(production) ? 0.0 : production;
+		this.history.record(time, consumption, production);
+		if (this.meteringJournal != null) {
+			try {
+				// a reading older than the last one of the run is rejected
+				this.meteringJournal.append(
+						time, consumption, production, TENSION.getData());
+			} catch (IOException e) {
+				// a new segment cannot be mapped, the journal is abandoned
+				e.printStackTrace();
+				this.meteringJournal = null;
+			}
+		}
+	}
+
+	/**
+	 * materialise a reading of the meter as a signal of the clock of the
+	 * simulation, the only place where the readings are allocated.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code power >= 0.0}
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @param power		power in {@code POWER_UNIT}.
+	 * @param measured	instant of the measure in nanoseconds since the epoch.
+	 * @param signalled	instant of the signal in nanoseconds since the epoch.
+	 * @return			the signal of the reading.
+	 */
+	protected SignalData<Double>	toSignal(
+		double power,
+		long measured,
+		long signalled
+		)
+	{
+		return new SignalData<>(
 						this.getClock4Simulation(),
-						measuredPowerProduction,
-						currentInstant);
-
-		SignalData<Double> oldSignalData =
-			this.currentPowerProduction.getAndSet(powerProductionSignal);
-		if (oldSignalData != null && VERBOSE) {
-			double old = oldSignalData.getMeasure().getData();
-			if (Math.abs(old - power) > TOLERANCE) {
-				this.traceMessage(
-					"Electric meter sets its current production with new value "
-					+ measuredPowerProduction + " at " + currentInstant + ".\n");
+						new TimedMeasure<Double>(
+								power,
+								POWER_UNIT,
+								this.getClock4Simulation(),
+								Instant.ofEpochSecond(0L, measured)),
+						Instant.ofEpochSecond(0L, signalled));
+	}
+
+	// -------------------------------------------------------------------------
+	// Subscriptions
+	// -------------------------------------------------------------------------
+
+	/**
+	 * The class <code>Subscription</code> holds the state of the subscription
+	 * of one component to the changes of the meter.
+	 *
+	 * <p>Created on : 2026-10-18</p>
+	 */
+	protected static class	Subscription
+	{
+		/** port used to send the notifications.							*/
+		protected final MeterNotificationOutboundPort	port;
+		/** smallest change notified, in {@code POWER_UNIT}.				*/
+		protected final double							delta;
+		/** true when a notification has been scheduled but not sent yet.	*/
+		protected final AtomicBoolean					pending;
+		/** consumption sent in the last notification, NaN before the
+		 *  first one.														*/
+		protected volatile double						lastConsumption;
+		/** production sent in the last notification, NaN before the
+		 *  first one.														*/
+		protected volatile double						lastProduction;
+
+		public			Subscription(
+			MeterNotificationOutboundPort port,
+			double delta
+			)
+		{
+			this.port = port;
+			this.delta = delta;
+			this.pending = new AtomicBoolean(false);
+			this.lastConsumption = Double.NaN;
+			this.lastProduction = Double.NaN;
+		}
+
+		/**
+		 * return true if the given values differ significantly from the last
+		 * notified ones.
+		 *
+		 * <p><strong>Contract</strong></p>
+		 *
+		 * <pre>
+		 * pre	{@code true}	// no precondition.
+		 * post	{@code true}	// no postcondition.
+		 * </pre>
+		 *
+		 * @param consumption	current consumption.
+		 * @param production	current production.
+		 * @return				true if the change must be notified.
+		 */
+		public boolean	isSignificant(double consumption, double production)
+		{
+			if (Double.isNaN(this.lastConsumption)) {
+				return true;
+			}
+			return Math.abs(consumption - this.lastConsumption) >= this.delta
+					|| Math.abs(production - this.lastProduction) >= this.delta
+					|| Math.signum(production - consumption) !=
+							Math.signum(this.lastProduction - this.lastConsumption);
+		}
+	}
+
+	/**
+	 * @see MeterSubscriptionI#subscribe(String, double)
+	 */
+	@Override
+	public void			subscribe(String notificationInboundPortURI, double delta)
+	throws Exception
+	{
+		assert	notificationInboundPortURI != null &&
+										!notificationInboundPortURI.isEmpty() :
+				new PreconditionException(
+						"notificationInboundPortURI != null && "
+						+ "!notificationInboundPortURI.isEmpty()");
+		assert	delta > 0.0 : new PreconditionException("delta > 0.0");
+
+		if (this.subscriptions.containsKey(notificationInboundPortURI)) {
+			return;
+		}
+
+		MeterNotificationOutboundPort port =
+									new MeterNotificationOutboundPort(this);
+		port.publishPort();
+		this.doPortConnection(
+				port.getPortURI(),
+				notificationInboundPortURI,
+				MeterNotificationConnector.class.getCanonicalName());
+		this.subscriptions.put(notificationInboundPortURI,
+							   new Subscription(port, delta));
+
+		if (VERBOSE) {
+			this.traceMessage("Electric meter accepts the subscription of "
+							  + notificationInboundPortURI + ".\n");
+		}
+	}
+
+	/**
+	 * @see MeterSubscriptionI#unsubscribe(String)
+	 */
+	@Override
+	public void			unsubscribe(String notificationInboundPortURI)
+	throws Exception
+	{
+		assert	notificationInboundPortURI != null &&
+										!notificationInboundPortURI.isEmpty() :
+				new PreconditionException(
+						"notificationInboundPortURI != null && "
+						+ "!notificationInboundPortURI.isEmpty()");
+
+		Subscription subscription =
+						this.subscriptions.remove(notificationInboundPortURI);
+		if (subscription != null) {
+			this.doPortDisconnection(subscription.port.getPortURI());
+			subscription.port.unpublishPort();
+		}
+	}
+
+	/**
+	 * schedule a notification for every subscriber for which the current
+	 * consumption and production differ significantly from the last notified
+	 * ones; a subscriber which already has a pending notification gets no
+	 * other one, the pending one will carry the latest values.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 */
+	protected void		powerChanged()
+	{
+		if (this.subscriptions.isEmpty()) {
+			return;
+		}
+		double c = this.currentPowerConsumption.getPower();
+		double p = this.currentPowerProduction.getPower();
+		if (Double.isNaN(c) || Double.isNaN(p)) {
+			return;
+		}
+
+		for (Subscription subscription : this.subscriptions.values()) {
+			if (subscription.isSignificant(c, p) &&
+							subscription.pending.compareAndSet(false, true)) {
+				this.scheduleTask(
+						o -> ((ElectricMeterCyPhy)o).notifySubscriber(subscription),
+						NOTIFICATION_COALESCING_DELAY,
+						TimeUnit.MILLISECONDS);
 			}
 		}
 	}
 
+	/**
+	 * send to the subscriber the latest values of the consumption and of the
+	 * production.
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 * pre	{@code subscription != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @param subscription	the subscription to be notified.
+	 */
+	protected void		notifySubscriber(Subscription subscription)
+	{
+		// cleared before reading the values: a change occurring from now on
+		// schedules a new notification, at worst carrying the same values
+		subscription.pending.set(false);
+		double c = this.currentPowerConsumption.getPower();
+		double p = this.currentPowerProduction.getPower();
+		subscription.lastConsumption = c;
+		subscription.lastProduction = p;
+		try {
+			subscription.port.meterChanged(c, p);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+
 	// -------------------------------------------------------------------------
 	// Component life-cycle
 	// -------------------------------------------------------------------------
@@ -937,46 +1311,18 @@ implements	ElectricMeterImplementationI
 
 		switch (this.getExecutionMode()) {
 		case STANDARD:
-			TimedMeasure<Double> measuredPowerConsumption =
-					new TimedMeasure<Double>(0.0, POWER_UNIT);
-			SignalData<Double> powerConsumptionSignal =
-					new SignalData<>(measuredPowerConsumption);
-			this.currentPowerConsumption.set(powerConsumptionSignal);
-			TimedMeasure<Double> measuredPowerProduction =
-					new TimedMeasure<Double>(0.0, POWER_UNIT);
-			SignalData<Double> powerProductionSignal =
-					new SignalData<>(measuredPowerProduction);
-			this.currentPowerProduction.set(powerProductionSignal);
+			long start = epochNanos(Instant.now());
+			this.currentPowerConsumption.swap(0.0, start, start);
+			this.currentPowerProduction.swap(0.0, start, start);
 			break;
 		case UNIT_TEST:
 		case INTEGRATION_TEST:
 			this.initialiseClock(
 					ClocksServer.STANDARD_INBOUNDPORT_URI,
 					this.clockURI);
-			measuredPowerConsumption =
-					new TimedMeasure<Double>(
-							0.0,
-							POWER_UNIT,
-							this.getClock(),
-							this.getClock().getStartInstant());
-			powerConsumptionSignal =
-					new SignalData<>(
-							this.getClock(),
-							measuredPowerConsumption,
-							this.getClock().getStartInstant());
-			this.currentPowerConsumption.set(powerConsumptionSignal);
-			measuredPowerProduction =
-					new TimedMeasure<Double>(
-							0.0,
-							POWER_UNIT,
-							this.getClock(),
-							this.getClock().getStartInstant());
-			powerProductionSignal =
-					new SignalData<>(
-							this.getClock(),
-							measuredPowerProduction,
-							this.getClock().getStartInstant());
-			this.currentPowerProduction.set(powerProductionSignal);
+			start = epochNanos(this.getClock().getStartInstant());
+			this.currentPowerConsumption.swap(0.0, start, start);
+			this.currentPowerProduction.swap(0.0, start, start);
 			break;
 		case UNIT_TEST_WITH_SIL_SIMULATION:
 			this.initialiseClock4Simulation(
@@ -995,30 +1341,9 @@ implements	ElectricMeterImplementationI
 					this.getClock4Simulation().getSimulatedDuration().
 														getSimulatedDuration());
 
-			measuredPowerConsumption =
-					new TimedMeasure<Double>(
-							0.0,
-							POWER_UNIT,
-							this.getClock4Simulation(),
-							this.getClock4Simulation().getStartInstant());
-			powerConsumptionSignal =
-					new SignalData<>(
-							this.getClock4Simulation(),
-							measuredPowerConsumption,
-							this.getClock4Simulation().getStartInstant());
-			this.currentPowerConsumption.set(powerConsumptionSignal);
-			measuredPowerProduction =
-					new TimedMeasure<Double>(
-							0.0,
-							POWER_UNIT,
-							this.getClock4Simulation(),
-							this.getClock().getStartInstant());
-			powerProductionSignal =
-					new SignalData<>(
-							this.getClock4Simulation(),
-							measuredPowerProduction,
-							this.getClock4Simulation().getStartInstant());
-			this.currentPowerProduction.set(powerProductionSignal);
+			start = epochNanos(this.getClock4Simulation().getStartInstant());
+			this.currentPowerConsumption.swap(0.0, start, start);
+			this.currentPowerProduction.swap(0.0, start, start);
 			// wait until the simulation ends
 			this.getClock4Simulation().waitUntilEnd();
 			// give some time for the end of simulation catering tasks
@@ -1030,30 +1355,9 @@ implements	ElectricMeterImplementationI
 			this.initialiseClock4Simulation(
 					ClocksServerWithSimulation.STANDARD_INBOUNDPORT_URI,
 					this.clockURI);
-			measuredPowerConsumption =
-					new TimedMeasure<Double>(
-							0.0,
-							POWER_UNIT,
-							this.getClock4Simulation(),
-							this.getClock4Simulation().getStartInstant());
-			powerConsumptionSignal =
-					new SignalData<>(
-							this.getClock4Simulation(),
-							measuredPowerConsumption,
-							this.getClock4Simulation().getStartInstant());
-			this.currentPowerConsumption.set(powerConsumptionSignal);
-			measuredPowerProduction =
-					new TimedMeasure<Double>(
-							0.0,
-							POWER_UNIT,
-							this.getClock4Simulation(),
-							this.getClock().getStartInstant());
-			powerProductionSignal =
-					new SignalData<>(
-							this.getClock4Simulation(),
-							measuredPowerProduction,
-							this.getClock4Simulation().getStartInstant());
-			this.currentPowerProduction.set(powerProductionSignal);
+			start = epochNanos(this.getClock4Simulation().getStartInstant());
+			this.currentPowerConsumption.swap(0.0, start, start);
+			this.currentPowerProduction.swap(0.0, start, start);
 			break;
 		case UNIT_TEST_WITH_HIL_SIMULATION:
 		case INTEGRATION_TEST_WITH_HIL_SIMULATION:
@@ -1066,6 +1370,18 @@ implements	ElectricMeterImplementationI
 		}
 	}
 
+	/**
+	 * @see fr.sorbonne_u.components.AbstractComponent#finalise()
+	 */
+	@Override
+	public synchronized void	finalise() throws Exception
+	{
+		for (Subscription subscription : this.subscriptions.values()) {
+			this.doPortDisconnection(subscription.port.getPortURI());
+		}
+		super.finalise();
+	}
+
 	/**
 	 * @see fr.sorbonne_u.components.AbstractComponent#shutdown()
 	 */
@@ -1073,7 +1389,16 @@ implements	ElectricMeterImplementationI
 	public synchronized void	shutdown() throws ComponentShutdownException
 	{
 		try {
+			for (Subscription subscription : this.subscriptions.values()) {
+				subscription.port.unpublishPort();
+			}
+			this.subscriptions.clear();
+			this.msip.unpublishPort();
+			this.mhip.unpublishPort();
 			this.emip.unpublishPort();
+			if (this.meteringJournal != null) {
+				this.meteringJournal.force();
+			}
 		} catch (Exception e) {
 			throw new ComponentShutdownException(e) ;
 		}
@@ -1109,7 +1434,7 @@ implements	ElectricMeterImplementationI
 
 		SignalData<Double> ret = null;
 		if (this.getExecutionMode().isSimulationTest()) {
-			ret = this.currentPowerConsumption.get();
+			ret = this.currentPowerConsumption.materialise(this.signalMaterialiser);
 		} else {
 			TimedMeasure<Double> measuredPowerProduction = null;
 			if (this.getExecutionMode().isTestWithoutSimulation()) {
@@ -1154,7 +1479,7 @@ implements	ElectricMeterImplementationI
 
 		SignalData<Double> ret = null;
 		if (this.getExecutionMode().isSimulationTest()) {
-			ret = this.currentPowerProduction.get();
+			ret = this.currentPowerProduction.materialise(this.signalMaterialiser);
 		} else {
 			TimedMeasure<Double> measuredPowerProduction = null;
 			if (this.getExecutionMode().isTestWithoutSimulation()) {
@@ -1185,5 +1510,60 @@ implements	ElectricMeterImplementationI
 
 		return ret;
 	}
+
+	/**
+	 * @see MeterHistoryI#getConsumptionStatistics(double)
+	 */
+	@Override
+	public PowerStatistics		getConsumptionStatistics(double seconds)
+	throws Exception
+	{
+		assert	seconds > 0.0 : new PreconditionException("seconds > 0.0");
+
+		PowerStatistics ret =
+				this.history.consumption(
+						epochNanos(this.currentInstant()),
+						(long) (seconds * TimeUnit.SECONDS.toNanos(1)));
+
+		assert	ret != null : new PostconditionException("return != null");
+
+		return ret;
+	}
+
+	/**
+	 * @see MeterHistoryI#getProductionStatistics(double)
+	 */
+	@Override
+	public PowerStatistics		getProductionStatistics(double seconds)
+	throws Exception
+	{
+		assert	seconds > 0.0 : new PreconditionException("seconds > 0.0");
+
+		PowerStatistics ret =
+				this.history.production(
+						epochNanos(this.currentInstant()),
+						(long) (seconds * TimeUnit.SECONDS.toNanos(1)));
+
+		assert	ret != null : new PostconditionException("return != null");
+
+		return ret;
+	}
+
+	/**
+	 * @see MeterHistoryI#getApplianceEnergies()
+	 */
+	@Override
+	public EnergyBreakdown		getApplianceEnergies() throws Exception
+	{
+		ElectricMeterElectricitySILModel model = this.applianceEnergiesModel;
+		EnergyBreakdown ret = EnergyBreakdown.EMPTY;
+		if (model != null) {
+			ret = model.materialiseApplianceEnergies();
+		}
+
+		assert	ret != null : new PostconditionException("return != null");
+
+		return ret;
+	}
 }
 // -----------------------------------------------------------------------------
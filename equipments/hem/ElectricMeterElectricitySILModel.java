@@ -82,6 +82,8 @@ import java.util.concurrent.TimeUnit;
  *   <ul>
  *   <i>name = {@code currentHeaterIntensity}, type = {@code Double}</li>
  *   <i>name = {@code currentHairDryerIntensity}, type = {@code Double}</li>
+ *   <i>name = {@code currentDimmerLampIntensity}, type = {@code Double}</li>
+ *   <i>name = {@code currentHeatPumpIntensity}, type = {@code Double}</li>
  *   <i>name = {@code solarPanelOutputPower}, type = {@code Double}</li>
  *   <i>name = {@code batteriesInputPower}, type = {@code Double}</li>
  *   <i>name = {@code batteriesOutputPower}, type = {@code Double}</li>
@@ -96,6 +98,33 @@ import java.util.concurrent.TimeUnit;
  * </li>
  * </ul>
  * 
+ * <p>
+ * The intensities of the appliances are gathered in the indexed array
+ * {@code applianceIntensities}, built at the start of each run from
+ * {@code applianceIntensityInputs()}: an appliance whose variable is not
+ * bound in the architecture is left out, and a house with more appliances
+ * is modelled by a subclass declaring their imported variables and adding
+ * them to the inputs. The total intensity is the sum of the array,
+ * whatever the number of appliances.
+ * </p>
+ * 
+ * <p>
+ * The sum is not kept as a running total: an imported variable is a
+ * {@code Value} written by the appliance model, which tells no one when it
+ * changes, so finding the inputs that changed costs a read of each of them,
+ * as much as summing them. The set of inputs is fixed by the class too, as
+ * the imported variables are declared by its annotations and bound to its
+ * fields by name; it cannot grow with the architecture.
+ * </p>
+ * 
+ * <p>
+ * The energy consumed by each appliance is integrated with the cumulative
+ * consumption in {@code applianceEnergies}, indexed as the intensities,
+ * under {@code applianceEnergiesLock}; the owner component materialises a
+ * breakdown from it only when it is queried through
+ * {@code MeterHistoryCI}, and it is given in the final report.
+ * </p>
+ * 
  * <p><strong>Implementation Invariants</strong></p>
  * 
  * <pre>
@@ -105,6 +134,8 @@ import java.util.concurrent.TimeUnit;
  * invariant	{@code currentHeaterIntensity == null || !currentHeaterIntensity.isInitialised() || currentHeaterIntensity.getValue() >= 0.0}
  * invariant	{@code currentHairDryerIntensity == null || !currentHairDryerIntensity.isInitialised() || currentHairDryerIntensity.getValue() >= 0.0}
  * invariant	{@code currentIntensity != null && (!currentIntensity.isInitialised() || currentIntensity.getValue() >= 0.0)}
+ * invariant	{@code applianceIntensities == null || lastApplianceIntensities.length == applianceIntensities.length}
+ * invariant	{@code applianceIntensities == null || applianceEnergies.length == applianceIntensities.length}
  * invariant	{@code cumulativeConsumption != null && (!cumulativeConsumption.isInitialised() || cumulativeConsumption.getValue() >= 0.0)}
  * invariant	{@code powerProduction != null && (!powerProduction.isInitialised() || powerProduction.getValue() >= 0.0)}
  * </pre>
@@ -226,6 +257,18 @@ extends		AtomicHIOA
 	@ImportedVariable(type = Double.class)
 	protected Value<Double> 		currentHeatPumpIntensity;
 
+	/** intensities of the appliances bound in the architecture, indexed as
+	 *  {@code lastApplianceIntensities}.									*/
+	protected Value<Double>[]		applianceIntensities;
+	/** names of the appliances bound in the architecture.					*/
+	protected String[]				applianceNames;
+	/** energy consumed by each appliance since the start of the run in kwh.	*/
+	protected double[]				applianceEnergies;
+	/** lock of the names and the energies, read by the owner component.	*/
+	protected final Object			applianceEnergiesLock = new Object();
+	/** values of the appliance intensities in the current intensity.		*/
+	protected double[]				lastApplianceIntensities;
+
 	/** current total power production of the house in the power unit
 	 *  defined by the electric meter.										*/
 	@InternalVariable(type = Double.class)
@@ -320,6 +363,24 @@ extends		AtomicHIOA
 				"currentIntensity != null && "
 						+ "(!currentIntensity.isInitialised() || "
 						+ "currentIntensity.getValue() >= 0.0)");
+		ret &= AssertionChecking.checkImplementationInvariant(
+				instance.applianceIntensities == null ||
+						instance.lastApplianceIntensities.length ==
+									instance.applianceIntensities.length,
+				ElectricMeterElectricitySILModel.class,
+				instance,
+				"applianceIntensities == null || "
+						+ "lastApplianceIntensities.length == "
+						+ "applianceIntensities.length");
+		ret &= AssertionChecking.checkImplementationInvariant(
+				instance.applianceIntensities == null ||
+						instance.applianceEnergies.length ==
+									instance.applianceIntensities.length,
+				ElectricMeterElectricitySILModel.class,
+				instance,
+				"applianceIntensities == null || "
+						+ "applianceEnergies.length == "
+						+ "applianceIntensities.length");
 		ret &= AssertionChecking.checkImplementationInvariant(
 				instance.cumulativeConsumption != null &&
 						(!instance.cumulativeConsumption.isInitialised() ||
@@ -460,6 +521,16 @@ extends		AtomicHIOA
 											this.currentIntensity.getValue());
 		Time t = this.cumulativeConsumption.getTime().add(d);
 		this.cumulativeConsumption.setNewValue(c, t);
+		// the last intensities are the ones maintained during d
+		synchronized (this.applianceEnergiesLock) {
+			for (int i = 0 ; i < this.applianceEnergies.length ; i++) {
+				this.applianceEnergies[i] +=
+					Electricity.computeConsumption(
+							d,
+							ElectricMeterCyPhy.TENSION.getData() *
+											this.lastApplianceIntensities[i]);
+			}
+		}
 
 		assert	ElectricMeterElectricitySILModel.implementationInvariants(this) :
 				new NeoSim4JavaException(
@@ -471,12 +542,135 @@ extends		AtomicHIOA
 	}
 
 	/**
-	 * compute the current total intensity.
+	 * return the imported intensities of the appliances, unbound ones being
+	 * null; subclasses importing the intensities of more appliances add
+	 * them to the result.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return	the imported intensities of the appliances.
+	 */
+	@SuppressWarnings("unchecked")
+	protected Value<Double>[]	applianceIntensityInputs()
+	{
+		return new Value[] {this.currentHeaterIntensity,
+							this.currentHairDryerIntensity,
+							this.currentDimmerLampIntensity,
+							this.currentHeatPumpIntensity};
+	}
+
+	/**
+	 * return the names of the appliances, in the order of
+	 * {@code applianceIntensityInputs()}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null && return.length == applianceIntensityInputs().length}
+	 * </pre>
+	 *
+	 * @return	the names of the appliances.
+	 */
+	protected String[]	applianceIntensityNames()
+	{
+		return new String[] {"heater", "hairDryer", "dimmerLamp", "heatPump"};
+	}
+
+	/**
+	 * gather the bound appliance intensities in {@code applianceIntensities}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code applianceIntensities != null}
+	 * </pre>
+	 */
+	@SuppressWarnings("unchecked")
+	protected void		gatherApplianceIntensities()
+	{
+		Value<Double>[] inputs = this.applianceIntensityInputs();
+		String[] names = this.applianceIntensityNames();
+		int bound = 0;
+		for (int i = 0 ; i < inputs.length ; i++) {
+			if (inputs[i] != null) {
+				names[bound] = names[i];
+				inputs[bound++] = inputs[i];
+			}
+		}
+		this.applianceIntensities = new Value[bound];
+		System.arraycopy(inputs, 0, this.applianceIntensities, 0, bound);
+		this.lastApplianceIntensities = new double[bound];
+		String[] boundNames = new String[bound];
+		System.arraycopy(names, 0, boundNames, 0, bound);
+		// the owner component reads the names with the energies
+		synchronized (this.applianceEnergiesLock) {
+			this.applianceNames = boundNames;
+			this.applianceEnergies = new double[bound];
+		}
+	}
+
+	/**
+	 * return a copy of the energy consumed by each appliance since the start
+	 * of the run, a method that is meant to be called by the owner
+	 * component when the breakdown is queried.
 	 * 
 	 * <p><strong>Contract</strong></p>
 	 * 
 	 * <pre>
 	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return	the energy consumed by each appliance.
+	 */
+	public EnergyBreakdown	materialiseApplianceEnergies()
+	{
+		synchronized (this.applianceEnergiesLock) {
+			if (this.applianceEnergies == null) {
+				return EnergyBreakdown.EMPTY;
+			}
+			return new EnergyBreakdown(this.applianceNames,
+									   this.applianceEnergies);
+		}
+	}
+
+	/**
+	 * return true if all the appliance intensities are initialised.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code applianceIntensities != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 *
+	 * @return	true if all the appliance intensities are initialised.
+	 */
+	protected boolean	applianceIntensitiesInitialised()
+	{
+		for (int i = 0 ; i < this.applianceIntensities.length ; i++) {
+			if (!this.applianceIntensities[i].isInitialised()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * compute the current total intensity, recording the appliance
+	 * intensities that it sums.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code applianceIntensitiesInitialised()}
 	 * post	{@code true}	// no postcondition.
 	 * </pre>
 	 *
@@ -484,13 +678,13 @@ extends		AtomicHIOA
 	 */
 	protected double	computeTotalIntensity()
 	{
-		// simple sum of all incoming intensities
-		return this.currentHairDryerIntensity.getValue()
-					+ this.currentHeaterIntensity.getValue()
-					//+ this.batteriesInputPower.getValue()
-					+ this.currentDimmerLampIntensity.getValue()
-					+ this.currentHeatPumpIntensity.getValue()
-					;
+		double total = 0.0;
+		for (int i = 0 ; i < this.applianceIntensities.length ; i++) {
+			double v = this.applianceIntensities[i].getValue();
+			this.lastApplianceIntensities[i] = v;
+			total += v;
+		}
+		return total;
 	}
 
 	/**
@@ -533,6 +727,7 @@ extends		AtomicHIOA
 	{
 		this.generatorToBeNotified = false;
 		this.batteriesToBeNotified = false;
+		this.gatherApplianceIntensities();
 		
 		super.initialiseState(initialTime);
 	}
@@ -572,10 +767,7 @@ extends		AtomicHIOA
 
 		if (!this.currentIntensity.isInitialised()
 				&& this.batteriesInputPower.isInitialised()
-				&& this.currentHairDryerIntensity.isInitialised()
-				&& this.currentHeaterIntensity.isInitialised()
-				&& this.currentHeatPumpIntensity.isInitialised()
-				&& this.currentDimmerLampIntensity.isInitialised()) {
+				&& this.applianceIntensitiesInitialised()) {
 			double i = this.computeTotalIntensity();
 			this.currentIntensity.initialise(i);
 			this.cumulativeConsumption.initialise(0.0);
@@ -805,7 +997,9 @@ extends		AtomicHIOA
 										this.largestPowerDebt.getValue(),
 										this.largestPowerDebt.getTime(),
 										this.largestPowerMargin.getValue(),
-										this.largestPowerMargin.getTime());
+										this.largestPowerMargin.getTime(),
+										this.applianceNames,
+										this.applianceEnergies);
 
 		if (VERBOSE) {
 			this.logMessage("simulation ends.");
@@ -837,6 +1031,7 @@ extends		AtomicHIOA
 			this.ownerComponent = 
 				(ElectricMeterCyPhy) simParams.get(
 						AtomicSimulatorPlugin.OWNER_RUNTIME_PARAMETER_NAME);
+			this.ownerComponent.setApplianceEnergiesModel(this);
 			this.getSimulationEngine().setLogger(
 						AtomicSimulatorPlugin.createComponentLogger(simParams));
 		}
@@ -872,6 +1067,8 @@ extends		AtomicHIOA
 		protected Time		largestPowerDebtTime;
 		protected double	largestPowerMargin; // in amperes
 		protected Time 		largestPowerMarginTime;
+		protected String[]	applianceNames;
+		protected double[]	applianceConsumptions; // in kwh
 
 		public			ElectricMeterElectricityReport(
 			String modelURI,
@@ -879,7 +1076,9 @@ extends		AtomicHIOA
 			double largestPowerDebt,
 			Time largestPowerDebtTime,
 			double largestPowerMargin,
-			Time largestPowerMarginTime
+			Time largestPowerMarginTime,
+			String[] applianceNames,
+			double[] applianceConsumptions
 			)
 		{
 			super();
@@ -889,6 +1088,8 @@ extends		AtomicHIOA
 			this.largestPowerDebtTime = largestPowerDebtTime;
 			this.largestPowerMargin = largestPowerMargin;
 			this.largestPowerMarginTime = largestPowerMarginTime;
+			this.applianceNames = applianceNames.clone();
+			this.applianceConsumptions = applianceConsumptions.clone();
 		}
 
 		@Override
@@ -929,6 +1130,15 @@ extends		AtomicHIOA
 			ret.append(" at ");
 			ret.append(this.largestPowerMarginTime);
 			ret.append(".\n");
+			for (int i = 0 ; i < this.applianceNames.length ; i++) {
+				ret.append(indent);
+				ret.append('|');
+				ret.append("consumption of ");
+				ret.append(this.applianceNames[i]);
+				ret.append(" in kwh = ");
+				ret.append(this.applianceConsumptions[i]);
+				ret.append(".\n");
+			}
 			ret.append(indent);
 			ret.append("---\n");
 			return ret.toString();
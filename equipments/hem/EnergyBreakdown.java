@@ -0,0 +1,138 @@
+package equipments.hem;
+
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * The class <code>equipments.hem.EnergyBreakdown</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Immutable breakdown of the energy consumed since the start of the run by
+ *  each appliance summed by the electric meter, returned in one call by
+ *  {@code MeterHistoryCI}. The energies are measured by the meter, so the
+ *  HEM can rank the appliances by what they actually consumed rather than
+ *  by the nominal consumption of their modes.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code getSize() >= 0}
+ * invariant	{@code forall i in [0, getSize()), getEnergy(i) >= 0.0}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public final class EnergyBreakdown
+implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** breakdown without any appliance */
+    public static final EnergyBreakdown EMPTY = new EnergyBreakdown(new String[0], new double[0]);
+
+    protected final String[] appliances;
+    protected final double[] energies;
+
+    /**
+     *
+     * Creates a breakdown from copies of the given arrays
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code appliances != null && energies != null}
+     *  pre {@code appliances.length == energies.length}
+     *  post {@code getSize() == appliances.length}
+     * </pre>
+     * @param appliances names of the appliances
+     * @param energies energies consumed by the appliances, in kwh
+     */
+    public EnergyBreakdown(String[] appliances, double[] energies) {
+        assert appliances != null && energies != null :
+                new PreconditionException("appliances == null || energies == null");
+        assert appliances.length == energies.length :
+                new PreconditionException("appliances.length != energies.length");
+
+        this.appliances = appliances.clone();
+        this.energies = energies.clone();
+    }
+
+    public int getSize() {
+        return this.appliances.length;
+    }
+
+    public String getAppliance(int index) {
+        return this.appliances[index];
+    }
+
+    /**
+     * @param index index of the appliance
+     * @return the energy consumed by the appliance in kwh
+     */
+    public double getEnergy(int index) {
+        return this.energies[index];
+    }
+
+    /**
+     * @param appliance name of the appliance
+     * @return the energy consumed by the appliance in kwh, NaN if the meter does not sum it
+     */
+    public double getEnergy(String appliance) {
+        for (int i = 0; i < this.appliances.length; ++i) {
+            if (this.appliances[i].equals(appliance)) {
+                return this.energies[i];
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * @return the total energy consumed by the appliances in kwh
+     */
+    public double getTotal() {
+        double total = 0.0;
+        for (double energy : this.energies) {
+            total += energy;
+        }
+        return total;
+    }
+
+    /**
+     * @return the names of the appliances, from the one which consumed the most to the one which consumed the least
+     */
+    public String[] getAppliancesByEnergy() {
+        return Arrays.stream(this.indexes())
+                .sorted(Comparator.comparingDouble((Integer i) -> this.energies[i]).reversed())
+                .map(i -> this.appliances[i])
+                .toArray(String[]::new);
+    }
+
+    private Integer[] indexes() {
+        Integer[] result = new Integer[this.appliances.length];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = i;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("EnergyBreakdown[");
+        for (int i = 0; i < this.appliances.length; ++i) {
+            if (i > 0) {
+                result.append(", ");
+            }
+            result.append(this.appliances[i]).append('=').append(this.energies[i]);
+        }
+        return result.append(']').toString();
+    }
+}
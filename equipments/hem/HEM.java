@@ -48,7 +48,6 @@ import fr.sorbonne_u.components.exceptions.BCMRuntimeException;
 import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.exceptions.ComponentStartException;
 import fr.sorbonne_u.components.hem2025.bases.AdjustableCI;
-import fr.sorbonne_u.components.hem2025.bases.RegistrationCI;
 import fr.sorbonne_u.components.utils.tests.TestsStatistics;
 import fr.sorbonne_u.components.hem2025e1.equipments.batteries.Batteries;
 import fr.sorbonne_u.components.hem2025e1.equipments.batteries.BatteriesCI;
@@ -78,6 +77,7 @@ import fr.sorbonne_u.utils.aclocks.*;
 
 import java.time.Instant;
 import java.util.Hashtable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 // -----------------------------------------------------------------------------
@@ -118,7 +118,7 @@ import java.util.concurrent.TimeUnit;
 		BatteriesCI.class,
 		SolarPanelCI.class,
 		GeneratorCI.class})
-@OfferedInterfaces(offered = {RegistrationCI.class})
+@OfferedInterfaces(offered = {HEMRegistrationCI.class})
 public class			HEM
 		extends		AbstractComponent
 	implements RegistrationI
@@ -455,13 +455,14 @@ public class			HEM
 		boolean res;
 
 		try {
-			ConnectorConfigurationParser.ClassFromXml(uid, AdjustableCI.class, xmlControlAdapter);
+			String connectorClassName =
+					ConnectorConfigurationParser.ClassFromXml(AdjustableCI.class, xmlControlAdapter);
 			AdjustableOutboundPort newOutboundPort = new AdjustableOutboundPort(this);
 			newOutboundPort.publishPort();
 			this.doPortConnection(
 					newOutboundPort.getPortURI(),
 					controlPortURI,
-					uid
+					connectorClassName
 			);
 			this.registrationTable.put(uid, newOutboundPort);
 			
@@ -494,6 +495,53 @@ public class			HEM
 				new PostconditionException("registered(uid)");
 	}
 
+	public void invalidateModeConsumptions(String uid) throws Exception {
+		// this manager keeps nothing about the devices, nothing to invalidate
+		assert uid != null && !uid.isEmpty():
+				new PreconditionException("uid == null || uid.isEmpty()");
+	}
+
+	public CompletableFuture<Boolean> submitRegistration(
+			String uid,
+			String controlPortURI,
+			String xmlControlAdapter
+	) throws Exception {
+		// this manager registers the devices synchronously
+		if (this.registered(uid)) {
+			return CompletableFuture.completedFuture(false);
+		}
+		return CompletableFuture.completedFuture(this.register(uid, controlPortURI, xmlControlAdapter));
+	}
+
+	public CompletableFuture<boolean[]> submitRegistrations(DeviceRegistration[] registrations) throws Exception {
+		assert registrations != null :
+				new PreconditionException("registrations == null");
+
+		// this manager registers the devices one by one
+		final boolean[] res = new boolean[registrations.length];
+		for (int i = 0; i < registrations.length; ++i) {
+			res[i] = this.submitRegistration(
+					registrations[i].getUid(),
+					registrations[i].getControlPortURI(),
+					registrations[i].getXmlControlAdapter()).get();
+		}
+		return CompletableFuture.completedFuture(res);
+	}
+
+	public boolean[] unregisterAll(String[] uids) throws Exception {
+		assert uids != null :
+				new PreconditionException("uids == null");
+
+		final boolean[] res = new boolean[uids.length];
+		for (int i = 0; i < uids.length; ++i) {
+			if (this.registered(uids[i])) {
+				this.unregister(uids[i]);
+				res[i] = true;
+			}
+		}
+		return res;
+	}
+
 	// -------------------------------------------------------------------------
 	// Internal methods
 	// -------------------------------------------------------------------------
@@ -0,0 +1,468 @@
+package equipments.hem;
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.cvm.AbstractCVM;
+import fr.sorbonne_u.components.hem2025e1.equipments.batteries.connections.BatteriesOutboundPort;
+import fr.sorbonne_u.components.hem2025e1.equipments.generator.GeneratorImplementationI;
+import fr.sorbonne_u.components.hem2025e1.equipments.generator.connections.GeneratorOutboundPort;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The class <code>equipments.hem.HEMControlBenchmark</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Headless benchmark of the energy management algorithms of
+ *  {@code HEMCyPhy}: its control cycle, {@code controlCycle}, is driven with 10, 100, 1,000 and
+ *  10,000 simulated adjustable devices and a synthetic meter, and each size
+ *  is reported in cycles per second and in bytes allocated per cycle, so that
+ *  the changes to the control path can be quantified.
+ * </p>
+ *
+ * <p>
+ *  The devices are in-memory implementations of {@code AdjustableStatusCI}
+ *  called directly by the device controls of the HEM, and the meter is a
+ *  seeded random walk around a sinusoid read in place of the electric meter,
+ *  so that the cycles alternately run {@code resumeUrgentDevices},
+ *  {@code increaseDevicesConsumption}, {@code decreaseDevicesConsumption},
+ *  {@code freeEnergy} and {@code suspendDevices}. The batteries and the
+ *  generator are stub ports which follow the commands of the HEM. The calls
+ *  are sequential and the instrumentation is off, so the benchmark measures
+ *  the algorithms alone on the main thread.
+ * </p>
+ *
+ * <p>
+ *  The components need a CVM to be created, so the benchmark is one, but it
+ *  is never deployed nor started: the HEM is created directly and its
+ *  methods are called from the main thread.
+ * </p>
+ *
+ * <p>
+ *  Usage: {@code HEMControlBenchmark [warmupSeconds [measureSeconds [size ...]]]}
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code true}	// no more invariant
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class HEMControlBenchmark
+extends AbstractCVM {
+
+    protected static final int[] DEFAULT_SIZES = {10, 100, 1_000, 10_000};
+    protected static final double DEFAULT_WARMUP_SECONDS = 2.0;
+    protected static final double DEFAULT_MEASURE_SECONDS = 5.0;
+    protected static final long SEED = 42L;
+
+    /**
+     * In-memory adjustable device; a suspended device becomes more urgent at
+     * each cycle, a running one is less urgent.
+     */
+    protected static class SimulatedDevice
+    implements AdjustableStatusCI {
+
+        protected final double[] consumptions;
+        protected int mode;
+        protected boolean suspended;
+        protected double emergency;
+
+        public SimulatedDevice(Random random) {
+            final int maxMode = 1 + random.nextInt(5);
+            this.consumptions = new double[maxMode];
+            final double base = 100.0 + random.nextDouble() * 900.0;
+            for (int i = 0; i < maxMode; ++i) {
+                this.consumptions[i] = base * (i + 1);
+            }
+            this.mode = 1 + random.nextInt(maxMode);
+            this.suspended = false;
+            this.emergency = 0.0;
+        }
+
+        /**
+         * Simulates the evolution of the device between two cycles.
+         *
+         * @param random source of the evolution
+         */
+        public void evolve(Random random) {
+            if (this.suspended) {
+                this.emergency = Math.min(1.0, this.emergency + random.nextDouble() * 0.1);
+            } else {
+                this.emergency = 0.0;
+            }
+        }
+
+        @Override
+        public int maxMode() {
+            return this.consumptions.length;
+        }
+
+        @Override
+        public boolean upMode() {
+            return this.setMode(this.mode + 1);
+        }
+
+        @Override
+        public boolean downMode() {
+            return this.setMode(this.mode - 1);
+        }
+
+        @Override
+        public boolean setMode(int modeIndex) {
+            if (modeIndex < 1 || modeIndex > this.consumptions.length) {
+                return false;
+            }
+            this.mode = modeIndex;
+            return true;
+        }
+
+        @Override
+        public int currentMode() {
+            return this.mode;
+        }
+
+        @Override
+        public double getModeConsumption(int modeIndex) {
+            return this.consumptions[modeIndex - 1];
+        }
+
+        @Override
+        public boolean suspended() {
+            return this.suspended;
+        }
+
+        @Override
+        public boolean suspend() {
+            this.suspended = true;
+            return true;
+        }
+
+        @Override
+        public boolean resume() {
+            this.suspended = false;
+            return true;
+        }
+
+        @Override
+        public double emergency() {
+            return this.emergency;
+        }
+
+        @Override
+        public AdjustableStatus status() {
+            return this.modeStatus().withModeConsumptions(this.modeConsumptions());
+        }
+
+        @Override
+        public AdjustableStatus modeStatus() {
+            return new AdjustableStatus(
+                    this.suspended ? 0 : this.mode,
+                    this.consumptions.length,
+                    this.suspended,
+                    this.emergency,
+                    null);
+        }
+
+        @Override
+        public double[] modeConsumptions() {
+            return this.consumptions.clone();
+        }
+    }
+
+    /**
+     * Batteries charging as soon as asked to.
+     */
+    protected static class StubBatteries
+    extends BatteriesOutboundPort {
+
+        protected boolean charging;
+
+        public StubBatteries(ComponentI owner) throws Exception {
+            super(owner);
+        }
+
+        @Override
+        public boolean areCharging() throws Exception {
+            return this.charging;
+        }
+
+        @Override
+        public void startCharging() throws Exception {
+            this.charging = true;
+        }
+
+        @Override
+        public void stopCharging() throws Exception {
+            this.charging = false;
+        }
+    }
+
+    /**
+     * Generator starting and stopping as soon as asked to.
+     */
+    protected static class StubGenerator
+    extends GeneratorOutboundPort {
+
+        /** the HEM only distinguishes the idle generator from the others.   */
+        protected static final GeneratorImplementationI.State RUNNING =
+                Arrays.stream(GeneratorImplementationI.State.values())
+                        .filter(state -> state != GeneratorImplementationI.State.IDLE)
+                        .findFirst()
+                        .orElse(GeneratorImplementationI.State.IDLE);
+
+        protected boolean running;
+
+        public StubGenerator(ComponentI owner) throws Exception {
+            super(owner);
+        }
+
+        @Override
+        public GeneratorImplementationI.State getState() throws Exception {
+            return this.running ? RUNNING : GeneratorImplementationI.State.IDLE;
+        }
+
+        @Override
+        public void startGenerator() throws Exception {
+            this.running = true;
+        }
+
+        @Override
+        public void stopGenerator() throws Exception {
+            this.running = false;
+        }
+    }
+
+    /**
+     * HEM driven by the benchmark, its control cycle takes the energy balance
+     * from the synthetic meter instead of the electric meter and commands the
+     * stub batteries and generator.
+     */
+    protected static class BenchmarkHEM
+    extends HEMCyPhy {
+
+        /** meter read by the control cycles.                              */
+        protected SyntheticMeter meter;
+
+        protected BenchmarkHEM() throws Exception {
+            super(false, HEMCyPhy.STANDARD_CONTROL_PERIOD, 1.0);
+            // the HEM is never started, so its ports are the stubs
+            this.batteriesop = new StubBatteries(this);
+            this.generatorop = new StubGenerator(this);
+        }
+
+        /**
+         *
+         * Replaces the registered devices by the given ones
+         *
+         * <p><strong>Contract</strong></p>
+         *
+         * <pre>
+         *  pre {@code devices != null}
+         *  post {@code registrationTable.view().size() == devices.length}
+         * </pre>
+         * @param devices the simulated devices
+         */
+        public void setDevices(SimulatedDevice[] devices) {
+            assert devices != null :
+                    new PreconditionException("devices == null");
+
+            this.registrationTable.clear();
+            final long period = this.time_unit.toNanos(this.controlPeriod);
+            for (int i = 0; i < devices.length; ++i) {
+                final String uid = String.format("device-%05d", i);
+                this.registrationTable.register(
+                        uid,
+                        new DeviceControl(
+                                uid,
+                                devices[i],
+                                null,
+                                new DeviceCircuitBreaker(
+                                        DEVICE_FAILURE_THRESHOLD,
+                                        period * DEVICE_BACKOFF_CYCLES,
+                                        period * DEVICE_MAX_BACKOFF_CYCLES),
+                                null,
+                                (long) (period * DEVICE_CALL_TIMEOUT_RATIO),
+                                null));
+            }
+        }
+
+        /**
+         *
+         * Sets the meter read by the control cycles
+         *
+         * <p><strong>Contract</strong></p>
+         *
+         * <pre>
+         *  pre {@code meter != null}
+         *  post {@code true} // no postcondition
+         * </pre>
+         * @param meter the synthetic meter
+         */
+        public void setMeter(SyntheticMeter meter) {
+            assert meter != null :
+                    new PreconditionException("meter == null");
+
+            this.meter = meter;
+        }
+
+        @Override
+        protected double readPowerEvolution() {
+            return this.meter.nextBalance();
+        }
+
+        @Override
+        protected double readGeneratorProduction() {
+            return this.meter.generatorProduction();
+        }
+    }
+
+    /**
+     * Meter producing a balance oscillating around 0 with some noise,
+     * proportional to the number of devices.
+     */
+    protected static class SyntheticMeter {
+
+        protected final Random random;
+        protected final double amplitude;
+        protected long step;
+
+        public SyntheticMeter(Random random, int size) {
+            this.random = random;
+            this.amplitude = 500.0 * size;
+            this.step = 0L;
+        }
+
+        public double nextBalance() {
+            ++this.step;
+            return this.amplitude * Math.sin(this.step / 10.0) +
+                    this.random.nextGaussian() * this.amplitude * 0.1;
+        }
+
+        public double generatorProduction() {
+            return this.amplitude * 0.2;
+        }
+    }
+
+    public HEMControlBenchmark() throws Exception {
+        super();
+    }
+
+    /**
+     * @return the number of bytes allocated by the current thread, -1 if unsupported
+     */
+    protected static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1L;
+    }
+
+    /**
+     *
+     * Runs the cycles of one size for {@code seconds} and returns the number
+     * of cycles and the bytes allocated
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code seconds > 0.0}
+     *  post {@code return.length == 3}
+     * </pre>
+     * @param hem the HEM with its devices
+     * @param devices the simulated devices
+     * @param random source of the evolution of the devices
+     * @param seconds duration of the run
+     * @return the number of cycles, the elapsed nanoseconds and the allocated bytes
+     * @throws Exception if a cycle fails
+     */
+    protected static long[] run(
+            BenchmarkHEM hem,
+            SimulatedDevice[] devices,
+            Random random,
+            double seconds
+    ) throws Exception {
+        assert seconds > 0.0 :
+                new PreconditionException("seconds <= 0.0");
+
+        final long duration = (long) (seconds * 1e9);
+        final long allocatedBefore = allocatedBytes();
+        final long started = System.nanoTime();
+        long cycles = 0L;
+        long elapsed;
+        do {
+            for (SimulatedDevice device : devices) {
+                device.evolve(random);
+            }
+            hem.controlCycle();
+            ++cycles;
+            elapsed = System.nanoTime() - started;
+        } while (elapsed < duration);
+        final long allocatedAfter = allocatedBytes();
+
+        return new long[]{
+                cycles,
+                elapsed,
+                allocatedBefore < 0 ? -1L : allocatedAfter - allocatedBefore
+        };
+    }
+
+    public static void main(String[] args) {
+        try {
+            final double warmup = args.length > 0 ? Double.parseDouble(args[0]) : DEFAULT_WARMUP_SECONDS;
+            final double measure = args.length > 1 ? Double.parseDouble(args[1]) : DEFAULT_MEASURE_SECONDS;
+            int[] sizes = DEFAULT_SIZES;
+            if (args.length > 2) {
+                sizes = new int[args.length - 2];
+                for (int i = 2; i < args.length; ++i) {
+                    sizes[i - 2] = Integer.parseInt(args[i]);
+                }
+            }
+
+            HEMCyPhy.VERBOSE = false;
+            HEMCyPhy.INSTRUMENTATION = false;
+            HEMCyPhy.PARALLEL_DEVICE_CALLS = false;
+
+            new HEMControlBenchmark();
+            final BenchmarkHEM hem = new BenchmarkHEM();
+
+            System.out.println("devices      cycles/s      us/cycle   bytes/cycle      MB/s alloc");
+            for (int size : sizes) {
+                final Random random = new Random(SEED);
+                final SimulatedDevice[] devices = new SimulatedDevice[size];
+                for (int i = 0; i < size; ++i) {
+                    devices[i] = new SimulatedDevice(random);
+                }
+                hem.setDevices(devices);
+                hem.setMeter(new SyntheticMeter(random, size));
+
+                run(hem, devices, random, warmup);
+                final long[] result = run(hem, devices, random, measure);
+
+                final double seconds = result[1] / 1e9;
+                final double throughput = result[0] / seconds;
+                System.out.println(String.format(
+                        "%7d %13.1f %13.1f %13d %13.1f",
+                        size,
+                        throughput,
+                        1e6 / throughput,
+                        result[2] < 0 ? -1L : result[2] / result[0],
+                        result[2] < 0 ? -1.0 : result[2] / seconds / (1024.0 * 1024.0)));
+            }
+            System.exit(0);
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
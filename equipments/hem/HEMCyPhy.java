@@ -33,8 +33,11 @@ package equipments.hem;
 // knowledge of the CeCILL-C license and that you accept its terms.
 
 import connectorGenerator.ConnectorConfigurationParser;
+import connectorGenerator.ConnectorStatistics;
 import equipments.dimmerlamp.DimmerLamp;
 import equipments.dimmerlamp.test.DimmerLampTester;
+import equipments.utils.FixedRateLoop;
+import equipments.utils.LatencyHistogram;
 import fr.sorbonne_u.alasca.physical_data.Measure;
 import fr.sorbonne_u.alasca.physical_data.MeasureI;
 import fr.sorbonne_u.alasca.physical_data.MeasurementUnit;
@@ -48,7 +51,6 @@ import fr.sorbonne_u.components.exceptions.BCMRuntimeException;
 import fr.sorbonne_u.components.exceptions.ComponentShutdownException;
 import fr.sorbonne_u.components.exceptions.ComponentStartException;
 import fr.sorbonne_u.components.hem2025.bases.AdjustableCI;
-import fr.sorbonne_u.components.hem2025.bases.RegistrationCI;
 import fr.sorbonne_u.components.hem2025e1.equipments.batteries.Batteries;
 import fr.sorbonne_u.components.hem2025e1.equipments.batteries.BatteriesCI;
 import fr.sorbonne_u.components.hem2025e1.equipments.batteries.BatteriesUnitTester;
@@ -76,13 +78,35 @@ import fr.sorbonne_u.components.utils.tests.TestsStatistics;
 import fr.sorbonne_u.exceptions.*;
 import fr.sorbonne_u.utils.aclocks.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.Hashtable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
 
 // -----------------------------------------------------------------------------
 
@@ -122,11 +146,12 @@ import java.util.function.Predicate;
 		ElectricMeterCI.class,
 		BatteriesCI.class,
 		SolarPanelCI.class,
-		GeneratorCI.class})
-@OfferedInterfaces(offered = {RegistrationCI.class})
+		GeneratorCI.class,
+		MeterSubscriptionCI.class})
+@OfferedInterfaces(offered = {HEMRegistrationCI.class, MeterNotificationCI.class})
 public class HEMCyPhy
 extends AbstractComponent
-		implements RegistrationI
+		implements RegistrationI, MeterNotificationI
 
 {
 	// -------------------------------------------------------------------------
@@ -145,9 +170,28 @@ extends AbstractComponent
 	 *  component.															*/
 	public static final String REFLECTION_INBOUND_PORT_URI =
 			"hem-RIP-URI";
+	/** URI of the inbound port receiving the notifications of the meter.	*/
+	public static final String METER_NOTIFICATION_INBOUND_PORT_URI =
+			"hem-METER-NOTIFICATION-URI";
+
+	/** when true, a control cycle is triggered by the notifications of the
+	 *  electric meter and the periodic loop becomes a slow heartbeat.		*/
+	public static boolean EVENT_DRIVEN_CONTROL = false;
+	/** smallest change of consumption or production notified by the meter,
+	 *  in the power unit of the meter.									*/
+	protected static double METER_NOTIFICATION_DELTA = 1.0;
+	/** number of control periods between two heartbeat cycles when the
+	 *  control is event driven.											*/
+	protected static int HEARTBEAT_PERIODS = 5;
 
 	/** port to connect to the electric meter.								*/
 	protected ElectricMeterOutboundPort meterop;
+	/** port to subscribe to the changes of the electric meter.			*/
+	protected MeterSubscriptionOutboundPort meterSubscriptionop;
+	/** port receiving the notifications of the electric meter.			*/
+	protected MeterNotificationInboundPort meterNotificationip;
+	/** true while the HEM is subscribed to the electric meter.			*/
+	protected boolean meterSubscribed;
 
 	/** port to connect to the batteries.									*/
 	protected BatteriesOutboundPort batteriesop;
@@ -168,6 +212,47 @@ extends AbstractComponent
 	protected static int NUMBER_OF_STANDARD_THREADS = 2;
 	/** one thread to schedule this component test actions.					*/
 	protected static int NUMBER_OF_SCHEDULABLE_THREADS = 3;
+	/** when true, the devices are queried and commanded concurrently.		*/
+	public static boolean PARALLEL_DEVICE_CALLS = false;
+	/** number of threads used to call the devices concurrently.			*/
+	protected static int NUMBER_OF_DEVICE_THREADS = 16;
+	/** when true and the devices are called concurrently, the commands
+	 *  changing the modes of the devices in a cycle are all sent before
+	 *  their answers are awaited.											*/
+	public static boolean PIPELINED_DEVICE_COMMANDS = false;
+	/** number of threads generating the connectors of the registering
+	 *  devices.															*/
+	protected static int NUMBER_OF_REGISTRATION_THREADS = 4;
+	/** number of threads connecting and activating the registering
+	 *  devices.															*/
+	protected static int NUMBER_OF_CONNECTION_THREADS = 4;
+	/** fraction of the control period given to the calls to the devices
+	 *  in one cycle, a device which has not answered by then is left out
+	 *  of the cycle.														*/
+	protected static double DEVICE_CALLS_DEADLINE_RATIO = 0.5;
+	/** fraction of the control period after which a single call to a device
+	 *  is abandoned and counted as a failure.								*/
+	protected static double DEVICE_CALL_TIMEOUT_RATIO = 0.25;
+	/** number of consecutive failures after which a device is skipped.		*/
+	protected static int DEVICE_FAILURE_THRESHOLD = 3;
+	/** number of control periods a failing device is first skipped, the
+	 *  period doubles each time the device fails again, up to
+	 *  {@code DEVICE_MAX_BACKOFF_CYCLES}.									*/
+	protected static int DEVICE_BACKOFF_CYCLES = 2;
+	/** maximum number of control periods a failing device is skipped.		*/
+	protected static int DEVICE_MAX_BACKOFF_CYCLES = 32;
+	/** when true, the latencies of the phases of the control cycles and of
+	 *  the calls to the devices are recorded.								*/
+	public static boolean INSTRUMENTATION = false;
+	/** number of control cycles between two exports of the latencies, 0 to
+	 *  export them only on demand and at finalisation.						*/
+	protected static int LATENCY_EXPORT_CYCLES = 100;
+	/** file to which the exported latencies are appended.					*/
+	public static String LATENCY_LOG_FILE = "hem-latencies.log";
+	/** file journaling the registrations of the devices, from which a
+	 *  restarted HEM reconnects to the devices without waiting for them to
+	 *  register again; null to keep no journal.							*/
+	public static String REGISTRATION_JOURNAL_FILE = null;
 
 	protected ExecutionMode executionMode;
 	protected TestScenario testScenario;
@@ -202,6 +287,54 @@ extends AbstractComponent
 				NUMBER_OF_SCHEDULABLE_THREADS >= 0,
 				HEMCyPhy.class,
 				"NUMBER_OF_SCHEDULABLE_THREADS");
+		ret &= AssertionChecking.checkStaticImplementationInvariant(
+				NUMBER_OF_DEVICE_THREADS > 0,
+				HEMCyPhy.class,
+				"NUMBER_OF_DEVICE_THREADS > 0");
+		ret &= AssertionChecking.checkStaticImplementationInvariant(
+				NUMBER_OF_REGISTRATION_THREADS > 0,
+				HEMCyPhy.class,
+				"NUMBER_OF_REGISTRATION_THREADS > 0");
+		ret &= AssertionChecking.checkStaticImplementationInvariant(
+				NUMBER_OF_CONNECTION_THREADS > 0,
+				HEMCyPhy.class,
+				"NUMBER_OF_CONNECTION_THREADS > 0");
+		ret &= AssertionChecking.checkStaticImplementationInvariant(
+				DEVICE_CALLS_DEADLINE_RATIO > 0.0 && DEVICE_CALLS_DEADLINE_RATIO <= 1.0,
+				HEMCyPhy.class,
+				"DEVICE_CALLS_DEADLINE_RATIO > 0.0 && DEVICE_CALLS_DEADLINE_RATIO <= 1.0");
+		ret &= AssertionChecking.checkStaticImplementationInvariant(
+				DEVICE_CALL_TIMEOUT_RATIO > 0.0 && DEVICE_CALL_TIMEOUT_RATIO <= 1.0,
+				HEMCyPhy.class,
+				"DEVICE_CALL_TIMEOUT_RATIO > 0.0 && DEVICE_CALL_TIMEOUT_RATIO <= 1.0");
+		ret &= AssertionChecking.checkStaticImplementationInvariant(
+				METER_NOTIFICATION_DELTA > 0.0,
+				HEMCyPhy.class,
+				"METER_NOTIFICATION_DELTA > 0.0");
+		ret &= AssertionChecking.checkStaticImplementationInvariant(
+				HEARTBEAT_PERIODS > 0,
+				HEMCyPhy.class,
+				"HEARTBEAT_PERIODS > 0");
+		ret &= AssertionChecking.checkStaticImplementationInvariant(
+				DEVICE_FAILURE_THRESHOLD > 0,
+				HEMCyPhy.class,
+				"DEVICE_FAILURE_THRESHOLD > 0");
+		ret &= AssertionChecking.checkStaticImplementationInvariant(
+				DEVICE_BACKOFF_CYCLES > 0 && DEVICE_MAX_BACKOFF_CYCLES >= DEVICE_BACKOFF_CYCLES,
+				HEMCyPhy.class,
+				"DEVICE_BACKOFF_CYCLES > 0 && DEVICE_MAX_BACKOFF_CYCLES >= DEVICE_BACKOFF_CYCLES");
+		ret &= AssertionChecking.checkStaticImplementationInvariant(
+				LATENCY_EXPORT_CYCLES >= 0,
+				HEMCyPhy.class,
+				"LATENCY_EXPORT_CYCLES >= 0");
+		ret &= AssertionChecking.checkStaticImplementationInvariant(
+				LATENCY_LOG_FILE != null && !LATENCY_LOG_FILE.isEmpty(),
+				HEMCyPhy.class,
+				"LATENCY_LOG_FILE != null && !LATENCY_LOG_FILE.isEmpty()");
+		ret &= AssertionChecking.checkStaticImplementationInvariant(
+				REGISTRATION_JOURNAL_FILE == null || !REGISTRATION_JOURNAL_FILE.isEmpty(),
+				HEMCyPhy.class,
+				"REGISTRATION_JOURNAL_FILE == null || !REGISTRATION_JOURNAL_FILE.isEmpty()");
 		return ret;
 	}
 
@@ -307,9 +440,11 @@ extends AbstractComponent
 		this.executionMode = ExecutionMode.STANDARD;
 		this.testScenario = null;
 
-		this.registrationTable = new Hashtable<>();
+		this.registrationTable = new DeviceRegistry<>();
 		this.registrationInboundPort = new RegistrationInboundPort(RegistrationHEMURI, this);
 		this.registrationInboundPort.publishPort();
+		this.meterNotificationip = new MeterNotificationInboundPort(METER_NOTIFICATION_INBOUND_PORT_URI, this);
+		this.meterNotificationip.publishPort();
 
 		this.controlPeriod = (long) ((controlPeriod * TimeUnit.SECONDS.toNanos(1)) / accelerationFactor);
 		this.time_unit = TimeUnit.NANOSECONDS;
@@ -371,9 +506,11 @@ extends AbstractComponent
 		// and manage the heater in a customised way.
 		this.isPreFirstStep = true;
 
-		this.registrationTable = new Hashtable<>();
+		this.registrationTable = new DeviceRegistry<>();
 		this.registrationInboundPort = new RegistrationInboundPort(RegistrationHEMURI, this);
 		this.registrationInboundPort.publishPort();
+		this.meterNotificationip = new MeterNotificationInboundPort(METER_NOTIFICATION_INBOUND_PORT_URI, this);
+		this.meterNotificationip.publishPort();
 
 		this.controlPeriod = (long) ((controlPeriod * TimeUnit.SECONDS.toNanos(1)) / accelerationFactor);
 		this.time_unit = TimeUnit.NANOSECONDS;
@@ -403,6 +540,42 @@ extends AbstractComponent
 	public synchronized void start() throws ComponentStartException {
 		super.start();
 
+		this.devicesExecutor =
+				Executors.newFixedThreadPool(
+						NUMBER_OF_DEVICE_THREADS,
+						r -> {
+							Thread t = new Thread(r, "hem-device-calls");
+							t.setDaemon(true);
+							return t;
+						});
+		// the blocking calls run apart from the concurrent calls, so that
+		// the threads stuck in the calls to hung devices do not starve them
+		this.deviceCallsExecutor =
+				Executors.newCachedThreadPool(
+						r -> {
+							Thread t = new Thread(r, "hem-device-blocking-calls");
+							t.setDaemon(true);
+							return t;
+						});
+		this.registrationExecutor =
+				Executors.newFixedThreadPool(
+						NUMBER_OF_REGISTRATION_THREADS,
+						r -> {
+							Thread t = new Thread(r, "hem-registration");
+							t.setDaemon(true);
+							return t;
+						});
+		// the connections wait for the devices, so that they run apart from
+		// the generation of the connectors
+		this.connectionExecutor =
+				Executors.newFixedThreadPool(
+						NUMBER_OF_CONNECTION_THREADS,
+						r -> {
+							Thread t = new Thread(r, "hem-connection");
+							t.setDaemon(true);
+							return t;
+						});
+
 		try {
 			this.meterop = new ElectricMeterOutboundPort(this);
 			this.meterop.publishPort();
@@ -410,6 +583,12 @@ extends AbstractComponent
 					this.meterop.getPortURI(),
 					ElectricMeterCyPhy.ELECTRIC_METER_INBOUND_PORT_URI,
 					ElectricMeterConnector.class.getCanonicalName());
+			this.meterSubscriptionop = new MeterSubscriptionOutboundPort(this);
+			this.meterSubscriptionop.publishPort();
+			this.doPortConnection(
+					this.meterSubscriptionop.getPortURI(),
+					ElectricMeterCyPhy.METER_SUBSCRIPTION_INBOUND_PORT_URI,
+					MeterSubscriptionConnector.class.getCanonicalName());
 			this.batteriesop = new BatteriesOutboundPort(this);
 			this.batteriesop.publishPort();
 			this.doPortConnection(
@@ -441,11 +620,24 @@ extends AbstractComponent
 						HeaterConnector.class.getCanonicalName());
 
 				// we add the heater in the table so thaht it us considered in the control loop
-				this.registrationTable.put(this.heaterop.getPortURI(), new DeviceControl(this.heaterop));
+				this.registrationTable.register(
+						this.heaterop.getPortURI(),
+						this.newDeviceControl(this.heaterop.getPortURI(), this.heaterop));
 			}
 		} catch (Throwable e) {
 			throw new ComponentStartException(e) ;
 		}
+
+		if (REGISTRATION_JOURNAL_FILE != null) {
+			this.registrationJournal = new RegistrationJournal(Paths.get(REGISTRATION_JOURNAL_FILE));
+			try {
+				this.journaledRegistrations = this.registrationJournal.open();
+			} catch (IOException e) {
+				// the HEM works without journal, the devices register again
+				e.printStackTrace();
+				this.registrationJournal = null;
+			}
+		}
 	}
 
 	/**
@@ -455,6 +647,8 @@ extends AbstractComponent
 	public synchronized void execute() throws Exception {
 		this.traceMessage("HEM begins execution.\n");
 
+		this.restoreRegistrations();
+
 		switch (this.executionMode) {
 			case STANDARD:
 			case UNIT_TEST:
@@ -467,17 +661,23 @@ extends AbstractComponent
 						this.testScenario.getClockURI());
 				this.executeTestScenario(this.testScenario);
 
-				this.scheduleTask(
-						owner -> {
-							try {
-								((HEMCyPhy) owner).controlLoop();
-							} catch (Exception e) {
-								e.printStackTrace();
-							}
-						},
-						this.controlPeriod,
-						time_unit
-				);
+				if (EVENT_DRIVEN_CONTROL) {
+					this.meterSubscriptionop.subscribe(
+							METER_NOTIFICATION_INBOUND_PORT_URI,
+							METER_NOTIFICATION_DELTA);
+					this.meterSubscribed = true;
+				}
+
+				// when the meter notifies its changes, the loop is only a
+				// heartbeat catching what the notifications missed
+				final long period =
+						EVENT_DRIVEN_CONTROL ? this.controlPeriod * HEARTBEAT_PERIODS : this.controlPeriod;
+				this.loop = new FixedRateLoop(
+						this.time_unit.toNanos(period),
+						FixedRateLoop.OverrunPolicy.MERGE,
+						(task, delay) -> this.scheduleTask(owner -> task.run(), delay, TimeUnit.NANOSECONDS),
+						this::controlLoop);
+				this.loop.start(this.time_unit.toNanos(this.controlPeriod));
 
 				break;
 			case UNIT_TEST_WITH_HIL_SIMULATION:
@@ -514,13 +714,29 @@ extends AbstractComponent
 	 */
 	@Override
 	public synchronized void finalise() throws Exception {
+		if (this.loop != null) {
+			this.loop.stop();
+			this.tracing("control loop: " + this.loop);
+		}
+		if (INSTRUMENTATION) {
+			this.exportLatencies();
+		}
+		if (this.meterSubscribed) {
+			// the meter must stop notifying before the ports are disconnected
+			this.meterSubscriptionop.unsubscribe(
+									METER_NOTIFICATION_INBOUND_PORT_URI);
+			this.meterSubscribed = false;
+		}
 		this.doPortDisconnection(this.meterop.getPortURI());
+		this.doPortDisconnection(this.meterSubscriptionop.getPortURI());
 		this.doPortDisconnection(this.batteriesop.getPortURI());
 		this.doPortDisconnection(this.solarPanelop.getPortURI());
 		this.doPortDisconnection(this.generatorop.getPortURI());
 
-		for (DeviceControl device : this.registrationTable.values()) {
-			this.doPortDisconnection(device.port.getPortURI());
+		for (DeviceControl device : this.registrationTable.view().devices()) {
+			if (device.port != null) {
+				this.doPortDisconnection(device.port.getPortURI());
+			}
 		}
 
 		super.finalise();
@@ -533,17 +749,38 @@ extends AbstractComponent
 	public synchronized void shutdown() throws ComponentShutdownException {
 		try {
 			this.meterop.unpublishPort();
+			this.meterSubscriptionop.unpublishPort();
+			this.meterNotificationip.unpublishPort();
 			this.batteriesop.unpublishPort();
 			this.solarPanelop.unpublishPort();
 			this.generatorop.unpublishPort();
 
-			for (DeviceControl device : this.registrationTable.values()) {
-				device.port.unpublishPort();
+			for (DeviceControl device : this.registrationTable.clear().devices()) {
+				if (device.port != null) {
+					device.port.unpublishPort();
+				}
 			}
-			this.registrationTable.clear();
 
 			this.registrationInboundPort.unpublishPort();
 
+			if (this.devicesExecutor != null) {
+				this.devicesExecutor.shutdownNow();
+			}
+			if (this.deviceCallsExecutor != null) {
+				this.deviceCallsExecutor.shutdownNow();
+			}
+			if (this.registrationExecutor != null) {
+				this.registrationExecutor.shutdownNow();
+			}
+			if (this.connectionExecutor != null) {
+				this.connectionExecutor.shutdownNow();
+			}
+			// the journal keeps the devices registered at the shutdown, to
+			// reconnect to them at the next start
+			if (this.registrationJournal != null) {
+				this.registrationJournal.close();
+			}
+
 		} catch (Throwable e) {
 			throw new ComponentShutdownException(e) ;
 		}
@@ -564,26 +801,223 @@ extends AbstractComponent
 	// Registration methods
 	// -------------------------------------------------------------------------
 
-	static class DeviceControl implements AdjustableCI {
+	static class DeviceControl implements AdjustableStatusCI {
+		public final String uid;
+		/** port connected to the device, null when the device is not a
+		 *  component, as in the benchmarks.									*/
 		public AdjustableOutboundPort port;
+		/** the device called by the control, the port itself when there is
+		 *  one.																*/
+		protected final AdjustableStatusCI device;
 		public int cycle;
+		/** snapshot of the device captured at the beginning of the current
+		 *  control cycle, null if it could not be captured.					*/
+		public AdjustableStatus state;
+		/** breaker skipping the device when it keeps failing.				*/
+		public final DeviceCircuitBreaker breaker;
+		/** executor running the blocking calls to bound their duration, null
+		 *  if the calls are made in the calling thread and unbounded.			*/
+		protected final ExecutorService executor;
+		/** timeout of one call in nanoseconds.								*/
+		protected final long callTimeout;
+		/** bounds the calls made in the executor and refuses them while a
+		 *  call abandoned at its timeout runs; null without executor.		*/
+		protected final DeviceCallGate calls;
+		/** traces the changes of state of the breaker, null to trace none.	*/
+		protected final Consumer<String> tracer;
+		/** consumption of each mode of the device fetched at registration,
+		 *  null when it must be fetched again.								*/
+		protected volatile double[] modeConsumptions;
+		/** latencies of the calls to the device, timeouts and failures
+		 *  included.															*/
+		public final LatencyHistogram latencies;
+
+		public DeviceControl(
+				String uid,
+				AdjustableOutboundPort port,
+				DeviceCircuitBreaker breaker,
+				ExecutorService executor,
+				long callTimeout,
+				Consumer<String> tracer
+		) {
+			this(uid, port, port, breaker, executor, callTimeout, tracer);
+		}
 
-		public DeviceControl(AdjustableOutboundPort port) {
+		public DeviceControl(
+				String uid,
+				AdjustableStatusCI device,
+				AdjustableOutboundPort port,
+				DeviceCircuitBreaker breaker,
+				ExecutorService executor,
+				long callTimeout,
+				Consumer<String> tracer
+		) {
+			this.uid = uid;
+			this.device = device;
 			this.port = port;
 			this.cycle = 0;
+			this.state = null;
+			this.breaker = breaker;
+			this.executor = executor;
+			this.callTimeout = callTimeout;
+			this.calls = executor == null ? null : new DeviceCallGate(executor, callTimeout);
+			this.tracer = tracer;
+			this.latencies = new LatencyHistogram("device " + uid);
+		}
+
+		/**
+		 *
+		 * Performs a call to the device through its circuit breaker
+		 * The call is run by the executor and abandoned after
+		 * {@code callTimeout} nanoseconds; its outcome is given to the breaker
+		 * here only, so an abandoned call ending later is not counted again.
+		 * While an abandoned call runs, the next calls fail at once instead of
+		 * taking another thread
+		 *
+		 * <p><strong>Contract</strong></p>
+		 *
+		 * <pre>
+		 *  pre {@code call != null}
+		 *  post {@code true} // no postcondition
+		 * </pre>
+		 * @param call the call to the device
+		 * @return the result of the call
+		 * @param <T> type of the result of the call
+		 * @throws Exception if the breaker is open, the call failed or timed out
+		 */
+		protected <T> T invoke(Callable<T> call) throws Exception {
+			if (! this.breaker.allowRequest()) {
+				throw new BCMException("device " + this.uid + " is skipped, its circuit breaker is open");
+			}
+			final long started = System.nanoTime();
+			try {
+				final T result = this.calls == null ? call.call() : this.calls.call(call);
+				this.recordOutcome(null);
+				return result;
+			} catch (Exception e) {
+				this.recordOutcome(e);
+				throw e;
+			} finally {
+				if (INSTRUMENTATION) {
+					this.latencies.recordSince(started);
+				}
+			}
+		}
+
+		/**
+		 *
+		 * Gives the outcome of a call to the breaker, tracing the changes of
+		 * state of the breaker
+		 *
+		 * <p><strong>Contract</strong></p>
+		 *
+		 * <pre>
+		 *  pre {@code true} // no precondition
+		 *  post {@code true} // no postcondition
+		 * </pre>
+		 * @param failure the failure of the call, null if it succeeded
+		 */
+		protected void recordOutcome(Throwable failure) {
+			if (failure == null) {
+				if (this.breaker.recordSuccess() && this.tracer != null) {
+					this.tracer.accept("device " + this.uid + " answers again: " + this.breaker);
+				}
+			} else {
+				final boolean timeout =
+						failure instanceof TimeoutException || failure.getCause() instanceof TimeoutException;
+				if (this.breaker.recordFailure(timeout) && this.tracer != null) {
+					this.tracer.accept("device " + this.uid + " skipped after " + failure + ": " + this.breaker);
+				}
+			}
 		}
 
 		public void updateCycle() {
 			++this.cycle;
 		}
 
+		/**
+		 *
+		 * Queries the status of the device and stores the result as the
+		 * snapshot of the current cycle
+		 * If an exception is thrown while querying the device then the snapshot
+		 * is null and the device is ignored during the cycle
+		 *
+		 * <p><strong>Contract</strong></p>
+		 *
+		 * <pre>
+		 *  pre {@code true} // no precondition
+		 *  post {@code true} // no postcondition
+		 * </pre>
+		 * @return the captured snapshot or null
+		 */
+		public AdjustableStatus captureState() {
+			this.state = this.queryState();
+			return this.state;
+		}
+
+		/**
+		 *
+		 * Queries the status of the device without changing its snapshot, so
+		 * that it can be called from any thread
+		 * Only the modes are queried, the consumptions of the modes are taken
+		 * from the table kept since the registration
+		 *
+		 * <p><strong>Contract</strong></p>
+		 *
+		 * <pre>
+		 *  pre {@code true} // no precondition
+		 *  post {@code true} // no postcondition
+		 * </pre>
+		 * @return the status of the device or null if it could not be queried
+		 */
+		public AdjustableStatus queryState() {
+			try {
+				double[] consumptions = this.modeConsumptions;
+				if (consumptions == null) {
+					consumptions = this.fetchModeConsumptions();
+				}
+				AdjustableStatus status = this.modeStatus();
+				if (status.getMaxMode() != consumptions.length) {
+					// the modes of the device changed without invalidation
+					consumptions = this.fetchModeConsumptions();
+				}
+				return status.withModeConsumptions(consumptions);
+			} catch (Exception e) {
+				// reported by the breaker when it opens
+				return null;
+			}
+		}
+
+		/**
+		 *
+		 * Fetches the consumptions of the modes of the device and keeps them
+		 * until they are invalidated
+		 *
+		 * <p><strong>Contract</strong></p>
+		 *
+		 * <pre>
+		 *  pre {@code true} // no precondition
+		 *  post {@code modeConsumptions != null}
+		 * </pre>
+		 * @return the consumption of each mode
+		 * @throws Exception if the device cannot be queried
+		 */
+		public double[] fetchModeConsumptions() throws Exception {
+			final double[] consumptions = this.modeConsumptions();
+			this.modeConsumptions = consumptions;
+			return consumptions;
+		}
+
+		public void invalidateModeConsumptions() {
+			this.modeConsumptions = null;
+		}
 
 		/**
 		 * @see AdjustableCI#maxMode
 		 */
 		@Override
 		public int maxMode() throws Exception {
-			return port.maxMode();
+			return this.invoke(() -> device.maxMode());
 		}
 
 		/**
@@ -591,7 +1025,7 @@ extends AbstractComponent
 		 */
 		@Override
 		public boolean upMode() throws Exception {
-			return port.upMode();
+			return this.invoke(() -> device.upMode());
 		}
 
 		/**
@@ -599,7 +1033,7 @@ extends AbstractComponent
 		 */
 		@Override
 		public boolean downMode() throws Exception {
-			return port.downMode();
+			return this.invoke(() -> device.downMode());
 		}
 
 		/**
@@ -607,7 +1041,7 @@ extends AbstractComponent
 		 */
 		@Override
 		public boolean setMode(int modeIndex) throws Exception {
-			return port.setMode(modeIndex);
+			return this.invoke(() -> device.setMode(modeIndex));
 		}
 
 		/**
@@ -615,43 +1049,284 @@ extends AbstractComponent
 		 */
 		@Override
 		public int currentMode() throws Exception {
-			return port.currentMode();
+			return this.invoke(() -> device.currentMode());
 		}
 
 		@Override
 		public double getModeConsumption(int modeIndex) throws Exception {
-			return port.getModeConsumption(modeIndex);
+			return this.invoke(() -> device.getModeConsumption(modeIndex));
 		}
 
 		@Override
 		public boolean suspended() throws Exception {
-			return port.suspended();
+			return this.invoke(() -> device.suspended());
 		}
 
 		@Override
 		public boolean suspend() throws Exception {
-			return port.suspend();
+			return this.invoke(() -> device.suspend());
 		}
 
 		@Override
 		public boolean resume() throws Exception {
-			return port.resume();
+			return this.invoke(() -> device.resume());
 		}
 
 		@Override
 		public double emergency() throws Exception {
-			return port.emergency();
+			return this.invoke(() -> device.emergency());
+		}
+
+		@Override
+		public AdjustableStatus status() throws Exception {
+			return this.invoke(() -> device.status());
+		}
+
+		@Override
+		public AdjustableStatus modeStatus() throws Exception {
+			return this.invoke(() -> device.modeStatus());
+		}
+
+		@Override
+		public double[] modeConsumptions() throws Exception {
+			return this.invoke(() -> device.modeConsumptions());
+		}
+
+		/**
+		 *
+		 * Performs a non-blocking call to the device through its circuit
+		 * breaker; the call is abandoned after {@code callTimeout}
+		 * nanoseconds and its outcome is given to the breaker when it ends.
+		 * Like {@code invoke}, it is refused at once while a call abandoned
+		 * at its timeout still runs, so a hung device keeps one thread only
+		 *
+		 * <p><strong>Contract</strong></p>
+		 *
+		 * <pre>
+		 *  pre {@code call != null}
+		 *  post {@code return != null}
+		 * </pre>
+		 * @param call starts the call in the given executor, null to make it in the calling thread
+		 * @return the future result of the call, failed if the breaker is open or a previous call still runs
+		 * @param <T> type of the result of the call
+		 */
+		protected <T> CompletableFuture<T> invokeAsync(Function<Executor, CompletableFuture<T>> call) {
+			if (! this.breaker.allowRequest()) {
+				return CompletableFuture.failedFuture(
+						new BCMException("device " + this.uid + " is skipped, its circuit breaker is open"));
+			}
+			final long started = System.nanoTime();
+			CompletableFuture<T> future;
+			if (this.calls == null) {
+				try {
+					future = call.apply(null);
+				} catch (RuntimeException e) {
+					future = CompletableFuture.failedFuture(e);
+				}
+			} else {
+				future = this.calls.callAsync(call);
+			}
+			return future.whenComplete((result, e) -> {
+				this.recordOutcome(e);
+				if (INSTRUMENTATION) {
+					this.latencies.recordSince(started);
+				}
+			});
+		}
+
+
+		/**
+		 * @see AdjustableAsyncI#setModeAsync
+		 */
+		public CompletableFuture<Boolean> setModeAsync(int modeIndex) {
+			return this.invokeAsync(executor ->
+					device instanceof AdjustableAsyncI ?
+						((AdjustableAsyncI) device).setModeAsync(modeIndex, executor) :
+						AdjustableAsyncI.callAsync(() -> device.setMode(modeIndex), executor));
+		}
+
+		/**
+		 * @see AdjustableAsyncI#suspendAsync
+		 */
+		public CompletableFuture<Boolean> suspendAsync() {
+			return this.invokeAsync(executor ->
+					device instanceof AdjustableAsyncI ?
+						((AdjustableAsyncI) device).suspendAsync(executor) :
+						AdjustableAsyncI.callAsync(device::suspend, executor));
+		}
+
+		/**
+		 * @see AdjustableAsyncI#resumeAsync
+		 */
+		public CompletableFuture<Boolean> resumeAsync() {
+			return this.invokeAsync(executor ->
+					device instanceof AdjustableAsyncI ?
+						((AdjustableAsyncI) device).resumeAsync(executor) :
+						AdjustableAsyncI.callAsync(device::resume, executor));
+		}
+	}
+
+	/**
+	 * Commands sent to the devices in one cycle without waiting for their
+	 * answers; the energy balance is updated as if they all succeed and is
+	 * corrected for the commands which failed when the batch is awaited.
+	 */
+	protected static class CommandBatch {
+		protected final List<CompletableFuture<Boolean>> commands = new ArrayList<>();
+		protected final List<Double> balanceChanges = new ArrayList<>();
+
+		/**
+		 *
+		 * Adds a command which has been sent
+		 *
+		 * <p><strong>Contract</strong></p>
+		 *
+		 * <pre>
+		 *  pre {@code command != null}
+		 *  post {@code return}
+		 * </pre>
+		 * @param command the future result of the command
+		 * @param balanceChange change of the energy balance if the command succeeds
+		 * @return true, the command being considered successful until the batch is awaited
+		 */
+		public boolean add(CompletableFuture<Boolean> command, double balanceChange) {
+			this.commands.add(command);
+			this.balanceChanges.add(balanceChange);
+			return true;
+		}
+
+		/**
+		 *
+		 * Waits for the commands until the deadline and removes from the
+		 * balance the changes of the commands which failed or did not answer
+		 * A command which has not answered by the deadline is left to end on
+		 * its own: it is bounded by the call timeout of its device, and its
+		 * outcome is given to the breaker of the device by {@code invokeAsync}
+		 * only, so it is not counted twice
+		 *
+		 * <p><strong>Contract</strong></p>
+		 *
+		 * <pre>
+		 *  pre {@code true} // no precondition
+		 *  post {@code true} // no postcondition
+		 * </pre>
+		 * @param balance the balance counting every command as successful
+		 * @param deadline date from {@code System.nanoTime} after which the commands are abandoned
+		 * @return the balance counting the successful commands only
+		 */
+		public double await(double balance, long deadline) {
+			for (int i = 0; i < this.commands.size(); ++i) {
+				final CompletableFuture<Boolean> command = this.commands.get(i);
+				boolean success = false;
+				try {
+					success = command.get(Math.max(deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+				} catch (TimeoutException e) {
+					// abandoned for this cycle, recorded when it ends
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} catch (ExecutionException e) {
+					// refused by an open breaker, or reported by the breaker
+					// when it opens
+				}
+				if (! success) {
+					balance -= this.balanceChanges.get(i);
+				}
+			}
+			return balance;
 		}
 	}
 
-	protected final Hashtable<String, DeviceControl> registrationTable;
+	/** registered devices; the control loop iterates over an immutable view
+	 *  of the registry while the registrations publish new views, so neither
+	 *  waits for the other.												*/
+	protected final DeviceRegistry<DeviceControl> registrationTable;
+
+	/**
+	 *
+	 * Creates the control of a newly registered device, with its own circuit
+	 * breaker and with calls bounded by the executor of the component
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 *  pre {@code uid != null && port != null}
+	 *  post {@code return != null}
+	 * </pre>
+	 * @param uid uid of the device
+	 * @param port port connected to the device
+	 * @return the control of the device
+	 */
+	protected DeviceControl newDeviceControl(String uid, AdjustableOutboundPort port) {
+		final long period = this.time_unit.toNanos(this.controlPeriod);
+		final DeviceCircuitBreaker breaker =
+				new DeviceCircuitBreaker(
+						DEVICE_FAILURE_THRESHOLD,
+						period * DEVICE_BACKOFF_CYCLES,
+						period * DEVICE_MAX_BACKOFF_CYCLES);
+		return new DeviceControl(
+				uid,
+				port,
+				breaker,
+				this.deviceCallsExecutor,
+				(long) (period * DEVICE_CALL_TIMEOUT_RATIO),
+				this::tracing);
+	}
+
+	/**
+	 *
+	 * Traces the devices currently skipped by their circuit breaker
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 *  pre {@code true} // no precondition
+	 *  post {@code true} // no postcondition
+	 * </pre>
+	 */
+	protected void reportDevicesHealth() {
+		if (VERBOSE) {
+			for (DeviceControl device : this.registrationTable.view().devices()) {
+				if (device.breaker.isOpen()) {
+					this.tracing("device " + device.uid + " skipped: " + device.breaker);
+				}
+			}
+		}
+	}
 
 	public static final String RegistrationHEMURI = "REGISTRATION-HEM-URI";
 
 	protected RegistrationInboundPort registrationInboundPort;
 
 	public boolean registered(String uid) throws Exception {
-		return uid != null && !uid.isEmpty() && this.registrationTable.containsKey(uid);
+		return uid != null && !uid.isEmpty() && this.registrationTable.contains(uid);
+	}
+
+	/** workers generating the connectors of the registering devices, null
+	 *  before the start of the component, in which case the registrations
+	 *  run in the caller thread.											*/
+	protected ExecutorService registrationExecutor;
+	/** workers connecting and activating the registering devices, null
+	 *  before the start of the component.									*/
+	protected ExecutorService connectionExecutor;
+	/** registrations submitted and not ended yet, by uid of the device.	*/
+	protected final ConcurrentHashMap<String, CompletableFuture<Boolean>> pendingRegistrations =
+			new ConcurrentHashMap<>();
+	/** journal of the registrations, null when none is kept or it cannot
+	 *  be written.														*/
+	protected RegistrationJournal registrationJournal;
+	/** registrations read from the journal at the start of the component,
+	 *  restored at the beginning of its execution.						*/
+	protected List<DeviceRegistration> journaledRegistrations = new ArrayList<>();
+	/** devices reconnected from the journal which have not registered again
+	 *  since, with the URI of the control port they were reconnected to.	*/
+	protected final ConcurrentHashMap<String, String> restoredDevices = new ConcurrentHashMap<>();
+
+	/**
+	 * @param uid uid of a device
+	 * @return true if the device has been reconnected from the journal and has not registered again since
+	 */
+	public boolean restored(String uid) {
+		return uid != null && this.restoredDevices.containsKey(uid);
 	}
 
 	public boolean register(
@@ -666,30 +1341,10 @@ extends AbstractComponent
 				new PreconditionException("controlPortURI == null || controlPortURI.isEmpty()");
 		assert xmlControlAdapter != null && !xmlControlAdapter.isEmpty():
 				new PreconditionException("xmlControlAdapter == null || xml.controlPortURI.isEmpty()");
-		assert !registered(uid):
-				new PreconditionException("registered(uid)");
+		assert !registered(uid) || restored(uid):
+				new PreconditionException("registered(uid) && !restored(uid)");
 
-		boolean res;
-
-		try {
-
-			ConnectorConfigurationParser.ClassFromXml(uid, AdjustableCI.class, xmlControlAdapter);
-			AdjustableOutboundPort newOutboundPort = new AdjustableOutboundPort(this);
-			newOutboundPort.publishPort();
-			this.doPortConnection(
-					newOutboundPort.getPortURI(),
-					controlPortURI,
-					uid
-			);
-
-			this.registrationTable.put(uid, new DeviceControl(newOutboundPort));
-
-
-			res = true;
-		} catch (Exception e) {
-			e.printStackTrace();
-			res = false;
-		}
+		final boolean res = this.submitRegistration(uid, controlPortURI, xmlControlAdapter).get();
 
 		assert !res || registered(uid):
 				new PostconditionException("res && !registered(uid)");
@@ -697,232 +1352,790 @@ extends AbstractComponent
 		return res;
 	}
 
-	public void unregister(String uid) throws Exception {
-
-		assert uid != null && !uid.isEmpty():
+	/**
+	 *
+	 * Submits the registration of a device to the registration workers and
+	 * returns its future at once
+	 * The future is completed with false when the device is already
+	 * registered or being registered, or when one stage of the registration
+	 * fails
+	 * A device reconnected from the journal which registers again with the
+	 * same control port is kept as is, with another port it is reconnected
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 *  pre {@code uid != null && !uid.isEmpty()}
+	 *  pre {@code controlPortURI != null && !controlPortURI.isEmpty()}
+	 *  pre {@code xmlControlAdapter != null && !xmlControlAdapter.isEmpty()}
+	 *  post {@code return != null}
+	 * </pre>
+	 * @param uid uid of the device
+	 * @param controlPortURI URI of the inbound port controlling the device
+	 * @param xmlControlAdapter xml descriptor of the connector
+	 * @return the future of the registration, true once the device is registered
+	 */
+	public CompletableFuture<Boolean> submitRegistration(
+			String uid,
+			String controlPortURI,
+			String xmlControlAdapter
+	) {
+		assert uid != null && ! uid.isEmpty():
 				new PreconditionException("uid == null || uid.isEmpty()");
-		assert registered(uid):
-				new PreconditionException("!registered(uid)");
-
-		synchronized ( this.registrationTable ) {
-			DeviceControl device = this.registrationTable.remove(uid);
-			this.doPortDisconnection(device.port.getPortURI());
-			device.port.unpublishPort();
-		}
+		assert controlPortURI != null && !controlPortURI.isEmpty():
+				new PreconditionException("controlPortURI == null || controlPortURI.isEmpty()");
+		assert xmlControlAdapter != null && !xmlControlAdapter.isEmpty():
+				new PreconditionException("xmlControlAdapter == null || xml.controlPortURI.isEmpty()");
 
-		assert !registered(uid):
-				new PostconditionException("registered(uid)");
+		return this.submitRegistration(uid, controlPortURI, xmlControlAdapter, null);
 	}
 
-	// -------------------------------------------------------------------------
-	// Energy Management
-	// -------------------------------------------------------------------------
-
-	protected static double MAXIMUM_EMERGENCY_THRESHOLD = 0.90;
-	protected static double MINIMUM_EMERGENCY_THRESHOLD = 0.50;
-
-	/** A device will only be suspended or resumed after 5 control loop being respectively active and suspended */
-	protected static int MINIMUM_RESUME_CYCLE = 5;
-
-	/** After being suspended for more than 25 control loop, we try to resume the device, we want to avoid situation
-	 * where a device is never resumed.
-	 * */
-	protected static int MAXIMUM_RESUME_CYCLE = 25;
-
-	double previous_evolution;
-	double resume_threshold = MAXIMUM_EMERGENCY_THRESHOLD;
-
-	protected static Measure<Double> ENERGY_HYSTERESIS = new Measure<>(2.0, MeasurementUnit.VOLTS);
-
-	protected long controlPeriod;
-
-	protected TimeUnit time_unit;
-
-	public static final double STANDARD_CONTROL_PERIOD = 60.0;
+	/**
+	 *
+	 * Submits the registration of a device, sharing the generation of its
+	 * connector with the other devices of a batch using the same descriptor
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 *  pre {@code true} // no precondition
+	 *  post {@code return != null}
+	 * </pre>
+	 * @param uid uid of the device
+	 * @param controlPortURI URI of the inbound port controlling the device
+	 * @param xmlControlAdapter xml descriptor of the connector
+	 * @param generations generations of the connectors of the batch by descriptor, null outside of a batch
+	 * @return the future of the registration, true once the device is registered
+	 */
+	protected CompletableFuture<Boolean> submitRegistration(
+			String uid,
+			String controlPortURI,
+			String xmlControlAdapter,
+			Map<String, CompletableFuture<String>> generations
+	) {
+		final String restoredURI = this.restoredDevices.get(uid);
+		if (restoredURI != null) {
+			final CompletableFuture<Boolean> restoration = this.pendingRegistrations.get(uid);
+			if (restoration != null) {
+				// the device registers while it is being reconnected
+				return restoration.thenCompose(
+						r -> this.submitRegistration(uid, controlPortURI, xmlControlAdapter, generations));
+			}
+			if (this.restoredDevices.remove(uid, restoredURI) && this.registrationTable.contains(uid)) {
+				if (restoredURI.equals(controlPortURI)) {
+					return CompletableFuture.completedFuture(true);
+				}
+				// the device has changed of control port since the journal
+				try {
+					this.unregister(uid);
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+			}
+		}
+		return this.submitRegistration(uid, controlPortURI, xmlControlAdapter, false, generations);
+	}
 
 	/**
 	 *
-	 * Computes the emergency level of a device
-	 * I an exception is thrown when getting the emergencyLevel from the device
-	 * then the device is considered as non urgent
+	 * Submits the registration of a device, or its reconnection from the
+	 * journal: its connector is generated by the registration workers, then
+	 * it is connected and activated by the connection workers, so that the
+	 * devices waiting for their connections do not hold up the generations
 	 *
 	 * <p><strong>Contract</strong></p>
 	 *
 	 * <pre>
 	 *  pre {@code true} // no precondition
-	 *  post {@code true} // no postcondition
+	 *  post {@code return != null}
 	 * </pre>
-	 * @param port
-	 * @return
+	 * @param uid uid of the device
+	 * @param controlPortURI URI of the inbound port controlling the device
+	 * @param xmlControlAdapter xml descriptor of the connector
+	 * @param restoration true when the device is reconnected from the journal
+	 * @param generations generations of the connectors of the batch by descriptor, null outside of a batch
+	 * @return the future of the registration, true once the device is registered
 	 */
-	protected static double computeDeviceEmergencyLevel(DeviceControl port) {
-		double result = 0.0;
+	protected CompletableFuture<Boolean> submitRegistration(
+			String uid,
+			String controlPortURI,
+			String xmlControlAdapter,
+			boolean restoration,
+			Map<String, CompletableFuture<String>> generations
+	) {
+		final CompletableFuture<Boolean> registration = new CompletableFuture<>();
+		if ( this.registrationTable.contains(uid) ||
+				this.pendingRegistrations.putIfAbsent(uid, registration) != null ) {
+			return CompletableFuture.completedFuture(false);
+		}
+
+		final Executor generation =
+				this.registrationExecutor != null ? this.registrationExecutor : Runnable::run;
+		final Executor connection =
+				this.connectionExecutor != null ? this.connectionExecutor : Runnable::run;
 		try {
-			if ( port.suspended() ) {
-				result = port.emergency();
+			// the devices of a batch using the same descriptor wait for the
+			// generation of the first of them instead of queuing their own;
+			// a failed generation fails each of them
+			CompletableFuture<String> generated =
+					generations == null ? null : generations.get(xmlControlAdapter);
+			if (generated == null) {
+				generated = CompletableFuture.supplyAsync(
+						() -> this.generateConnector(xmlControlAdapter),
+						generation);
+				if (generations != null) {
+					generations.put(xmlControlAdapter, generated);
+				}
 			}
-		} catch (Exception e) {
-			e.printStackTrace();
+			generated
+					.handleAsync(
+							(connectorClassName, failure) -> {
+								if (failure != null) {
+									Throwable cause = failure instanceof CompletionException ?
+											failure.getCause() : failure;
+									this.registrationFailed(
+											uid, controlPortURI, restoration, null,
+											cause instanceof Exception ?
+													(Exception) cause : new CompletionException(cause));
+									return false;
+								}
+								return this.connectDevice(
+										uid, controlPortURI, xmlControlAdapter,
+										connectorClassName, restoration);
+							},
+							connection)
+					.whenComplete((res, e) -> {
+						// an exception means that a stage has been rejected
+						// by the shutting down component
+						this.pendingRegistrations.remove(uid);
+						registration.complete(e == null && res);
+					});
+		} catch (RejectedExecutionException e) {
+			// the component is shutting down
+			this.pendingRegistrations.remove(uid);
+			registration.complete(false);
 		}
-		return result;
+		return registration;
 	}
 
-	protected boolean hasDevices(Predicate<DeviceControl> p) {
-		return this.registrationTable
-				.values()
-				.stream()
-				.anyMatch(p);
-	}
+	/**
+	 *
+	 * First stage of the registration of a device, run by the registration
+	 * workers: generation of its connector (parsing and compilation of the
+	 * descriptor)
+	 * The devices using the same descriptor share one connector class,
+	 * generated by the first of them; the failure is reported by the
+	 * registration of each device waiting for it
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 *  pre {@code true} // no precondition
+	 *  post {@code true} // no postcondition
+	 * </pre>
+	 * @param xmlControlAdapter xml descriptor of the connector
+	 * @return the name of the connector class
+	 * @throws CompletionException if the connector cannot be generated
+	 */
+	protected String generateConnector(String xmlControlAdapter) {
+		try {
+			return ConnectorConfigurationParser.ClassFromXml(AdjustableStatusCI.class, xmlControlAdapter);
+		} catch (Exception e) {
+			throw new CompletionException(e);
+		}
+	}
 
-	protected boolean hasUrgentDevices() {
-		return this.hasDevices(p -> {
+	/**
+	 *
+	 * Second stage of the registration of a device, run by the connection
+	 * workers: connection of a new port and activation
+	 * The device is visible to the control loop only once activated, that is
+	 * once fully connected; if the stage fails the port is released
+	 * A device reconnected from the journal must also answer a first query
+	 * before its activation, otherwise it is dropped from the journal and
+	 * waited for to register again
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 *  pre {@code connectorClassName != null}
+	 *  post {@code !return || registered(uid)}
+	 * </pre>
+	 * @param uid uid of the device
+	 * @param controlPortURI URI of the inbound port controlling the device
+	 * @param xmlControlAdapter xml descriptor of the connector
+	 * @param connectorClassName name of the connector class generated by the first stage
+	 * @param restoration true when the device is reconnected from the journal
+	 * @return true if the device has been registered
+	 */
+	protected boolean connectDevice(
+			String uid,
+			String controlPortURI,
+			String xmlControlAdapter,
+			String connectorClassName,
+			boolean restoration
+	) {
+		AdjustableOutboundPort newOutboundPort = null;
+		try {
+			// connect
+			newOutboundPort = new AdjustableOutboundPort(this);
+			newOutboundPort.publishPort();
+			this.doPortConnection(
+					newOutboundPort.getPortURI(),
+					controlPortURI,
+					connectorClassName
+			);
+
+			// activate
+			DeviceControl device = this.newDeviceControl(uid, newOutboundPort);
 			try {
-				return p.suspended();
+				device.fetchModeConsumptions();
 			} catch (Exception e) {
-				return false;
+				if (restoration) {
+					// the device does not answer at the journaled port
+					throw e;
+				}
+				// fetched again at the first cycle
+				e.printStackTrace();
 			}
-		});
+			if (this.registrationTable.register(uid, device)) {
+				if (!restoration) {
+					this.journalRegistration(new DeviceRegistration(uid, controlPortURI, xmlControlAdapter));
+				}
+				return true;
+			}
+			// the same uid has been registered concurrently
+			this.registrationFailed(uid, controlPortURI, restoration, newOutboundPort, null);
+		} catch (Exception e) {
+			this.registrationFailed(uid, controlPortURI, restoration, newOutboundPort, e);
+		}
+		return false;
 	}
 
-	protected boolean canIncreaseDevices() {
-		return this.hasDevices(p -> {
+	/**
+	 *
+	 * Reports the failure of a registration and releases what its stages
+	 * acquired
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 *  pre {@code true} // no precondition
+	 *  post {@code true} // no postcondition
+	 * </pre>
+	 * @param uid uid of the device
+	 * @param controlPortURI URI of the inbound port controlling the device
+	 * @param restoration true when the device is reconnected from the journal
+	 * @param newOutboundPort port created for the device, null if none
+	 * @param failure cause of the failure, null if the device has been registered concurrently
+	 */
+	protected void registrationFailed(
+			String uid,
+			String controlPortURI,
+			boolean restoration,
+			AdjustableOutboundPort newOutboundPort,
+			Exception failure
+	) {
+		if (failure != null) {
+			if (restoration) {
+				this.tracing("device " + uid + " not reconnected, waiting for its registration: " + failure);
+			} else {
+				failure.printStackTrace();
+			}
+		}
+
+		if (restoration) {
+			this.restoredDevices.remove(uid, controlPortURI);
+			if (!this.registrationTable.contains(uid)) {
+				this.journalUnregistration(uid);
+			}
+		}
+
+		if (newOutboundPort != null) {
 			try {
-				return canBeIncreased(p);
-			} catch ( Exception e ) {
+				if (newOutboundPort.connected()) {
+					this.doPortDisconnection(newOutboundPort.getPortURI());
+				}
+				newOutboundPort.unpublishPort();
+			} catch (Exception e) {
 				e.printStackTrace();
-				return false;
 			}
+		}
+	}
+
+	/**
+	 *
+	 * Submits a batch of registrations; the connector of each distinct
+	 * descriptor of the batch is generated by one registration worker and
+	 * the other devices using it wait for that generation; besides, the
+	 * devices whose descriptors have identical contents share one connector
+	 * class, so each distinct contents is parsed and compiled once
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 *  pre {@code registrations != null}
+	 *  post {@code return != null}
+	 * </pre>
+	 * @param registrations the registrations of the devices
+	 * @return the future of the results, true for each registered device
+	 */
+	public CompletableFuture<boolean[]> submitRegistrations(DeviceRegistration[] registrations) {
+		assert registrations != null :
+				new PreconditionException("registrations == null");
+
+		@SuppressWarnings("unchecked")
+		final CompletableFuture<Boolean>[] futures = new CompletableFuture[registrations.length];
+		final Map<String, CompletableFuture<String>> generations = new HashMap<>();
+		for (int i = 0; i < registrations.length; ++i) {
+			futures[i] = this.submitRegistration(
+					registrations[i].getUid(),
+					registrations[i].getControlPortURI(),
+					registrations[i].getXmlControlAdapter(),
+					generations);
+		}
+
+		return CompletableFuture.allOf(futures).thenApply(v -> {
+			final boolean[] res = new boolean[futures.length];
+			for (int i = 0; i < futures.length; ++i) {
+				res[i] = futures[i].join();
+			}
+			return res;
 		});
 	}
 
-	protected boolean canDecreaseDevices() {
-		return this.hasDevices(p -> {
+	/**
+	 *
+	 * Reconnects to the devices registered in the journal when the component
+	 * started, concurrently and without waiting for them; a device which does
+	 * not answer is registered again when it calls {@code register}
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 *  pre {@code true} // no precondition
+	 *  post {@code return != null}
+	 * </pre>
+	 * @return the future of the results, true for each reconnected device
+	 */
+	protected CompletableFuture<boolean[]> restoreRegistrations() {
+		final List<DeviceRegistration> journaled = this.journaledRegistrations;
+		this.journaledRegistrations = new ArrayList<>();
+
+		final List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+		for (DeviceRegistration registration : journaled) {
+			if (this.registrationTable.contains(registration.getUid())) {
+				continue;
+			}
+			this.restoredDevices.put(registration.getUid(), registration.getControlPortURI());
+			futures.add(this.submitRegistration(
+					registration.getUid(),
+					registration.getControlPortURI(),
+					registration.getXmlControlAdapter(),
+					true,
+					null));
+		}
+
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(v -> {
+			final boolean[] res = new boolean[futures.size()];
+			int restored = 0;
+			for (int i = 0; i < res.length; ++i) {
+				res[i] = futures.get(i).join();
+				if (res[i]) {
+					++restored;
+				}
+			}
+			this.tracing(restored + " of " + res.length + " journaled devices reconnected");
+			return res;
+		});
+	}
+
+	/**
+	 * Appends a registration to the journal, a failure only means that the
+	 * device will have to register again after a restart
+	 * @param registration the registration of the device
+	 */
+	protected void journalRegistration(DeviceRegistration registration) {
+		if (this.registrationJournal != null) {
 			try {
-				return canBeDecreased(p);
-			} catch ( Exception e ) {
+				this.registrationJournal.recordRegistration(registration);
+			} catch (IOException e) {
 				e.printStackTrace();
-				return false;
 			}
-		});
+		}
+	}
+
+	/**
+	 * Appends an unregistration to the journal
+	 * @param uid uid of the device
+	 */
+	protected void journalUnregistration(String uid) {
+		if (this.registrationJournal != null) {
+			try {
+				this.registrationJournal.recordUnregistration(uid);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
 	}
 
 	/**
 	 *
-	 * Computes the emergency level of a device
-	 * If an exception is thrown when getting the current consumption level from the device
-	 * then the device is considered as non urgent
+	 * Unregisters a batch of devices, the uids that are not registered are
+	 * ignored
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 *  pre {@code uids != null}
+	 *  post {@code return.length == uids.length}
+	 * </pre>
+	 * @param uids uids of the devices
+	 * @return for each uid, true if the device was registered and has been unregistered
+	 * @throws Exception if a port cannot be disconnected
+	 */
+	public boolean[] unregisterAll(String[] uids) throws Exception {
+		assert uids != null :
+				new PreconditionException("uids == null");
+
+		final boolean[] res = new boolean[uids.length];
+		for (int i = 0; i < uids.length; ++i) {
+			if (this.registered(uids[i])) {
+				this.unregister(uids[i]);
+				res[i] = true;
+			}
+		}
+		return res;
+	}
+
+	public void unregister(String uid) throws Exception {
+
+		assert uid != null && !uid.isEmpty():
+				new PreconditionException("uid == null || uid.isEmpty()");
+		assert registered(uid):
+				new PreconditionException("!registered(uid)");
+
+		// a control cycle which has already taken the previous view may still
+		// call the device, such a call fails and is ignored by the cycle
+		DeviceControl device = this.registrationTable.unregister(uid);
+		this.restoredDevices.remove(uid);
+		this.journalUnregistration(uid);
+		if (device != null && device.port != null) {
+			this.doPortDisconnection(device.port.getPortURI());
+			device.port.unpublishPort();
+		}
+
+		assert !registered(uid):
+				new PostconditionException("registered(uid)");
+	}
+
+	public void invalidateModeConsumptions(String uid) throws Exception {
+
+		assert uid != null && !uid.isEmpty():
+				new PreconditionException("uid == null || uid.isEmpty()");
+
+		DeviceControl device = this.registrationTable.get(uid);
+		if (device != null) {
+			device.invalidateModeConsumptions();
+		}
+	}
+
+	// -------------------------------------------------------------------------
+	// Energy Management
+	// -------------------------------------------------------------------------
+
+	protected static double MAXIMUM_EMERGENCY_THRESHOLD = 0.90;
+	protected static double MINIMUM_EMERGENCY_THRESHOLD = 0.50;
+
+	/** A device will only be suspended or resumed after 5 control loop being respectively active and suspended */
+	protected static int MINIMUM_RESUME_CYCLE = 5;
+
+	/** After being suspended for more than 25 control loop, we try to resume the device, we want to avoid situation
+	 * where a device is never resumed.
+	 * */
+	protected static int MAXIMUM_RESUME_CYCLE = 25;
+
+	double previous_evolution;
+	double resume_threshold = MAXIMUM_EMERGENCY_THRESHOLD;
+
+	protected static Measure<Double> ENERGY_HYSTERESIS = new Measure<>(2.0, MeasurementUnit.VOLTS);
+
+	protected long controlPeriod;
+
+	protected TimeUnit time_unit;
+
+	public static final double STANDARD_CONTROL_PERIOD = 60.0;
+
+	/** devices whose state has been captured at the beginning of the
+	 *  current control cycle; all the decisions of the cycle are taken from
+	 *  the snapshots of these devices.										*/
+	protected DeviceControl[] devicesSnapshot = new DeviceControl[0];
+
+	/** executor used to call the devices concurrently, null when the calls
+	 *  are sequential.														*/
+	protected ExecutorService devicesExecutor;
+	/** executor running the blocking calls to the devices, each one bounded
+	 *  by the timeout of a call.											*/
+	protected ExecutorService deviceCallsExecutor;
+	/** date, in nanoseconds of {@code System.nanoTime}, after which the calls
+	 *  to the devices of the current cycle are abandoned.					*/
+	protected long devicesDeadline;
+
+	/**
+	 *
+	 * Applies {@code call} to every device and returns the results in the
+	 * order of {@code devices}, whatever the order in which the calls end
+	 * When the calls are concurrent, a call which has not ended at the
+	 * deadline of the cycle is cancelled and its result is {@code onFailure};
+	 * its outcome is given to the breaker of the device by the call itself
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 *  pre {@code devices != null && call != null}
+	 *  post {@code return.size() == devices.length}
+	 * </pre>
+	 * @param devices the devices to call
+	 * @param call the call to perform on each device
+	 * @param onFailure the result of a call which failed or timed out
+	 * @return the results of the calls, in the order of the devices
+	 * @param <T> type of the result of the calls
+	 */
+	protected <T> List<T> callDevices(DeviceControl[] devices, Function<DeviceControl, T> call, T onFailure) {
+		assert devices != null && call != null :
+				new PreconditionException("devices == null || call == null");
+
+		final List<T> results = new ArrayList<>(devices.length);
+
+		if (! PARALLEL_DEVICE_CALLS || this.devicesExecutor == null || devices.length <= 1) {
+			for (DeviceControl device : devices) {
+				results.add(call.apply(device));
+			}
+			return results;
+		}
+
+		final long started = System.nanoTime();
+		final List<Future<T>> futures = new ArrayList<>(devices.length);
+		for (DeviceControl device : devices) {
+			final Callable<T> task = () -> call.apply(device);
+			futures.add(this.devicesExecutor.submit(task));
+		}
+
+		for (int i = 0; i < futures.size(); ++i) {
+			final Future<T> future = futures.get(i);
+			T result = onFailure;
+			try {
+				// the calls started together, so each one is bounded both by
+				// its own timeout and by the deadline of the cycle
+				final long remaining =
+						Math.min(this.devicesDeadline, started + devices[i].callTimeout) - System.nanoTime();
+				result = future.get(Math.max(remaining, 0L), TimeUnit.NANOSECONDS);
+			} catch (TimeoutException e) {
+				future.cancel(true);
+				this.tracing("device " + devices[i].uid + " missed the cycle deadline");
+			} catch (InterruptedException e) {
+				future.cancel(true);
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				this.tracing("device " + devices[i].uid + " call failed: " + e.getCause());
+			}
+			results.add(result);
+		}
+
+		return results;
+	}
+
+	/**
+	 *
+	 * Captures the state of every registered device, each device being queried
+	 * once per cycle
+	 * The devices are queried concurrently when {@code PARALLEL_DEVICE_CALLS}
+	 * is set, and always considered in the order of their uid so that the
+	 * decisions of the cycle do not depend on the order of the answers
+	 * The devices whose state cannot be captured before the deadline are left
+	 * out of the cycle
 	 *
 	 * <p><strong>Contract</strong></p>
 	 *
 	 * <pre>
 	 *  pre {@code true} // no precondition
+	 *  post {@code Arrays.stream(devicesSnapshot).allMatch(d -> d.state != null)}
+	 * </pre>
+	 */
+	protected void captureDevicesState() {
+		final DeviceControl[] devices =
+				this.registrationTable
+						.view()
+						.devices()
+						.stream()
+						.filter(device -> device.breaker.allowRequest())
+						.toArray(DeviceControl[]::new);
+
+		final List<AdjustableStatus> states = this.callDevices(devices, DeviceControl::queryState, null);
+
+		final ArrayList<DeviceControl> captured = new ArrayList<>(devices.length);
+		for (int i = 0; i < devices.length; ++i) {
+			devices[i].state = states.get(i);
+			if (devices[i].state != null) {
+				captured.add(devices[i]);
+			}
+		}
+		this.devicesSnapshot = captured.toArray(new DeviceControl[0]);
+	}
+
+	/**
+	 *
+	 * Computes the emergency level of a device
+	 * A device that is not suspended is considered as non urgent
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 *  pre {@code port.state != null}
 	 *  post {@code true} // no postcondition
 	 * </pre>
 	 * @param port
 	 * @return
 	 */
-	protected static double computeDeviceConsumptionLevel(DeviceControl port) {
-		double result = 0.0;
-		try {
-			if ( ! port.suspended() ) {
-				final int current_mode = port.currentMode();
-				result = port.getModeConsumption(current_mode);
-			}
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
+	protected static double computeDeviceEmergencyLevel(DeviceControl port) {
+		return port.state.isSuspended() ? port.state.getEmergency() : 0.0;
+	}
 
-		return result;
+	protected boolean hasDevices(Predicate<DeviceControl> p) {
+		return Arrays.stream(this.devicesSnapshot).anyMatch(p);
+	}
+
+	protected boolean hasUrgentDevices() {
+		return this.hasDevices(p -> p.state.isSuspended());
+	}
+
+	protected boolean canIncreaseDevices() {
+		return this.hasDevices(HEMCyPhy::canBeIncreased);
+	}
+
+	protected boolean canDecreaseDevices() {
+		return this.hasDevices(HEMCyPhy::canBeDecreased);
+	}
+
+	/**
+	 *
+	 * Computes the consumption level of a device
+	 * A suspended device does not consume
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 *  pre {@code port.state != null}
+	 *  post {@code true} // no postcondition
+	 * </pre>
+	 * @param port
+	 * @return
+	 */
+	protected static double computeDeviceConsumptionLevel(DeviceControl port) {
+		return port.state.getCurrentConsumption();
 	}
 
 	protected static double computeDeviceConsumptionIncrease(DeviceControl port) {
-		try {
-			final int current_mode = port.currentMode();
-			final double current_consumption = port.getModeConsumption(current_mode);
-			final double increased_consumption = port.getModeConsumption(current_mode + 1);
-			return increased_consumption - current_consumption;
-		} catch (Exception e) {
-			e.printStackTrace();
-			return 0.0;
-		}
+		final int current_mode = port.state.getCurrentMode();
+		final double current_consumption = port.state.getModeConsumption(current_mode);
+		final double increased_consumption = port.state.getModeConsumption(current_mode + 1);
+		return increased_consumption - current_consumption;
 	}
 
 	protected static boolean decreaseDeviceConsumption(DeviceControl port) {
 		try {
-			final int current_mode = port.currentMode();
-			return port.setMode(current_mode - 1);
+			final int new_mode = port.state.getCurrentMode() - 1;
+			if ( port.setMode(new_mode) ) {
+				port.state = port.state.withMode(new_mode);
+				return true;
+			}
 		} catch (Exception e) {
-			e.printStackTrace();
-			return false;
+			// reported by the breaker when it opens
 		}
+		return false;
 	}
 
 	protected static boolean increaseDeviceConsumption(DeviceControl port) {
 		try {
-			final int current_mode = port.currentMode();
-			return port.setMode(current_mode + 1);
+			final int new_mode = port.state.getCurrentMode() + 1;
+			if ( port.setMode(new_mode) ) {
+				port.state = port.state.withMode(new_mode);
+				return true;
+			}
 		} catch (Exception e) {
-			e.printStackTrace();
-			return false;
+			// reported by the breaker when it opens
 		}
+		return false;
 	}
 
-	protected static double computeDeviceConsumptionDecrease(DeviceControl port) {
-		try {
-			final int current_mode = port.currentMode();
-			final double current_consumption = port.getModeConsumption(current_mode);
-			final double decreased_consumption = port.getModeConsumption(current_mode - 1);
-			return current_consumption - decreased_consumption;
-		} catch (Exception e) {
-			e.printStackTrace();
-			return 0.0;
+	protected static CompletableFuture<Boolean> setDeviceModeAsync(DeviceControl port, int new_mode) {
+		return port.setModeAsync(new_mode).thenApply(success -> {
+			if ( success ) {
+				port.state = port.state.withMode(new_mode);
+			}
+			return success;
+		});
+	}
+
+	protected static CompletableFuture<Boolean> suspendDeviceAsync(DeviceControl port) {
+		port.cycle = 0;
+		return port.suspendAsync().thenApply(success -> {
+			if ( success ) {
+				port.state = port.state.withSuspended(true);
+			}
+			return success;
+		});
+	}
+
+	/**
+	 *
+	 * Returns a new batch when the commands of the cycle are pipelined
+	 * The devices commanded in a batch must not be read before the batch is
+	 * awaited, as their snapshots are updated when their commands answer
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 *  pre {@code true} // no precondition
+	 *  post {@code true} // no postcondition
+	 * </pre>
+	 * @return a new batch, null if the commands must be sent one by one
+	 */
+	protected CommandBatch newCommandBatch() {
+		if (PIPELINED_DEVICE_COMMANDS && PARALLEL_DEVICE_CALLS && this.devicesExecutor != null) {
+			return new CommandBatch();
 		}
+		return null;
+	}
+
+	protected static double computeDeviceConsumptionDecrease(DeviceControl port) {
+		final int current_mode = port.state.getCurrentMode();
+		final double current_consumption = port.state.getModeConsumption(current_mode);
+		final double decreased_consumption = port.state.getModeConsumption(current_mode - 1);
+		return current_consumption - decreased_consumption;
 	}
 
 
 	protected static double computeDeviceConsumptionResume(DeviceControl port) {
-		try {
-			return port.getModeConsumption(1);
-		} catch (Exception e) {
-			e.printStackTrace();
-			return 0.0;
-		}
+		return port.state.getModeConsumption(1);
 	}
 
 	protected static boolean canBeIncreased(DeviceControl port) {
-		boolean result = false;
-		try {
-			if ( ! port.suspended() ) {
-				int current_mode = port.currentMode();
-				result = current_mode < port.maxMode();
-			}
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
-		return result;
+		return ! port.state.isSuspended() && port.state.getCurrentMode() < port.state.getMaxMode();
 	}
 
 	protected static boolean canBeDecreased(DeviceControl port) {
-		boolean result = false;
-		try {
-			if ( ! port.suspended() ) {
-				int current_mode = port.currentMode();
-				result = current_mode > 1;
-			}
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
-		return result;
+		return ! port.state.isSuspended() && port.state.getCurrentMode() > 1;
 	}
 
 	protected DeviceControl[] computeDevicesLevel(Predicate<DeviceControl> p, Comparator<DeviceControl> c) {
+		final long started = this.phaseStart();
 		DeviceControl[] ports =
-				this.registrationTable
-						.values()
-						.stream()
+				Arrays.stream(this.devicesSnapshot)
 						.filter(p)
 						.sorted(c)
 						.toArray(DeviceControl[]::new);
+		this.recordPhase(ControlPhase.SORTING, started);
 		return ports;
 	}
 
@@ -939,19 +2152,9 @@ extends AbstractComponent
 	 * @return ports of the devices in order of how urgent they need more energy
 	 */
 	protected DeviceControl[] getUrgentDevices() {
-		final Predicate<DeviceControl> suspended = (DeviceControl op) -> {
-			try {
-				return op.suspended();
-			} catch (Exception e) {
-				e.printStackTrace();
-				return false;
-			}
-		};
-		final Comparator<DeviceControl> emergency_comparator = (op1, op2) -> {
-			final double emergency1 = computeDeviceEmergencyLevel(op1);
-			final double emergency2 = computeDeviceEmergencyLevel(op2);
-			return Double.compare(emergency1, emergency2);
-		};
+		final Predicate<DeviceControl> suspended = op -> op.state.isSuspended();
+		final Comparator<DeviceControl> emergency_comparator =
+				Comparator.comparingDouble(HEMCyPhy::computeDeviceEmergencyLevel);
 		return this.computeDevicesLevel(suspended, emergency_comparator);
 	}
 
@@ -966,42 +2169,33 @@ extends AbstractComponent
 	 *  post {@code true} // no postcondition
 	 * </pre>
 	 * @return ports of the devices in order of how urgent they need more energy
-	 * @throws Exception
 	 */
 	protected DeviceControl[] getConsumer() {
-		final Predicate<DeviceControl> not_suspended = (DeviceControl op) -> {
-			try {
-				return ! op.suspended();
-			} catch (Exception e) {
-				e.printStackTrace();
-				return false;
-			}
-		};
-		final Comparator<DeviceControl> consumption_comparator = (op1, op2) -> {
-			final double consumption1 = computeDeviceConsumptionLevel(op1);
-			final double consumption2 = computeDeviceConsumptionLevel(op2);
-			return Double.compare(consumption2, consumption1);
-		};
+		final Predicate<DeviceControl> not_suspended = op -> ! op.state.isSuspended();
+		final Comparator<DeviceControl> consumption_comparator =
+				Comparator.comparingDouble(HEMCyPhy::computeDeviceConsumptionLevel).reversed();
 		return this.computeDevicesLevel(not_suspended, consumption_comparator);
 	}
 
-	protected double computeEnergy(Predicate<DeviceControl> predicate, Function<DeviceControl, Double> mapper) {
-		return this.registrationTable
-				.values()
-				.stream()
+	protected double computeEnergy(Predicate<DeviceControl> predicate, ToDoubleFunction<DeviceControl> mapper) {
+		return Arrays.stream(this.devicesSnapshot)
 				.filter(predicate)
-				.map(mapper)
-				.reduce(0.0, Double::sum);
+				.mapToDouble(mapper)
+				.sum();
 	}
 
 	protected static boolean resumeDevice(DeviceControl port)  {
 		try {
 			if ( port.resume() ) {
 				port.cycle = 0;
-				return port.setMode(1);
+				port.state = port.state.withSuspended(false);
+				if ( port.setMode(1) ) {
+					port.state = port.state.withMode(1);
+					return true;
+				}
 			}
 		} catch (Exception e) {
-			e.printStackTrace();
+			// reported by the breaker when it opens
 		}
 		return false;
 	}
@@ -1009,9 +2203,12 @@ extends AbstractComponent
 	protected static boolean suspendDevice(DeviceControl port)  {
 		try {
 			port.cycle = 0;
-			return port.suspend();
+			if ( port.suspend() ) {
+				port.state = port.state.withSuspended(true);
+				return true;
+			}
 		} catch (Exception e) {
-			e.printStackTrace();
+			// reported by the breaker when it opens
 		}
 		return false;
 	}
@@ -1020,6 +2217,7 @@ extends AbstractComponent
 
 		// sorted in decreasing order according to power consumption
 		DeviceControl[] consumers = this.getConsumer();
+		final CommandBatch batch = this.newCommandBatch();
 
 		for (int i = consumers.length - 1; i >= 0 && available_energy > ENERGY_HYSTERESIS.getData(); --i) {
 			final DeviceControl port = consumers[i];
@@ -1029,7 +2227,11 @@ extends AbstractComponent
 
 				boolean success = false;
 				if ( available_energy >= energy_invested  ) {
-					success = increaseDeviceConsumption(port);
+					success = batch == null ?
+							increaseDeviceConsumption(port) :
+							batch.add(
+									setDeviceModeAsync(port, port.state.getCurrentMode() + 1),
+									-energy_invested);
 				}
 
 				if ( success ) {
@@ -1038,13 +2240,14 @@ extends AbstractComponent
 			}
 		}
 
-		return available_energy;
+		return batch == null ? available_energy : batch.await(available_energy, this.devicesDeadline);
 	}
 
 	protected double decreaseDevicesConsumption(double available_energy) throws Exception {
 
 		// sorted in decreasing order according to power consumption
 		DeviceControl[] consumers = this.getConsumer();
+		final CommandBatch batch = this.newCommandBatch();
 
 		for (int i = 0; i < consumers.length && available_energy < ENERGY_HYSTERESIS.getData(); ++i) {
 			final DeviceControl port = consumers[i];
@@ -1054,7 +2257,11 @@ extends AbstractComponent
 
 				boolean success = false;
 				if ( available_energy >= energy_gained + ENERGY_HYSTERESIS.getData() ) {
-					success = decreaseDeviceConsumption(port);
+					success = batch == null ?
+							decreaseDeviceConsumption(port) :
+							batch.add(
+									setDeviceModeAsync(port, port.state.getCurrentMode() - 1),
+									energy_gained);
 				}
 
 				if ( success ) {
@@ -1063,7 +2270,7 @@ extends AbstractComponent
 			}
 		}
 
-		return available_energy;
+		return batch == null ? available_energy : batch.await(available_energy, this.devicesDeadline);
 	}
 
 	protected double resumeUrgentDevices(double available) throws Exception {
@@ -1135,9 +2342,11 @@ extends AbstractComponent
 		// we only suspend the devices, if we have enough energy
 		if ( energy_sum >= needed_energy ) {
 
-			for (DeviceControl device : suspended_devices) {
-				suspendDevice(device);
-			}
+			// the suspensions are independent, so they are sent together
+			this.callDevices(
+					suspended_devices.toArray(new DeviceControl[0]),
+					HEMCyPhy::suspendDevice,
+					false);
 			available_energy = energy_sum;
 		}
 
@@ -1148,17 +2357,21 @@ extends AbstractComponent
 
 		// this array is sorted in decreasing order according to the power consumed
 		final DeviceControl[] consumer = this.getConsumer();
+		final CommandBatch batch = this.newCommandBatch();
 
 		for (int index = 0; index < consumer.length && available_energy < ENERGY_HYSTERESIS.getData(); ++index ) {
 			final DeviceControl device = consumer[index];
 			final double energy_gain = computeDeviceConsumptionLevel(device);
-			if ( suspendDevice(device) ) {
+			final boolean success = batch == null ?
+					suspendDevice(device) :
+					batch.add(suspendDeviceAsync(device), energy_gain);
+			if ( success ) {
 				available_energy += energy_gain;
 			}
 
 		}
 
-		return available_energy;
+		return batch == null ? available_energy : batch.await(available_energy, this.devicesDeadline);
 	}
 
 	/**
@@ -1175,20 +2388,13 @@ extends AbstractComponent
 	 * @throws Exception
 	 */
 	protected void computeResumeThreshold() throws Exception {
+		final long started = this.phaseStart();
 		final double number_suspended =
-				(double) this.registrationTable
-						.values()
-						.stream()
-						.filter(port -> {
-							try {
-								return port.suspended();
-							} catch (Exception e) {
-								e.printStackTrace();
-								return false;
-							}
-						}).count();
+				(double) Arrays.stream(this.devicesSnapshot)
+						.filter(port -> port.state.isSuspended())
+						.count();
 
-		final int number_devices = this.registrationTable.size();
+		final int number_devices = this.devicesSnapshot.length;
 
 		double threshold = MINIMUM_EMERGENCY_THRESHOLD;
 		if ( number_devices > 0 ) {
@@ -1197,6 +2403,7 @@ extends AbstractComponent
 		}
 
 		this.resume_threshold = threshold;
+		this.recordPhase(ControlPhase.RESUME_THRESHOLD, started);
 	}
 
 	protected void handleOverProduction(double available_energy) throws Exception {
@@ -1207,9 +2414,7 @@ extends AbstractComponent
 			this.resumeUrgentDevices(available_energy);
 		} else if (this.generatorop.getState() != GeneratorImplementationI.State.IDLE) {
 
-			final Measure<Double> tension = this.generatorop.nominalOutputTension();
-
-			final double energy_produced = convertIntensityToPower(this.generatorop.currentPowerProduction(), tension);
+			final double energy_produced = this.readGeneratorProduction();
 
 			if (available_energy - energy_produced >= ENERGY_HYSTERESIS.getData()) {
 				this.generatorop.stopGenerator();
@@ -1255,46 +2460,287 @@ extends AbstractComponent
 	}
 
 	protected void updateDevicesCycle() {
-		this.registrationTable.values().forEach(DeviceControl::updateCycle);
+		this.registrationTable.view().devices().forEach(DeviceControl::updateCycle);
 	}
 
-	protected void updateProductionState() throws Exception {
+	/**
+	 *
+	 * Reads the power produced by the running generator
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 *  pre {@code true} // no precondition
+	 *  post {@code true} // no postcondition
+	 * </pre>
+	 * @return the power produced by the generator
+	 * @throws Exception
+	 */
+	protected double readGeneratorProduction() throws Exception {
+		final Measure<Double> tension = this.generatorop.nominalOutputTension();
+		return convertIntensityToPower(this.generatorop.currentPowerProduction(), tension);
+	}
 
+	/**
+	 *
+	 * Reads the production and the consumption from the electric meter
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 *  pre {@code true} // no precondition
+	 *  post {@code true} // no postcondition
+	 * </pre>
+	 * @return the production minus the consumption
+	 * @throws Exception
+	 */
+	protected double readPowerEvolution() throws Exception {
 		final MeasureI<Double> tension = this.meterop.getTension();
 
 		final double production = convertIntensityToPower(this.meterop.getCurrentProduction(), tension);
 		final double consumption = convertIntensityToPower(this.meterop.getCurrentConsumption(), tension);
-		double power_evolution = production - consumption;
+		return production - consumption;
+	}
+
+	protected void updateProductionState() throws Exception {
 
+		long started = this.phaseStart();
+		final double power_evolution = this.readPowerEvolution();
+		this.recordPhase(ControlPhase.METER_READ, started);
+
+		started = this.phaseStart();
 		if ( power_evolution >= 0. ) {
 			handleOverProduction(power_evolution);
 		} else {
 			handleOverConsumption(power_evolution);
 		}
+		this.recordPhase(ControlPhase.DECISION, started);
 
 		this.previous_evolution = power_evolution;
 	}
 
-	protected void controlLoop() throws Exception {
+	/**
+	 * Phases of a control cycle whose latencies are recorded; the phases may
+	 * be nested: {@code DECISION} includes the {@code RESUME_THRESHOLD} and
+	 * {@code SORTING} phases and the commands sent to the devices, and
+	 * {@code CYCLE} is the whole cycle.
+	 */
+	public enum ControlPhase {
+		/** capture of the state of the devices.							*/
+		CAPTURE,
+		/** reading of the production and consumption from the meter.		*/
+		METER_READ,
+		/** computation of the threshold for resuming the devices.			*/
+		RESUME_THRESHOLD,
+		/** filtering and sorting of the devices by urgency or consumption.	*/
+		SORTING,
+		/** decisions taken from the energy balance and commands sent.		*/
+		DECISION,
+		/** a whole control cycle.											*/
+		CYCLE
+	}
+
+	/** latency of each phase of the control cycles, indexed by the ordinal
+	 *  of the phase.														*/
+	protected final LatencyHistogram[] phaseLatencies = newPhaseLatencies();
+	/** number of control cycles since the last periodic export.			*/
+	protected int cyclesSinceExport = 0;
+
+	protected static LatencyHistogram[] newPhaseLatencies() {
+		final ControlPhase[] phases = ControlPhase.values();
+		final LatencyHistogram[] ret = new LatencyHistogram[phases.length];
+		for (int i = 0; i < phases.length; ++i) {
+			ret[i] = new LatencyHistogram(phases[i].name().toLowerCase());
+		}
+		return ret;
+	}
+
+	/**
+	 * @return the beginning of a phase, 0 when the instrumentation is off
+	 */
+	protected long phaseStart() {
+		return INSTRUMENTATION ? System.nanoTime() : 0L;
+	}
 
-		if ( ! this.isFinalised() && ! this.isShutdown() ) {
+	/**
+	 *
+	 * Records the latency of a phase started at {@code started}
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 *  pre {@code phase != null}
+	 *  post {@code true} // no postcondition
+	 * </pre>
+	 * @param phase the phase which ends
+	 * @param started the beginning of the phase given by {@code phaseStart}
+	 */
+	protected void recordPhase(ControlPhase phase, long started) {
+		if (INSTRUMENTATION) {
+			this.phaseLatencies[phase.ordinal()].recordSince(started);
+		}
+	}
 
-			synchronized (this.registrationTable) {
+	/**
+	 *
+	 * Appends the latencies of the phases and of the calls to the registered
+	 * devices and the counters of their circuit breakers to
+	 * {@code LATENCY_LOG_FILE}, with the thread counts of the
+	 * component so that the exports of different configurations can be
+	 * compared when tuning them, then empties the histograms so that each
+	 * export covers the cycles executed since the previous one
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 *  pre {@code true} // no precondition
+	 *  post {@code true} // no postcondition
+	 * </pre>
+	 */
+	public void exportLatencies() {
+		final StringBuilder builder = new StringBuilder("HEM latencies at ");
+		builder.append(Instant.now());
+		builder.append(" (control period=");
+		builder.append(this.time_unit.toMicros(this.controlPeriod));
+		builder.append("us, standard threads=");
+		builder.append(NUMBER_OF_STANDARD_THREADS);
+		builder.append(", schedulable threads=");
+		builder.append(NUMBER_OF_SCHEDULABLE_THREADS);
+		builder.append(", device threads=");
+		builder.append(PARALLEL_DEVICE_CALLS ? NUMBER_OF_DEVICE_THREADS : 0);
+		builder.append(")\n");
+		for (LatencyHistogram histogram : this.phaseLatencies) {
+			histogram.report(builder.append("  ")).append('\n');
+			histogram.reset();
+		}
+		for (DeviceControl device : this.registrationTable.view().devices()) {
+			device.latencies.report(builder.append("  ")).append('\n');
+			device.latencies.reset();
+			// cumulated since the registration of the device
+			builder.append("    ").append(device.uid).append(".breaker: state=");
+			builder.append(device.breaker.getState());
+			builder.append(", failures=").append(device.breaker.getFailures());
+			builder.append(", timeouts=").append(device.breaker.getTimeouts());
+			builder.append(", openings=").append(device.breaker.getOpenings());
+			builder.append(", skipped=").append(device.breaker.getSkipped());
+			builder.append('\n');
+			// with instrumented connectors, the details of the operations
+			ConnectorStatistics statistics =
+					device.port == null ? null : device.port.getConnectorStatistics();
+			if (statistics != null) {
+				statistics.report(builder, "    " + device.uid + ".");
+				statistics.reset();
+			}
+		}
+
+		this.tracing(builder.toString());
+		try {
+			Files.write(
+					Paths.get(LATENCY_LOG_FILE),
+					builder.toString().getBytes(StandardCharsets.UTF_8),
+					StandardOpenOption.CREATE,
+					StandardOpenOption.APPEND);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/** true while a control cycle executes.								*/
+	protected final AtomicBoolean cycleRunning = new AtomicBoolean(false);
+	/** true when a cycle has been requested while another one executed, the
+	 *  requests received during a cycle are merged into one new cycle.		*/
+	protected final AtomicBoolean cycleRequested = new AtomicBoolean(false);
+
+	/**
+	 *
+	 * Executes one control cycle, unless one is already executing, in which
+	 * case a new cycle is executed as soon as the current one ends
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 *  pre {@code true} // no precondition
+	 *  post {@code true} // no postcondition
+	 * </pre>
+	 * @throws Exception
+	 */
+	protected void controlCycle() throws Exception {
+		this.cycleRequested.set(true);
+		while ( this.cycleRequested.get() && this.cycleRunning.compareAndSet(false, true) ) {
+			try {
+				this.cycleRequested.set(false);
+				if ( this.isFinalised() || this.isShutdown() ) {
+					return;
+				}
+				// no lock: the cycle works on the view of the registry taken by
+				// captureDevicesState
+				final long started = this.phaseStart();
+				this.devicesDeadline =
+						System.nanoTime() + (long) (this.time_unit.toNanos(this.controlPeriod) * DEVICE_CALLS_DEADLINE_RATIO);
+				captureDevicesState();
+				this.recordPhase(ControlPhase.CAPTURE, started);
+				reportDevicesHealth();
 				updateProductionState();
 				updateDevicesCycle();
+				this.recordPhase(ControlPhase.CYCLE, started);
+
+				if ( INSTRUMENTATION && LATENCY_EXPORT_CYCLES > 0 && ++this.cyclesSinceExport >= LATENCY_EXPORT_CYCLES ) {
+					this.cyclesSinceExport = 0;
+					this.exportLatencies();
+				}
+			} finally {
+				this.cycleRunning.set(false);
 			}
+		}
+	}
 
-			this.scheduleTask(
-					owner -> {
-						try {
-							((HEMCyPhy) owner).controlLoop();
-						} catch (Exception e) {
-							e.printStackTrace();
-						}
-					},
-					this.controlPeriod,
-					time_unit
-			);
+	/**
+	 * @see MeterNotificationI#meterChanged(double, double)
+	 */
+	@Override
+	public void meterChanged(double consumption, double production) throws Exception {
+		this.tracing("meter changed: consumption " + consumption + ", production " + production);
+		// the cycle runs on a schedulable thread so that the meter is not
+		// blocked until it ends
+		this.scheduleTask(
+				owner -> {
+					try {
+						((HEMCyPhy) owner).controlCycle();
+					} catch (Exception e) {
+						e.printStackTrace();
+					}
+				},
+				0L,
+				time_unit
+		);
+	}
+
+	/** executes controlLoop at a fixed rate, null until the execution.	*/
+	protected FixedRateLoop loop;
+
+	/**
+	 *
+	 * Body of the fixed rate control loop, stops the loop when the component
+	 * is being finalised
+	 *
+	 * <p><strong>Contract</strong></p>
+	 *
+	 * <pre>
+	 *  pre {@code true} // no precondition
+	 *  post {@code true} // no postcondition
+	 * </pre>
+	 */
+	protected void controlLoop() {
+
+		if ( this.isFinalised() || this.isShutdown() ) {
+			this.loop.stop();
+			return;
+		}
+
+		try {
+			this.controlCycle();
+		} catch (Exception e) {
+			e.printStackTrace();
 		}
 	}
 
@@ -1890,7 +3336,7 @@ extends AbstractComponent
 	 * <p><strong>Contract</strong></p>
 	 *
 	 * <pre>
-	 *  pre {@code this.registrationTable.has(DimmerLamp.EQUIPMENT_UID)}
+	 *  pre {@code this.registrationTable.contains(DimmerLamp.EQUIPMENT_UID)}
 	 *  post {@code true} // no postcondition
 	 * </pre>
 	 * @throws Exception
@@ -0,0 +1,106 @@
+package equipments.hem;
+
+import fr.sorbonne_u.components.hem2025.bases.RegistrationCI;
+
+/**
+ * The interface <code>equipments.hem.HEMRegistrationCI</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Extends {@code RegistrationCI} with the operations the registered devices
+ *  may call on the home energy manager after their registration.
+ * </p>
+ *
+ * <p>
+ *  The home energy manager fetches the consumptions of the modes of a device
+ *  once, when it registers, and keeps them in memory. A device whose limits
+ *  change calls {@code invalidateModeConsumptions} so that the manager fetches
+ *  them again.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public interface HEMRegistrationCI
+extends RegistrationCI {
+
+    /**
+     *
+     * Discards the consumptions of the modes of the device kept by the home
+     * energy manager, they are fetched again before the next decision
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code uid != null && !uid.isEmpty()}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param uid uid of the device whose consumptions changed
+     * @throws Exception <i>to do</i>.
+     */
+    void invalidateModeConsumptions(String uid) throws Exception;
+
+    /**
+     *
+     * Starts the registration of a device and returns at once, the device is
+     * registered, that is {@code registered(uid)} returns true, once its
+     * connector has been generated and its port connected
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code uid != null && !uid.isEmpty()}
+     *  pre {@code controlPortURI != null && !controlPortURI.isEmpty()}
+     *  pre {@code xmlControlAdapter != null && !xmlControlAdapter.isEmpty()}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param uid uid of the device
+     * @param controlPortURI URI of the inbound port controlling the device
+     * @param xmlControlAdapter xml descriptor of the connector
+     * @return false if the device is already registered or being registered
+     * @throws Exception <i>to do</i>.
+     */
+    boolean registerAsync(String uid, String controlPortURI, String xmlControlAdapter) throws Exception;
+
+    /**
+     *
+     * Registers a batch of devices in one call; the devices using identical
+     * descriptors share one connector class, generated once
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code registrations != null}
+     *  post {@code return.length == registrations.length}
+     * </pre>
+     * @param registrations the registrations of the devices
+     * @return for each registration, true if the device has been registered
+     * @throws Exception <i>to do</i>.
+     */
+    boolean[] registerAll(DeviceRegistration[] registrations) throws Exception;
+
+    /**
+     *
+     * Unregisters a batch of devices in one call
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code uids != null}
+     *  post {@code return.length == uids.length}
+     * </pre>
+     * @param uids uids of the devices
+     * @return for each uid, true if the device was registered and has been unregistered
+     * @throws Exception <i>to do</i>.
+     */
+    boolean[] unregisterAll(String[] uids) throws Exception;
+
+}
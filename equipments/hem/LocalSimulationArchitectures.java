@@ -141,6 +141,29 @@ public abstract class LocalSimulationArchitectures
 		map.put(source, new VariableSink[]{ sink });
 	}
 
+	/**
+	 * bind the {@code currentIntensity} variable of each appliance model to
+	 * the imported variable of the electric meter model given with it; the
+	 * meter model sums the intensities bound in this way.
+	 *
+	 * @param map			bindings of the architecture.
+	 * @param appliances	pairs of the URI of an appliance model and the name of the variable in the meter model.
+	 * @param meterURI		URI of the electric meter model.
+	 */
+	protected static void add_intensity_bindings(
+			Map<VariableSource, VariableSink[]> map,
+			String[][] appliances,
+			String meterURI
+	) {
+		for (String[] appliance : appliances) {
+			map.put(
+					new VariableSource("currentIntensity", Double.class, appliance[0]),
+					new VariableSink[]{
+							new VariableSink(appliance[1], Double.class, meterURI)
+					});
+		}
+	}
+
 	/**
 	 * create the local SIL real time simulation architecture for the
 	 * {@code ElectricMeter} component.
@@ -390,42 +413,16 @@ public abstract class LocalSimulationArchitectures
 		Map<VariableSource,VariableSink[]> bindings =
 								new HashMap<VariableSource,VariableSink[]>();
 
-		bindings.put(
-				new VariableSource("currentIntensity",
-								   Double.class,
-								   HairDryerElectricitySILModel.URI),
-				new VariableSink[] {
-					new VariableSink("currentHairDryerIntensity",
-									 Double.class,
-									 ElectricMeterElectricitySILModel.URI)
-				});
-		bindings.put(
-				new VariableSource("currentIntensity",
-								   Double.class,
-								   HeaterElectricitySILModel.URI),
-				new VariableSink[] {
-					new VariableSink("currentHeaterIntensity",
-									 Double.class,
-									 ElectricMeterElectricitySILModel.URI)
-				});
-		bindings.put(
-				new VariableSource("currentIntensity",
-						Double.class,
-						DimmerLampElectricityModel.URI),
-				new VariableSink[] {
-						new VariableSink("currentDimmerLampIntensity",
-								Double.class,
-								ElectricMeterElectricitySILModel.URI)
-				});
-		bindings.put(
-				new VariableSource("currentIntensity",
-						Double.class,
-						HeatPumpElectricityModel.URI),
-				new VariableSink[] {
-						new VariableSink("currentHeatPumpIntensity",
-								Double.class,
-								ElectricMeterElectricitySILModel.URI)
-				});
+		// intensities of the appliances summed by the electric meter
+		add_intensity_bindings(
+				bindings,
+				new String[][] {
+						{HairDryerElectricitySILModel.URI, "currentHairDryerIntensity"},
+						{HeaterElectricitySILModel.URI, "currentHeaterIntensity"},
+						{DimmerLampElectricityModel.URI, "currentDimmerLampIntensity"},
+						{HeatPumpElectricityModel.URI, "currentHeatPumpIntensity"}
+				},
+				ElectricMeterElectricitySILModel.URI);
 		bindings.put(
 				new VariableSource("batteriesInputPower",
 						Double.class,
@@ -0,0 +1,178 @@
+package equipments.hem;
+
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The class <code>equipments.hem.MeterHistory</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Fixed-capacity history of the consumption and production measured by the
+ *  electric meter, kept in a ring of primitive arrays: recording a sample
+ *  neither allocates nor grows, the oldest sample being overwritten when the
+ *  ring is full. The windowed aggregates of {@code PowerStatistics} are
+ *  computed in one pass from the newest sample backwards, stopping at the
+ *  first sample older than the window.
+ * </p>
+ *
+ * <p>
+ *  The times are in nanoseconds in the time base of the meter, the samples
+ *  being recorded in increasing time order.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code getCapacity() > 0}
+ * invariant	{@code getSize() >= 0 && getSize() <= getCapacity()}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class MeterHistory {
+
+    /** nanoseconds in one hour, the energies being given in power unit times hours */
+    protected static final double NANOS_PER_HOUR = TimeUnit.HOURS.toNanos(1);
+
+    protected final long[] times;
+    protected final double[] consumptions;
+    protected final double[] productions;
+    /** index of the next sample to be written */
+    protected int next;
+    protected int size;
+
+    /**
+     *
+     * Creates an empty history
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code capacity > 0}
+     *  post {@code getSize() == 0}
+     * </pre>
+     * @param capacity number of samples kept
+     */
+    public MeterHistory(int capacity) {
+        assert capacity > 0 :
+                new PreconditionException("capacity <= 0");
+
+        this.times = new long[capacity];
+        this.consumptions = new double[capacity];
+        this.productions = new double[capacity];
+    }
+
+    public int getCapacity() {
+        return this.times.length;
+    }
+
+    public synchronized int getSize() {
+        return this.size;
+    }
+
+    /**
+     *
+     * Records the consumption and the production from a given time, replacing
+     * the oldest sample when the history is full
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code true} // no precondition
+     *  post {@code getSize() > 0}
+     * </pre>
+     * @param time time of the sample in nanoseconds
+     * @param consumption consumption from this time on
+     * @param production production from this time on
+     */
+    public synchronized void record(long time, double consumption, double production) {
+        this.times[this.next] = time;
+        this.consumptions[this.next] = consumption;
+        this.productions[this.next] = production;
+        this.next = (this.next + 1) % this.times.length;
+        if (this.size < this.times.length) {
+            ++this.size;
+        }
+    }
+
+    /**
+     *
+     * Computes the aggregates of the consumption over the window {@code [now - window, now]}
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code window > 0}
+     *  post {@code return != null}
+     * </pre>
+     * @param now end of the window in nanoseconds
+     * @param window duration of the window in nanoseconds
+     * @return the aggregates of the consumption
+     */
+    public PowerStatistics consumption(long now, long window) {
+        return this.aggregate(this.consumptions, now, window);
+    }
+
+    /**
+     *
+     * Computes the aggregates of the production over the window {@code [now - window, now]}
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code window > 0}
+     *  post {@code return != null}
+     * </pre>
+     * @param now end of the window in nanoseconds
+     * @param window duration of the window in nanoseconds
+     * @return the aggregates of the production
+     */
+    public PowerStatistics production(long now, long window) {
+        return this.aggregate(this.productions, now, window);
+    }
+
+    protected synchronized PowerStatistics aggregate(double[] values, long now, long window) {
+        assert window > 0 :
+                new PreconditionException("window <= 0");
+
+        final long start = now - window;
+        int samples = 0;
+        long covered = 0L;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double integral = 0.0;
+
+        // each sample holds from its time to the time of the next one
+        long end = now;
+        for (int k = 0; k < this.size && end > start; ++k) {
+            final int i = Math.floorMod(this.next - 1 - k, this.times.length);
+            final long from = Math.max(this.times[i], start);
+            if (end > from) {
+                final double value = values[i];
+                final long duration = end - from;
+                integral += value * duration;
+                covered += duration;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                ++samples;
+            }
+            end = Math.min(end, this.times[i]);
+        }
+
+        if (samples == 0) {
+            return PowerStatistics.EMPTY;
+        }
+        return new PowerStatistics(samples, covered, min, max, integral / covered, integral / NANOS_PER_HOUR);
+    }
+
+    public synchronized void clear() {
+        this.next = 0;
+        this.size = 0;
+    }
+}
@@ -0,0 +1,51 @@
+package equipments.hem;
+
+import fr.sorbonne_u.components.connectors.AbstractConnector;
+
+/**
+ * The class <code>equipments.hem.MeterHistoryConnector</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class MeterHistoryConnector
+extends AbstractConnector
+implements MeterHistoryCI {
+
+    /**
+     * @see MeterHistoryI#getConsumptionStatistics
+     */
+    @Override
+    public PowerStatistics getConsumptionStatistics(double seconds) throws Exception {
+        return ((MeterHistoryCI)this.offering).getConsumptionStatistics(seconds);
+    }
+
+    /**
+     * @see MeterHistoryI#getProductionStatistics
+     */
+    @Override
+    public PowerStatistics getProductionStatistics(double seconds) throws Exception {
+        return ((MeterHistoryCI)this.offering).getProductionStatistics(seconds);
+    }
+
+    /**
+     * @see MeterHistoryI#getApplianceEnergies
+     */
+    @Override
+    public EnergyBreakdown getApplianceEnergies() throws Exception {
+        return ((MeterHistoryCI)this.offering).getApplianceEnergies();
+    }
+}
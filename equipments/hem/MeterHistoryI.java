@@ -0,0 +1,78 @@
+package equipments.hem;
+
+/**
+ * The class <code>equipments.hem.MeterHistoryI</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Services offered by the electric meter to query the aggregates of the
+ *  recent consumption and production in one call, instead of polling the
+ *  current values to follow their trend.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public interface MeterHistoryI {
+
+    /**
+     *
+     * Returns the minimum, maximum, mean and energy of the consumption over
+     * the last {@code seconds} seconds of the clock of the meter
+     * The window only covers the samples kept by the meter, see
+     * {@code PowerStatistics#getCovered}
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code seconds > 0.0}
+     *  post {@code return != null}
+     * </pre>
+     * @param seconds duration of the window in seconds
+     * @return the aggregates of the consumption, in the power unit of the meter
+     * @throws Exception <i>to do</i>.
+     */
+    PowerStatistics getConsumptionStatistics(double seconds) throws Exception;
+
+    /**
+     *
+     * Returns the minimum, maximum, mean and energy of the production over
+     * the last {@code seconds} seconds of the clock of the meter
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code seconds > 0.0}
+     *  post {@code return != null}
+     * </pre>
+     * @param seconds duration of the window in seconds
+     * @return the aggregates of the production, in the power unit of the meter
+     * @throws Exception <i>to do</i>.
+     */
+    PowerStatistics getProductionStatistics(double seconds) throws Exception;
+
+    /**
+     *
+     * Returns the energy consumed since the start of the run by each
+     * appliance summed by the meter
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code true} // no precondition
+     *  post {@code return != null}
+     * </pre>
+     * @return the energies of the appliances, empty when the meter does not measure them
+     * @throws Exception <i>to do</i>.
+     */
+    EnergyBreakdown getApplianceEnergies() throws Exception;
+
+}
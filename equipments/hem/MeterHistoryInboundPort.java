@@ -0,0 +1,71 @@
+package equipments.hem;
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.ports.AbstractInboundPort;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+/**
+ * The class <code>equipments.hem.MeterHistoryInboundPort</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class MeterHistoryInboundPort
+extends AbstractInboundPort
+implements MeterHistoryCI {
+
+    public MeterHistoryInboundPort(String uri, ComponentI owner) throws Exception {
+        super(uri, MeterHistoryCI.class, owner);
+        assert owner instanceof MeterHistoryI :
+                new PreconditionException("owner not instance of MeterHistoryI");
+    }
+
+    public MeterHistoryInboundPort(ComponentI owner) throws Exception {
+        super(MeterHistoryCI.class, owner);
+        assert owner instanceof MeterHistoryI :
+                new PreconditionException("owner not instance of MeterHistoryI");
+    }
+
+    /**
+     * @see MeterHistoryI#getConsumptionStatistics
+     */
+    @Override
+    public PowerStatistics getConsumptionStatistics(double seconds) throws Exception {
+        return this.getOwner().handleRequest(
+                owner -> ((MeterHistoryI)owner).getConsumptionStatistics(seconds)
+        );
+    }
+
+    /**
+     * @see MeterHistoryI#getProductionStatistics
+     */
+    @Override
+    public PowerStatistics getProductionStatistics(double seconds) throws Exception {
+        return this.getOwner().handleRequest(
+                owner -> ((MeterHistoryI)owner).getProductionStatistics(seconds)
+        );
+    }
+
+    /**
+     * @see MeterHistoryI#getApplianceEnergies
+     */
+    @Override
+    public EnergyBreakdown getApplianceEnergies() throws Exception {
+        return this.getOwner().handleRequest(
+                owner -> ((MeterHistoryI)owner).getApplianceEnergies()
+        );
+    }
+}
@@ -0,0 +1,60 @@
+package equipments.hem;
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.ports.AbstractOutboundPort;
+
+/**
+ * The class <code>equipments.hem.MeterHistoryOutboundPort</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class MeterHistoryOutboundPort
+extends AbstractOutboundPort
+implements MeterHistoryCI {
+
+    public MeterHistoryOutboundPort(String uri, ComponentI owner) throws Exception {
+        super(uri, MeterHistoryCI.class, owner);
+    }
+
+    public MeterHistoryOutboundPort(ComponentI owner) throws Exception {
+        super(MeterHistoryCI.class, owner);
+    }
+
+    /**
+     * @see MeterHistoryI#getConsumptionStatistics
+     */
+    @Override
+    public PowerStatistics getConsumptionStatistics(double seconds) throws Exception {
+        return ((MeterHistoryCI)this.getConnector()).getConsumptionStatistics(seconds);
+    }
+
+    /**
+     * @see MeterHistoryI#getProductionStatistics
+     */
+    @Override
+    public PowerStatistics getProductionStatistics(double seconds) throws Exception {
+        return ((MeterHistoryCI)this.getConnector()).getProductionStatistics(seconds);
+    }
+
+    /**
+     * @see MeterHistoryI#getApplianceEnergies
+     */
+    @Override
+    public EnergyBreakdown getApplianceEnergies() throws Exception {
+        return ((MeterHistoryCI)this.getConnector()).getApplianceEnergies();
+    }
+}
@@ -0,0 +1,111 @@
+package equipments.hem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The class <code>equipments.hem.MeterHistoryUnitTest</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Tests the ring of samples of the history of the meter when it wraps
+ *  around, and the aggregates computed over a window.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class MeterHistoryUnitTest {
+
+    static final double EPSILON = 1.0e-9;
+
+    /**
+     * @return a history of capacity 4 in which the samples of times 10 to 60
+     * were recorded, the consumption of time {@code 10 * i} being {@code i}
+     */
+    static MeterHistory wrappedHistory() {
+        MeterHistory history = new MeterHistory(4);
+        for (int i = 1; i <= 6; ++i) {
+            history.record(10L * i, i, 10.0 * i);
+        }
+        return history;
+    }
+
+    @Test
+    void emptyTest() {
+        MeterHistory history = new MeterHistory(4);
+        Assertions.assertEquals(0, history.getSize());
+        Assertions.assertEquals(PowerStatistics.EMPTY, history.consumption(100L, 100L));
+    }
+
+    @Test
+    void wraparoundTest() {
+        MeterHistory history = wrappedHistory();
+        Assertions.assertEquals(4, history.getCapacity());
+        Assertions.assertEquals(4, history.getSize());
+
+        // the samples of times 10 and 20 were overwritten
+        PowerStatistics statistics = history.consumption(70L, 1000L);
+        Assertions.assertEquals(4, statistics.getSamples());
+        Assertions.assertEquals(40L, statistics.getCovered());
+        Assertions.assertEquals(3.0, statistics.getMin());
+        Assertions.assertEquals(6.0, statistics.getMax());
+        Assertions.assertEquals(4.5, statistics.getMean(), EPSILON);
+    }
+
+    @Test
+    void windowTest() {
+        MeterHistory history = wrappedHistory();
+
+        // the window [45, 70] covers half of the sample of time 40
+        PowerStatistics statistics = history.consumption(70L, 25L);
+        Assertions.assertEquals(3, statistics.getSamples());
+        Assertions.assertEquals(25L, statistics.getCovered());
+        Assertions.assertEquals(4.0, statistics.getMin());
+        Assertions.assertEquals(6.0, statistics.getMax());
+        Assertions.assertEquals((4.0 * 5 + 5.0 * 10 + 6.0 * 10) / 25, statistics.getMean(), EPSILON);
+
+        statistics = history.production(70L, 25L);
+        Assertions.assertEquals(40.0, statistics.getMin());
+        Assertions.assertEquals(60.0, statistics.getMax());
+    }
+
+    @Test
+    void windowBeforeSamplesTest() {
+        MeterHistory history = wrappedHistory();
+        Assertions.assertEquals(PowerStatistics.EMPTY, history.consumption(20L, 10L));
+    }
+
+    @Test
+    void energyTest() {
+        final long hour = TimeUnit.HOURS.toNanos(1);
+        MeterHistory history = new MeterHistory(4);
+        history.record(0L, 1000.0, 0.0);
+        history.record(hour, 500.0, 0.0);
+
+        PowerStatistics statistics = history.consumption(2 * hour, 2 * hour);
+        Assertions.assertEquals(1500.0, statistics.getEnergy(), EPSILON);
+        Assertions.assertEquals(750.0, statistics.getMean(), EPSILON);
+    }
+
+    @Test
+    void clearTest() {
+        MeterHistory history = wrappedHistory();
+        history.clear();
+        Assertions.assertEquals(0, history.getSize());
+        Assertions.assertEquals(PowerStatistics.EMPTY, history.consumption(70L, 1000L));
+
+        history.record(80L, 2.0, 0.0);
+        Assertions.assertEquals(1, history.consumption(90L, 1000L).getSamples());
+    }
+}
@@ -0,0 +1,35 @@
+package equipments.hem;
+
+import fr.sorbonne_u.components.connectors.AbstractConnector;
+
+/**
+ * The class <code>equipments.hem.MeterNotificationConnector</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class MeterNotificationConnector
+extends AbstractConnector
+implements MeterNotificationCI {
+
+    /**
+     * @see MeterNotificationI#meterChanged
+     */
+    @Override
+    public void meterChanged(double consumption, double production) throws Exception {
+        ((MeterNotificationCI)this.offering).meterChanged(consumption, production);
+    }
+}
@@ -0,0 +1,42 @@
+package equipments.hem;
+
+/**
+ * The class <code>equipments.hem.MeterNotificationI</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Services offered by the components subscribed to the electric meter to
+ *  receive its notifications.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public interface MeterNotificationI {
+
+    /**
+     *
+     * Notifies a significant change of the consumption or of the production
+     * measured by the electric meter
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code consumption >= 0.0 && production >= 0.0}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param consumption current consumption in the power unit of the meter
+     * @param production current production in the power unit of the meter
+     * @throws Exception <i>to do</i>.
+     */
+    void meterChanged(double consumption, double production) throws Exception;
+
+}
@@ -0,0 +1,54 @@
+package equipments.hem;
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.ports.AbstractInboundPort;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+/**
+ * The class <code>equipments.hem.MeterNotificationInboundPort</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class MeterNotificationInboundPort
+extends AbstractInboundPort
+implements MeterNotificationCI {
+
+    public MeterNotificationInboundPort(String uri, ComponentI owner) throws Exception {
+        super(uri, MeterNotificationCI.class, owner);
+        assert owner instanceof MeterNotificationI :
+                new PreconditionException("owner not instance of MeterNotificationI");
+    }
+
+    public MeterNotificationInboundPort(ComponentI owner) throws Exception {
+        super(MeterNotificationCI.class, owner);
+        assert owner instanceof MeterNotificationI :
+                new PreconditionException("owner not instance of MeterNotificationI");
+    }
+
+    /**
+     * @see MeterNotificationI#meterChanged
+     */
+    @Override
+    public void meterChanged(double consumption, double production) throws Exception {
+        this.getOwner().handleRequest(
+                owner -> {
+                    ((MeterNotificationI)owner).meterChanged(consumption, production);
+                    return null;
+                }
+        );
+    }
+}
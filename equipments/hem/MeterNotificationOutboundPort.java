@@ -0,0 +1,44 @@
+package equipments.hem;
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.ports.AbstractOutboundPort;
+
+/**
+ * The class <code>equipments.hem.MeterNotificationOutboundPort</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class MeterNotificationOutboundPort
+extends AbstractOutboundPort
+implements MeterNotificationCI {
+
+    public MeterNotificationOutboundPort(String uri, ComponentI owner) throws Exception {
+        super(uri, MeterNotificationCI.class, owner);
+    }
+
+    public MeterNotificationOutboundPort(ComponentI owner) throws Exception {
+        super(MeterNotificationCI.class, owner);
+    }
+
+    /**
+     * @see MeterNotificationI#meterChanged
+     */
+    @Override
+    public void meterChanged(double consumption, double production) throws Exception {
+        ((MeterNotificationCI)this.getConnector()).meterChanged(consumption, production);
+    }
+}
@@ -0,0 +1,27 @@
+package equipments.hem;
+
+import fr.sorbonne_u.components.interfaces.OfferedCI;
+import fr.sorbonne_u.components.interfaces.RequiredCI;
+
+/**
+ * The class <code>equipments.hem.MeterSubscriptionCI</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Component interface offered by the electric meter to subscribe to its
+ *  changes, see {@code MeterSubscriptionI}.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public interface MeterSubscriptionCI extends MeterSubscriptionI, OfferedCI, RequiredCI
+{}
@@ -0,0 +1,43 @@
+package equipments.hem;
+
+import fr.sorbonne_u.components.connectors.AbstractConnector;
+
+/**
+ * The class <code>equipments.hem.MeterSubscriptionConnector</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class MeterSubscriptionConnector
+extends AbstractConnector
+implements MeterSubscriptionCI {
+
+    /**
+     * @see MeterSubscriptionI#subscribe
+     */
+    @Override
+    public void subscribe(String notificationInboundPortURI, double delta) throws Exception {
+        ((MeterSubscriptionCI)this.offering).subscribe(notificationInboundPortURI, delta);
+    }
+
+    /**
+     * @see MeterSubscriptionI#unsubscribe
+     */
+    @Override
+    public void unsubscribe(String notificationInboundPortURI) throws Exception {
+        ((MeterSubscriptionCI)this.offering).unsubscribe(notificationInboundPortURI);
+    }
+}
@@ -0,0 +1,63 @@
+package equipments.hem;
+
+/**
+ * The class <code>equipments.hem.MeterSubscriptionI</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Services offered by the electric meter to the components which want to be
+ *  notified of the significant changes of the consumption and production
+ *  instead of polling the meter.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public interface MeterSubscriptionI {
+
+    /**
+     *
+     * Subscribes the inbound port {@code notificationInboundPortURI} offering
+     * {@code MeterNotificationCI} to the changes of the meter
+     * A notification is sent when the consumption or the production changed by
+     * at least {@code delta} since the last notification or when the sign of
+     * the balance between production and consumption flips; the changes
+     * occurring while a notification is pending are merged into it
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code notificationInboundPortURI != null && !notificationInboundPortURI.isEmpty()}
+     *  pre {@code delta > 0.0}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param notificationInboundPortURI URI of the inbound port receiving the notifications
+     * @param delta smallest change of the consumption or production notified, in the power unit of the meter
+     * @throws Exception <i>to do</i>.
+     */
+    void subscribe(String notificationInboundPortURI, double delta) throws Exception;
+
+    /**
+     *
+     * Cancels the subscription of the inbound port {@code notificationInboundPortURI}
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code notificationInboundPortURI != null && !notificationInboundPortURI.isEmpty()}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param notificationInboundPortURI URI of the inbound port receiving the notifications
+     * @throws Exception <i>to do</i>.
+     */
+    void unsubscribe(String notificationInboundPortURI) throws Exception;
+
+}
@@ -0,0 +1,67 @@
+package equipments.hem;
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.ports.AbstractInboundPort;
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+/**
+ * The class <code>equipments.hem.MeterSubscriptionInboundPort</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class MeterSubscriptionInboundPort
+extends AbstractInboundPort
+implements MeterSubscriptionCI {
+
+    public MeterSubscriptionInboundPort(String uri, ComponentI owner) throws Exception {
+        super(uri, MeterSubscriptionCI.class, owner);
+        assert owner instanceof MeterSubscriptionI :
+                new PreconditionException("owner not instance of MeterSubscriptionI");
+    }
+
+    public MeterSubscriptionInboundPort(ComponentI owner) throws Exception {
+        super(MeterSubscriptionCI.class, owner);
+        assert owner instanceof MeterSubscriptionI :
+                new PreconditionException("owner not instance of MeterSubscriptionI");
+    }
+
+    /**
+     * @see MeterSubscriptionI#subscribe
+     */
+    @Override
+    public void subscribe(String notificationInboundPortURI, double delta) throws Exception {
+        this.getOwner().handleRequest(
+                owner -> {
+                    ((MeterSubscriptionI)owner).subscribe(notificationInboundPortURI, delta);
+                    return null;
+                }
+        );
+    }
+
+    /**
+     * @see MeterSubscriptionI#unsubscribe
+     */
+    @Override
+    public void unsubscribe(String notificationInboundPortURI) throws Exception {
+        this.getOwner().handleRequest(
+                owner -> {
+                    ((MeterSubscriptionI)owner).unsubscribe(notificationInboundPortURI);
+                    return null;
+                }
+        );
+    }
+}
@@ -0,0 +1,52 @@
+package equipments.hem;
+
+import fr.sorbonne_u.components.ComponentI;
+import fr.sorbonne_u.components.ports.AbstractOutboundPort;
+
+/**
+ * The class <code>equipments.hem.MeterSubscriptionOutboundPort</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class MeterSubscriptionOutboundPort
+extends AbstractOutboundPort
+implements MeterSubscriptionCI {
+
+    public MeterSubscriptionOutboundPort(String uri, ComponentI owner) throws Exception {
+        super(uri, MeterSubscriptionCI.class, owner);
+    }
+
+    public MeterSubscriptionOutboundPort(ComponentI owner) throws Exception {
+        super(MeterSubscriptionCI.class, owner);
+    }
+
+    /**
+     * @see MeterSubscriptionI#subscribe
+     */
+    @Override
+    public void subscribe(String notificationInboundPortURI, double delta) throws Exception {
+        ((MeterSubscriptionCI)this.getConnector()).subscribe(notificationInboundPortURI, delta);
+    }
+
+    /**
+     * @see MeterSubscriptionI#unsubscribe
+     */
+    @Override
+    public void unsubscribe(String notificationInboundPortURI) throws Exception {
+        ((MeterSubscriptionCI)this.getConnector()).unsubscribe(notificationInboundPortURI);
+    }
+}
@@ -0,0 +1,395 @@
+package equipments.hem;
+
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The class <code>equipments.hem.MeteringJournal</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Append-only journal of every reading of the electric meter, for the
+ *  reconciliation of the bills and the offline analyses. The readings are
+ *  fixed-width binary records (time in nanoseconds since the epoch,
+ *  consumption, production and tension) written in memory-mapped segment
+ *  files of {@code getSegmentRecords()} records each: appending a record
+ *  only writes four primitive values in the mapped memory, and a new
+ *  segment is mapped when the current one is full.
+ * </p>
+ *
+ * <p>
+ *  Only the current segment stays mapped, for writing; it is mapped at the
+ *  first append of the run, so opening the journal creates no segment. A
+ *  full segment is unmapped and only its number of records and the times
+ *  of its first and last records are kept: a scan maps read-only the closed
+ *  segments which cover its time range, for the time of the scan.
+ * </p>
+ *
+ * <p>
+ *  The segments are named {@code metering-<index>.seg} and are created at
+ *  their full size, filled with zeros; as the time of a record is written
+ *  after its values, a record whose time is zero has not been written, which
+ *  gives the end of the journal when it is opened again. Each opening of
+ *  the journal starts a new segment, and the times are kept in increasing
+ *  order within a run, the older records being rejected: each segment is
+ *  thus ordered, so the reader finds the start of a time range in a
+ *  segment by a binary search and then visits the records in place, without
+ *  building any object.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code getDirectory() != null}
+ * invariant	{@code getSegmentRecords() > 0}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class MeteringJournal {
+
+    /** visitor of the records of a time range */
+    @FunctionalInterface
+    public interface RecordVisitor {
+        void visit(long time, double consumption, double production, double tension);
+    }
+
+    /** size of a record in bytes */
+    public static final int RECORD_SIZE = 32;
+    protected static final int TIME_OFFSET = 0;
+    protected static final int CONSUMPTION_OFFSET = 8;
+    protected static final int PRODUCTION_OFFSET = 16;
+    protected static final int TENSION_OFFSET = 24;
+    protected static final String SEGMENT_PREFIX = "metering-";
+    protected static final String SEGMENT_EXTENSION = ".seg";
+
+    /** a segment of the journal, mapped while it is the current one */
+    protected static class Segment {
+        protected final int index;
+        /** mapping of the segment for writing, null once the segment is full */
+        protected volatile MappedByteBuffer buffer;
+        /** time of the first record, written before the count */
+        protected long first;
+        /** time of the last record, written before the count */
+        protected long last;
+        /** number of records written, published after the record */
+        protected volatile int count;
+
+        protected Segment(int index, MappedByteBuffer buffer, int count) {
+            this.index = index;
+            this.buffer = buffer;
+            this.count = count;
+        }
+
+        protected static long time(MappedByteBuffer buffer, int record) {
+            return buffer.getLong(record * RECORD_SIZE + TIME_OFFSET);
+        }
+
+        /**
+         * @param buffer mapping of the segment
+         * @param time a time in nanoseconds
+         * @param count number of records to search
+         * @return the index of the first record whose time is at least {@code time}
+         */
+        protected static int lowerBound(MappedByteBuffer buffer, long time, int count) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (time(buffer, middle) < time) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * @param buffer mapping of the segment
+         * @param capacity number of records of the mapping
+         * @return the number of records written, followed by records with a zero time
+         */
+        protected static int written(MappedByteBuffer buffer, int capacity) {
+            int low = 0;
+            int high = capacity;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (time(buffer, middle) != 0L) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    protected final Path directory;
+    protected final int segmentRecords;
+    /** the segments in the order of their creation, the last one being the current one */
+    protected final List<Segment> segments = new ArrayList<>();
+    /** segment in which the records are appended, null until the first append of the run */
+    protected Segment current;
+    /** index of the segment mapped at the first append of the run */
+    protected final int firstIndex;
+    /** time of the last record of the run, the next ones cannot be older */
+    protected long lastTime;
+
+    /**
+     *
+     * Opens the journal in the given directory, starting a new run in a new
+     * segment after the records already written; the segments already
+     * written are only read to find their records
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code directory != null}
+     *  pre {@code segmentRecords > 0 && segmentRecords <= Integer.MAX_VALUE / RECORD_SIZE}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param directory directory of the segments, created if needed
+     * @param segmentRecords number of records of a segment
+     * @throws IOException if the segments cannot be read
+     */
+    public MeteringJournal(Path directory, int segmentRecords) throws IOException {
+        assert directory != null :
+                new PreconditionException("directory == null");
+        assert segmentRecords > 0 && segmentRecords <= Integer.MAX_VALUE / RECORD_SIZE :
+                new PreconditionException("segmentRecords <= 0 || segmentRecords > Integer.MAX_VALUE / RECORD_SIZE");
+
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+
+        Files.createDirectories(directory);
+        List<Integer> indexes = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(f -> f.getFileName().toString())
+                    .filter(n -> n.startsWith(SEGMENT_PREFIX) && n.endsWith(SEGMENT_EXTENSION))
+                    .forEach(n -> {
+                        try {
+                            indexes.add(Integer.parseInt(
+                                    n.substring(SEGMENT_PREFIX.length(), n.length() - SEGMENT_EXTENSION.length())));
+                        } catch (NumberFormatException e) {
+                            // not a segment of the journal
+                        }
+                    });
+        }
+        indexes.sort(null);
+        for (int index : indexes) {
+            MappedByteBuffer buffer = this.mapReadOnly(index, this.segmentRecords);
+            Segment segment = new Segment(index, null, 0);
+            int count = Segment.written(buffer, buffer.capacity() / RECORD_SIZE);
+            if (count > 0) {
+                segment.first = Segment.time(buffer, 0);
+                segment.last = Segment.time(buffer, count - 1);
+                segment.count = count;
+                this.segments.add(segment);
+            }
+        }
+        // the times of this run are not ordered after the ones of the previous runs
+        this.firstIndex = this.segments.isEmpty() ? 0 : this.segments.get(this.segments.size() - 1).index + 1;
+    }
+
+    public Path getDirectory() {
+        return this.directory;
+    }
+
+    public int getSegmentRecords() {
+        return this.segmentRecords;
+    }
+
+    /**
+     * @param index index of the segment
+     * @return the file of the segment
+     */
+    protected Path file(int index) {
+        return this.directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, index, SEGMENT_EXTENSION));
+    }
+
+    /**
+     * @param index index of the segment
+     * @return the segment mapped at its full size for writing, created if needed
+     * @throws IOException if the segment cannot be created or mapped
+     */
+    protected Segment map(int index) throws IOException {
+        try (FileChannel channel = FileChannel.open(
+                this.file(index), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // the mapping stays valid once the channel is closed
+            MappedByteBuffer buffer =
+                    channel.map(FileChannel.MapMode.READ_WRITE, 0L, (long) this.segmentRecords * RECORD_SIZE);
+            buffer.order(ByteOrder.nativeOrder());
+            return new Segment(index, buffer, 0);
+        }
+    }
+
+    /**
+     * @param index index of an existing segment
+     * @param records number of records to map at most
+     * @return the first records of the segment mapped read-only, fewer if the file is shorter
+     * @throws IOException if the segment cannot be read
+     */
+    protected MappedByteBuffer mapReadOnly(int index, int records) throws IOException {
+        try (FileChannel channel = FileChannel.open(this.file(index), StandardOpenOption.READ)) {
+            long size = Math.min(channel.size() / RECORD_SIZE, records) * RECORD_SIZE;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+            buffer.order(ByteOrder.nativeOrder());
+            return buffer;
+        }
+    }
+
+    /**
+     *
+     * Appends a reading, unless its time is older than the one of the last
+     * reading of the run, which would break the order of the times
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code time > 0}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param time time of the reading in nanoseconds since the epoch
+     * @param consumption consumption in the power unit of the meter
+     * @param production production in the power unit of the meter
+     * @param tension tension in the tension unit of the meter
+     * @return true if the reading is appended, false if its time is out of order
+     * @throws IOException if a new segment cannot be mapped
+     */
+    public synchronized boolean append(long time, double consumption, double production, double tension)
+            throws IOException {
+        assert time > 0L :
+                new PreconditionException("time <= 0");
+
+        if (time < this.lastTime) {
+            return false;
+        }
+        Segment segment = this.current;
+        if (segment == null || segment.count == this.segmentRecords) {
+            segment = this.map(segment == null ? this.firstIndex : segment.index + 1);
+            synchronized (this.segments) {
+                this.segments.add(segment);
+            }
+            if (this.current != null) {
+                // the full segment is only mapped again by the scans
+                this.current.buffer.force();
+                this.current.buffer = null;
+            }
+            this.current = segment;
+        }
+        final MappedByteBuffer buffer = segment.buffer;
+        final int offset = segment.count * RECORD_SIZE;
+        buffer.putDouble(offset + CONSUMPTION_OFFSET, consumption);
+        buffer.putDouble(offset + PRODUCTION_OFFSET, production);
+        buffer.putDouble(offset + TENSION_OFFSET, tension);
+        // the time is written last, a record without time is not written
+        buffer.putLong(offset + TIME_OFFSET, time);
+        this.lastTime = time;
+        if (segment.count == 0) {
+            segment.first = time;
+        }
+        segment.last = time;
+        segment.count = segment.count + 1;
+        return true;
+    }
+
+    /**
+     *
+     * Visits the records whose time is in {@code [from, to]}, reading the
+     * values in place, run after run and in time order within a run; the
+     * closed segments covering the range are mapped read-only for the scan,
+     * and the records appended during the scan may or may not be visited
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code visitor != null}
+     *  post {@code return >= 0}
+     * </pre>
+     * @param from first time of the range in nanoseconds since the epoch
+     * @param to last time of the range in nanoseconds since the epoch
+     * @param visitor visitor of the records
+     * @return the number of records visited
+     * @throws IOException if a closed segment cannot be read
+     */
+    public long scan(long from, long to, RecordVisitor visitor) throws IOException {
+        assert visitor != null :
+                new PreconditionException("visitor == null");
+
+        final Segment[] snapshot;
+        synchronized (this.segments) {
+            snapshot = this.segments.toArray(new Segment[0]);
+        }
+        long visited = 0L;
+        for (final Segment segment : snapshot) {
+            final int count = segment.count;
+            // each segment is ordered, but the runs are not ordered between them
+            if (count == 0 || segment.first > to || segment.last < from) {
+                continue;
+            }
+            MappedByteBuffer buffer = segment.buffer;
+            if (buffer == null) {
+                buffer = this.mapReadOnly(segment.index, count);
+            }
+            for (int r = Segment.lowerBound(buffer, from, count); r < count; ++r) {
+                final int offset = r * RECORD_SIZE;
+                final long time = buffer.getLong(offset + TIME_OFFSET);
+                if (time > to) {
+                    break;
+                }
+                visitor.visit(
+                        time,
+                        buffer.getDouble(offset + CONSUMPTION_OFFSET),
+                        buffer.getDouble(offset + PRODUCTION_OFFSET),
+                        buffer.getDouble(offset + TENSION_OFFSET));
+                ++visited;
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * @return the number of records in the journal
+     */
+    public long getRecordCount() {
+        long result = 0L;
+        synchronized (this.segments) {
+            for (Segment segment : this.segments) {
+                result += segment.count;
+            }
+        }
+        return result;
+    }
+
+    /**
+     *
+     * Forces the records of the current segment to the disk
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code true} // no precondition
+     *  post {@code true} // no postcondition
+     * </pre>
+     */
+    public synchronized void force() {
+        if (this.current != null) {
+            this.current.buffer.force();
+        }
+    }
+}
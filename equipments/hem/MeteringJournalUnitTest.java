@@ -0,0 +1,158 @@
+package equipments.hem;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The class <code>equipments.hem.MeteringJournalUnitTest</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Tests the scans of the metering journal across its segments, its
+ *  reopening in a new run, the rejection of the readings out of order and
+ *  the mapping of the current segment only.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class MeteringJournalUnitTest {
+
+    static final int SEGMENT_RECORDS = 4;
+
+    Path directory;
+
+    @BeforeEach
+    void initialise() throws IOException {
+        this.directory = Files.createTempDirectory("metering-journal");
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        try (Stream<Path> files = Files.walk(this.directory)) {
+            for (Path f : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(f);
+            }
+        }
+    }
+
+    /**
+     * appends the readings of times {@code 10 * i} for i in [first, last],
+     * the consumption of a reading being its time
+     */
+    static void append(MeteringJournal journal, int first, int last) throws IOException {
+        for (int i = first; i <= last; ++i) {
+            Assertions.assertTrue(journal.append(10L * i, 10.0 * i, 1.0, 220.0));
+        }
+    }
+
+    static List<Long> scan(MeteringJournal journal, long from, long to) throws IOException {
+        List<Long> times = new ArrayList<>();
+        long visited = journal.scan(from, to, (time, consumption, production, tension) -> {
+            Assertions.assertEquals((double) time, consumption);
+            times.add(time);
+        });
+        Assertions.assertEquals(times.size(), (int) visited);
+        return times;
+    }
+
+    @Test
+    void scanAcrossSegmentsTest() throws IOException {
+        MeteringJournal journal = new MeteringJournal(this.directory, SEGMENT_RECORDS);
+        append(journal, 1, 10);
+        Assertions.assertEquals(10L, journal.getRecordCount());
+
+        Assertions.assertEquals(List.of(30L, 40L, 50L, 60L, 70L), scan(journal, 25L, 70L));
+        Assertions.assertEquals(List.of(10L), scan(journal, 0L, 10L));
+        Assertions.assertEquals(List.of(100L), scan(journal, 100L, 1000L));
+        Assertions.assertTrue(scan(journal, 101L, 1000L).isEmpty());
+    }
+
+    @Test
+    void mappingTest() throws IOException {
+        MeteringJournal journal = new MeteringJournal(this.directory, SEGMENT_RECORDS);
+        // the first segment is created by the first append
+        try (Stream<Path> files = Files.list(this.directory)) {
+            Assertions.assertEquals(0L, files.count());
+        }
+        append(journal, 1, 10);
+        try (Stream<Path> files = Files.list(this.directory)) {
+            Assertions.assertEquals(3L, files.count());
+        }
+
+        // only the current segment stays mapped, the closed ones are read by the scans
+        for (MeteringJournal.Segment segment : journal.segments) {
+            Assertions.assertEquals(segment == journal.current, segment.buffer != null);
+        }
+        Assertions.assertEquals(List.of(40L, 50L), scan(journal, 40L, 50L));
+
+        // a reopened journal maps nothing until its first append
+        journal.force();
+        journal = new MeteringJournal(this.directory, SEGMENT_RECORDS);
+        Assertions.assertNull(journal.current);
+        for (MeteringJournal.Segment segment : journal.segments) {
+            Assertions.assertNull(segment.buffer);
+        }
+        Assertions.assertEquals(List.of(90L, 100L), scan(journal, 90L, 1000L));
+    }
+
+    @Test
+    void outOfOrderTest() throws IOException {
+        MeteringJournal journal = new MeteringJournal(this.directory, SEGMENT_RECORDS);
+        append(journal, 1, 3);
+        Assertions.assertFalse(journal.append(25L, 25.0, 1.0, 220.0));
+        // a reading at the time of the last one is kept
+        Assertions.assertTrue(journal.append(30L, 30.0, 1.0, 220.0));
+        Assertions.assertEquals(4L, journal.getRecordCount());
+        Assertions.assertEquals(List.of(10L, 20L, 30L, 30L), scan(journal, 0L, 100L));
+    }
+
+    @Test
+    void reopenTest() throws IOException {
+        MeteringJournal journal = new MeteringJournal(this.directory, SEGMENT_RECORDS);
+        append(journal, 1, 6);
+        journal.force();
+
+        // the next run starts again from an earlier time in a new segment
+        journal = new MeteringJournal(this.directory, SEGMENT_RECORDS);
+        Assertions.assertEquals(6L, journal.getRecordCount());
+        append(journal, 2, 4);
+        Assertions.assertEquals(9L, journal.getRecordCount());
+
+        // run after run, in time order within a run
+        Assertions.assertEquals(List.of(20L, 30L, 20L, 30L), scan(journal, 20L, 30L));
+        Assertions.assertEquals(List.of(50L, 60L), scan(journal, 45L, 60L));
+    }
+
+    @Test
+    void tornRecordTest() throws IOException {
+        MeteringJournal journal = new MeteringJournal(this.directory, SEGMENT_RECORDS);
+        append(journal, 1, 2);
+        // a crash before the time of the third record was written
+        MeteringJournal.Segment segment = journal.current;
+        segment.buffer.putDouble(2 * MeteringJournal.RECORD_SIZE + MeteringJournal.CONSUMPTION_OFFSET, 30.0);
+        journal.force();
+
+        journal = new MeteringJournal(this.directory, SEGMENT_RECORDS);
+        Assertions.assertEquals(2L, journal.getRecordCount());
+        Assertions.assertEquals(List.of(10L, 20L), scan(journal, 0L, 100L));
+    }
+}
@@ -0,0 +1,143 @@
+package equipments.hem;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * The class <code>equipments.hem.PowerReading</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Latest reading of a power by the electric meter, kept as primitive values
+ *  (the power, the instant of the measure and the instant of the signal, in
+ *  nanoseconds since the epoch) behind a versioned stamp: updating the
+ *  reading allocates nothing, and reading it is an optimistic read validated
+ *  by the stamp, which only falls back to a lock when it races with an
+ *  update. The objects of the component interfaces are materialised from a
+ *  consistent copy of the values only when they are asked for.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code !isSet() || getPower() >= 0.0}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class PowerReading {
+
+    /** builds an object from a consistent copy of a reading */
+    @FunctionalInterface
+    public interface Materialiser<R> {
+        R materialise(double power, long measured, long signalled);
+    }
+
+    protected final StampedLock stamp = new StampedLock();
+    protected boolean set;
+    protected double power;
+    /** instant of the measure in nanoseconds since the epoch */
+    protected long measured;
+    /** instant of the signal in nanoseconds since the epoch */
+    protected long signalled;
+
+    /**
+     *
+     * Replaces the reading and returns the previous power
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code power >= 0.0}
+     *  post {@code isSet()}
+     * </pre>
+     * @param power new power
+     * @param measured instant of the measure in nanoseconds since the epoch
+     * @param signalled instant of the signal in nanoseconds since the epoch
+     * @return the previous power, NaN if the reading was not set
+     */
+    public double swap(double power, long measured, long signalled) {
+        final long s = this.stamp.writeLock();
+        try {
+            final double previous = this.set ? this.power : Double.NaN;
+            this.set = true;
+            this.power = power;
+            this.measured = measured;
+            this.signalled = signalled;
+            return previous;
+        } finally {
+            this.stamp.unlockWrite(s);
+        }
+    }
+
+    public boolean isSet() {
+        long s = this.stamp.tryOptimisticRead();
+        boolean result = this.set;
+        if (!this.stamp.validate(s)) {
+            s = this.stamp.readLock();
+            try {
+                result = this.set;
+            } finally {
+                this.stamp.unlockRead(s);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the latest power, NaN if the reading is not set
+     */
+    public double getPower() {
+        long s = this.stamp.tryOptimisticRead();
+        boolean isSet = this.set;
+        double result = this.power;
+        if (!this.stamp.validate(s)) {
+            s = this.stamp.readLock();
+            try {
+                isSet = this.set;
+                result = this.power;
+            } finally {
+                this.stamp.unlockRead(s);
+            }
+        }
+        return isSet ? result : Double.NaN;
+    }
+
+    /**
+     *
+     * Builds an object from a consistent copy of the reading, the materialiser
+     * being called outside of the stamp
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code materialiser != null}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param materialiser builder of the object
+     * @return the object built, null if the reading is not set
+     * @param <R> type of the object
+     */
+    public <R> R materialise(Materialiser<R> materialiser) {
+        long s = this.stamp.tryOptimisticRead();
+        boolean isSet = this.set;
+        double p = this.power;
+        long m = this.measured;
+        long sig = this.signalled;
+        if (!this.stamp.validate(s)) {
+            s = this.stamp.readLock();
+            try {
+                isSet = this.set;
+                p = this.power;
+                m = this.measured;
+                sig = this.signalled;
+            } finally {
+                this.stamp.unlockRead(s);
+            }
+        }
+        return isSet ? materialiser.materialise(p, m, sig) : null;
+    }
+}
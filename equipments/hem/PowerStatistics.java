@@ -0,0 +1,96 @@
+package equipments.hem;
+
+import java.io.Serializable;
+
+/**
+ * The class <code>equipments.hem.PowerStatistics</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Immutable aggregates of a power (consumption or production) measured by
+ *  the electric meter over a window of time, returned in one call by
+ *  {@code MeterHistoryCI}. The power is a step signal, each sample holding
+ *  until the next one, so the mean is weighted by the time each sample held
+ *  and the energy is the exact integral of the signal over the window.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code getSamples() >= 0 && getCovered() >= 0}
+ * invariant	{@code getSamples() > 0 || getEnergy() == 0.0}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public final class PowerStatistics
+implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** statistics of a window without any sample */
+    public static final PowerStatistics EMPTY =
+            new PowerStatistics(0, 0L, Double.NaN, Double.NaN, Double.NaN, 0.0);
+
+    protected final int samples;
+    protected final long covered;
+    protected final double min;
+    protected final double max;
+    protected final double mean;
+    protected final double energy;
+
+    /**
+     * @param samples number of samples in effect during the window
+     * @param covered duration of the window covered by the samples, in nanoseconds
+     * @param min smallest power in the window, NaN without sample
+     * @param max largest power in the window, NaN without sample
+     * @param mean mean power weighted by time, NaN without sample
+     * @param energy energy over the window, in the power unit of the meter times hours
+     */
+    public PowerStatistics(int samples, long covered, double min, double max, double mean, double energy) {
+        this.samples = samples;
+        this.covered = covered;
+        this.min = min;
+        this.max = max;
+        this.mean = mean;
+        this.energy = energy;
+    }
+
+    public int getSamples() {
+        return this.samples;
+    }
+
+    /**
+     * @return the duration of the window covered by the samples in nanoseconds, shorter than the window when the
+     * history does not go back far enough
+     */
+    public long getCovered() {
+        return this.covered;
+    }
+
+    public double getMin() {
+        return this.min;
+    }
+
+    public double getMax() {
+        return this.max;
+    }
+
+    public double getMean() {
+        return this.mean;
+    }
+
+    public double getEnergy() {
+        return this.energy;
+    }
+
+    @Override
+    public String toString() {
+        return "PowerStatistics[samples=" + this.samples + ", covered=" + this.covered + "ns, min=" + this.min +
+                ", max=" + this.max + ", mean=" + this.mean + ", energy=" + this.energy + ']';
+    }
+}
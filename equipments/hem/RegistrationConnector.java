@@ -24,7 +24,7 @@ import fr.sorbonne_u.components.hem2025.bases.RegistrationCI;
  */
 public class RegistrationConnector
 extends AbstractConnector
-implements RegistrationCI {
+implements HEMRegistrationCI {
     @Override
     public boolean registered(String uid) throws Exception {
         return ((RegistrationCI)this.offering).registered(uid);
@@ -39,4 +39,24 @@ implements RegistrationCI {
     public void unregister(String uid) throws Exception {
         ((RegistrationCI)this.offering).unregister(uid);
     }
+
+    @Override
+    public void invalidateModeConsumptions(String uid) throws Exception {
+        ((HEMRegistrationCI)this.offering).invalidateModeConsumptions(uid);
+    }
+
+    @Override
+    public boolean registerAsync(String uid, String controlPortURI, String xmlControlAdapter) throws Exception {
+        return ((HEMRegistrationCI)this.offering).registerAsync(uid, controlPortURI, xmlControlAdapter);
+    }
+
+    @Override
+    public boolean[] registerAll(DeviceRegistration[] registrations) throws Exception {
+        return ((HEMRegistrationCI)this.offering).registerAll(registrations);
+    }
+
+    @Override
+    public boolean[] unregisterAll(String[] uids) throws Exception {
+        return ((HEMRegistrationCI)this.offering).unregisterAll(uids);
+    }
 }
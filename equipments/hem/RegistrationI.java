@@ -1,5 +1,7 @@
 package equipments.hem;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * The class <code>equipments.hem.RegistrationI</code>.
  *
@@ -31,4 +33,16 @@ public interface RegistrationI {
 
     void			unregister(String uid) throws Exception;
 
+    void			invalidateModeConsumptions(String uid) throws Exception;
+
+    CompletableFuture<Boolean>	submitRegistration(
+            String uid,
+            String controlPortURI,
+            String xmlControlAdapter
+    ) throws Exception;
+
+    CompletableFuture<boolean[]>	submitRegistrations(DeviceRegistration[] registrations) throws Exception;
+
+    boolean[]		unregisterAll(String[] uids) throws Exception;
+
 }
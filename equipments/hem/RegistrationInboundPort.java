@@ -1,9 +1,10 @@
 package equipments.hem;
 
 import fr.sorbonne_u.components.ComponentI;
-import fr.sorbonne_u.components.hem2025.bases.RegistrationCI;
 import fr.sorbonne_u.components.ports.AbstractInboundPort;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * The class <code>hem.equipments.RegistrationInboundPort</code>.
  *
@@ -25,15 +26,15 @@ import fr.sorbonne_u.components.ports.AbstractInboundPort;
  */
 public class RegistrationInboundPort
 extends AbstractInboundPort
-implements RegistrationCI {
+implements HEMRegistrationCI {
 
     public RegistrationInboundPort(String uri, ComponentI owner) throws Exception {
-        super(uri, RegistrationCI.class, owner);
+        super(uri, HEMRegistrationCI.class, owner);
 
     }
 
     public RegistrationInboundPort(ComponentI owner) throws Exception {
-        super(RegistrationCI.class, owner);
+        super(HEMRegistrationCI.class, owner);
 
     }
 
@@ -44,10 +45,41 @@ implements RegistrationCI {
         );
     }
 
+    /**
+     * The registration runs on the registration workers of the owner, the
+     * caller waits for its end without holding a thread of the owner.
+     *
+     * @see HEMRegistrationCI#register(String, String, String)
+     */
     @Override
     public boolean register(String uid, String controlPortURI, String xmlControlAdapter) throws Exception {
+        CompletableFuture<Boolean> registration = this.getOwner().handleRequest(
+                owner -> ((RegistrationI)owner).submitRegistration(uid, controlPortURI, xmlControlAdapter)
+        );
+        return registration.get();
+    }
+
+    @Override
+    public boolean registerAsync(String uid, String controlPortURI, String xmlControlAdapter) throws Exception {
+        CompletableFuture<Boolean> registration = this.getOwner().handleRequest(
+                owner -> ((RegistrationI)owner).submitRegistration(uid, controlPortURI, xmlControlAdapter)
+        );
+        // a rejected registration is completed with false at once
+        return !registration.isDone() || registration.getNow(false);
+    }
+
+    @Override
+    public boolean[] registerAll(DeviceRegistration[] registrations) throws Exception {
+        CompletableFuture<boolean[]> batch = this.getOwner().handleRequest(
+                owner -> ((RegistrationI)owner).submitRegistrations(registrations)
+        );
+        return batch.get();
+    }
+
+    @Override
+    public boolean[] unregisterAll(String[] uids) throws Exception {
         return this.getOwner().handleRequest(
-                owner -> ((RegistrationI)owner).register(uid, controlPortURI, xmlControlAdapter)
+                owner -> ((RegistrationI)owner).unregisterAll(uids)
         );
     }
 
@@ -60,4 +92,14 @@ implements RegistrationCI {
           }
         );
     }
+
+    @Override
+    public void invalidateModeConsumptions(String uid) throws Exception {
+        this.getOwner().handleRequest(
+          owner -> {
+              ((RegistrationI)owner).invalidateModeConsumptions(uid);
+              return null;
+          }
+        );
+    }
 }
@@ -0,0 +1,297 @@
+package equipments.hem;
+
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UTFDataFormatException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The class <code>equipments.hem.RegistrationJournal</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Append-only journal of the registrations and unregistrations of the
+ *  devices to the HEM, kept in a local file so that a restarted HEM can
+ *  reconnect to the devices it controlled instead of waiting for each of
+ *  them to register again.
+ * </p>
+ *
+ * <p>
+ *  The file is a sequence of binary records: a registration holds the uid,
+ *  the URI of the control port and the descriptor of the connector of the
+ *  device, an unregistration holds the uid only. A record written partially
+ *  by a crash ends the journal and is ignored. When the journal is opened,
+ *  and whenever the records of the devices no longer registered outnumber
+ *  the others, the file is rewritten with the live registrations only, in a
+ *  temporary file first which is then moved over the journal.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code getFile() != null}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class RegistrationJournal {
+
+    protected static final byte REGISTRATION = 'R';
+    protected static final byte UNREGISTRATION = 'U';
+    protected static final String TEMPORARY_EXTENSION = ".tmp";
+    /** length in bytes above which the descriptor of a record is taken for garbage */
+    protected static final int MAX_DESCRIPTOR_LENGTH = 1 << 24;
+    /** number of records below which the journal is never compacted */
+    protected static int COMPACTION_THRESHOLD = 64;
+    /** when true, each record is forced to the disk before returning */
+    public static boolean SYNC = false;
+
+    protected final Path file;
+    /** live registrations, by uid, in the order of the journal */
+    protected final Map<String, DeviceRegistration> registrations = new LinkedHashMap<>();
+    /** number of records in the file */
+    protected int records;
+    /** appending stream, null when the journal is closed */
+    protected FileOutputStream appender;
+    protected DataOutputStream output;
+
+    /**
+     *
+     * Creates a journal in the given file, read and created by {@link #open()}
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code file != null}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param file file of the journal
+     */
+    public RegistrationJournal(Path file) {
+        assert file != null :
+                new PreconditionException("file == null");
+
+        this.file = file;
+    }
+
+    public Path getFile() {
+        return this.file;
+    }
+
+    /**
+     *
+     * Reads the journal, compacts it and opens it to append the next records
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code true} // no precondition
+     *  post {@code return != null}
+     * </pre>
+     * @return the registrations live at the end of the journal, in the order of the journal
+     * @throws IOException if the journal cannot be read or written
+     */
+    public synchronized List<DeviceRegistration> open() throws IOException {
+        this.close();
+        this.registrations.clear();
+        if (Files.isRegularFile(this.file)) {
+            try (InputStream in = Files.newInputStream(this.file)) {
+                this.read(new DataInputStream(new BufferedInputStream(in)));
+            }
+        }
+        this.compact();
+        return new ArrayList<>(this.registrations.values());
+    }
+
+    /**
+     * Reads the records up to the end of the journal, or up to the first
+     * record cut by a crash or which is not a record
+     * @param in stream of the records
+     * @throws IOException if the journal cannot be read
+     */
+    protected void read(DataInputStream in) throws IOException {
+        try {
+            while (true) {
+                int type = in.read();
+                if (type == -1) {
+                    return;
+                }
+                String uid = in.readUTF();
+                if (type == REGISTRATION) {
+                    String controlPortURI = in.readUTF();
+                    int length = in.readInt();
+                    if (uid.isEmpty() || controlPortURI.isEmpty() || length <= 0 || length > MAX_DESCRIPTOR_LENGTH) {
+                        // not a registration, the end of the file is garbage
+                        return;
+                    }
+                    byte[] descriptor = new byte[length];
+                    in.readFully(descriptor);
+                    this.registrations.put(
+                            uid,
+                            new DeviceRegistration(
+                                    uid, controlPortURI, new String(descriptor, StandardCharsets.UTF_8)));
+                } else if (type == UNREGISTRATION) {
+                    this.registrations.remove(uid);
+                } else {
+                    // not a record, the end of the file is garbage
+                    return;
+                }
+            }
+        } catch (EOFException e) {
+            // record cut by a crash, the registration it held is lost
+        } catch (UTFDataFormatException e) {
+            // not a string, the end of the file is garbage
+        }
+    }
+
+    /**
+     * Rewrites the journal with the live registrations only and reopens it
+     * @throws IOException if the journal cannot be written
+     */
+    protected void compact() throws IOException {
+        this.close();
+        if (this.file.getParent() != null) {
+            Files.createDirectories(this.file.getParent());
+        }
+        Path temporary = this.file.resolveSibling(this.file.getFileName() + TEMPORARY_EXTENSION);
+        try (FileOutputStream out = new FileOutputStream(temporary.toFile())) {
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+            for (DeviceRegistration registration : this.registrations.values()) {
+                writeRegistration(data, registration);
+            }
+            data.flush();
+            out.getFD().sync();
+        }
+        Files.move(temporary, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.records = this.registrations.size();
+
+        this.appender = new FileOutputStream(this.file.toFile(), true);
+        this.output = new DataOutputStream(new BufferedOutputStream(this.appender));
+    }
+
+    protected static void writeRegistration(DataOutputStream out, DeviceRegistration registration)
+            throws IOException {
+        byte[] descriptor = registration.getXmlControlAdapter().getBytes(StandardCharsets.UTF_8);
+        out.writeByte(REGISTRATION);
+        out.writeUTF(registration.getUid());
+        out.writeUTF(registration.getControlPortURI());
+        out.writeInt(descriptor.length);
+        out.write(descriptor);
+    }
+
+    /**
+     *
+     * Appends the registration of a device
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code registration != null}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param registration the registration of the device
+     * @throws IOException if the journal is closed or cannot be written
+     */
+    public synchronized void recordRegistration(DeviceRegistration registration) throws IOException {
+        assert registration != null :
+                new PreconditionException("registration == null");
+
+        this.ensureOpen();
+        writeRegistration(this.output, registration);
+        this.registrations.put(registration.getUid(), registration);
+        this.appended();
+    }
+
+    /**
+     *
+     * Appends the unregistration of a device, nothing is written if the
+     * device is not in the journal
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code uid != null && !uid.isEmpty()}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param uid uid of the device
+     * @throws IOException if the journal is closed or cannot be written
+     */
+    public synchronized void recordUnregistration(String uid) throws IOException {
+        assert uid != null && !uid.isEmpty() :
+                new PreconditionException("uid == null || uid.isEmpty()");
+
+        this.ensureOpen();
+        if (this.registrations.remove(uid) == null) {
+            return;
+        }
+        this.output.writeByte(UNREGISTRATION);
+        this.output.writeUTF(uid);
+        this.appended();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.output == null) {
+            throw new IOException("the journal " + this.file + " is not open");
+        }
+    }
+
+    private void appended() throws IOException {
+        this.output.flush();
+        if (SYNC) {
+            this.appender.getFD().sync();
+        }
+        ++this.records;
+        if (this.records > COMPACTION_THRESHOLD && this.records > 2 * this.registrations.size()) {
+            this.compact();
+        }
+    }
+
+    /**
+     * @return the registrations live in the journal, in the order of the journal
+     */
+    public synchronized List<DeviceRegistration> getRegistrations() {
+        return new ArrayList<>(this.registrations.values());
+    }
+
+    /**
+     *
+     * Closes the journal, the next records are refused until it is opened again
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code true} // no precondition
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @throws IOException if the last records cannot be written
+     */
+    public synchronized void close() throws IOException {
+        if (this.output != null) {
+            try {
+                this.output.close();
+            } finally {
+                this.output = null;
+                this.appender = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package equipments.hem;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The class <code>equipments.hem.RegistrationJournalUnitTest</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Tests the recovery of the registrations from the journal when it is
+ *  opened again, including after a record torn by a crash or garbage at the
+ *  end of the file, and its compaction.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class RegistrationJournalUnitTest {
+
+    static final DeviceRegistration HEATER =
+            new DeviceRegistration("heater", "heater-control", "<control-adapter uid=\"heater\"/>");
+    static final DeviceRegistration LAMP =
+            new DeviceRegistration("lamp", "lamp-control", "<control-adapter uid=\"lamp\"/>");
+
+    Path directory;
+    Path file;
+    int compactionThreshold;
+
+    @BeforeEach
+    void initialise() throws IOException {
+        this.directory = Files.createTempDirectory("registration-journal");
+        this.file = this.directory.resolve("registrations.journal");
+        this.compactionThreshold = RegistrationJournal.COMPACTION_THRESHOLD;
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        RegistrationJournal.COMPACTION_THRESHOLD = this.compactionThreshold;
+        try (Stream<Path> files = Files.walk(this.directory)) {
+            for (Path f : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(f);
+            }
+        }
+    }
+
+    List<DeviceRegistration> reopen() throws IOException {
+        RegistrationJournal journal = new RegistrationJournal(this.file);
+        try {
+            return journal.open();
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Test
+    void reopenTest() throws IOException {
+        RegistrationJournal journal = new RegistrationJournal(this.file);
+        Assertions.assertTrue(journal.open().isEmpty());
+        journal.recordRegistration(HEATER);
+        journal.recordRegistration(LAMP);
+        journal.recordUnregistration(HEATER.getUid());
+        journal.recordRegistration(HEATER);
+        journal.close();
+
+        List<DeviceRegistration> registrations = this.reopen();
+        Assertions.assertEquals(2, registrations.size());
+        // in the order of the journal
+        Assertions.assertEquals(LAMP.getUid(), registrations.get(0).getUid());
+        Assertions.assertEquals(HEATER.getUid(), registrations.get(1).getUid());
+        Assertions.assertEquals(HEATER.getControlPortURI(), registrations.get(1).getControlPortURI());
+        Assertions.assertEquals(HEATER.getXmlControlAdapter(), registrations.get(1).getXmlControlAdapter());
+    }
+
+    @Test
+    void tornRecordTest() throws IOException {
+        RegistrationJournal journal = new RegistrationJournal(this.file);
+        journal.open();
+        journal.recordRegistration(HEATER);
+        journal.recordRegistration(LAMP);
+        journal.close();
+
+        // a crash cuts the last record
+        try (RandomAccessFile f = new RandomAccessFile(this.file.toFile(), "rw")) {
+            f.setLength(f.length() - 3);
+        }
+        journal = new RegistrationJournal(this.file);
+        List<DeviceRegistration> registrations = journal.open();
+        Assertions.assertEquals(1, registrations.size());
+        Assertions.assertEquals(HEATER.getUid(), registrations.get(0).getUid());
+
+        // the torn record was dropped by the compaction, the next ones are read
+        journal.recordRegistration(LAMP);
+        journal.close();
+        Assertions.assertEquals(2, this.reopen().size());
+    }
+
+    @Test
+    void garbageLengthTest() throws IOException {
+        RegistrationJournal journal = new RegistrationJournal(this.file);
+        journal.open();
+        journal.recordRegistration(HEATER);
+        journal.close();
+
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(this.file.toFile(), true))) {
+            out.writeByte(RegistrationJournal.REGISTRATION);
+            out.writeUTF(LAMP.getUid());
+            out.writeUTF(LAMP.getControlPortURI());
+            out.writeInt(Integer.MAX_VALUE);
+        }
+        List<DeviceRegistration> registrations = this.reopen();
+        Assertions.assertEquals(1, registrations.size());
+        Assertions.assertEquals(HEATER.getUid(), registrations.get(0).getUid());
+    }
+
+    @Test
+    void garbageTypeTest() throws IOException {
+        RegistrationJournal journal = new RegistrationJournal(this.file);
+        journal.open();
+        journal.recordRegistration(HEATER);
+        journal.close();
+
+        try (FileOutputStream out = new FileOutputStream(this.file.toFile(), true)) {
+            out.write(new byte[] {'X', 0, 1, 'a'});
+        }
+        Assertions.assertEquals(1, this.reopen().size());
+    }
+
+    @Test
+    void compactionTest() throws IOException {
+        RegistrationJournal.COMPACTION_THRESHOLD = 4;
+        RegistrationJournal journal = new RegistrationJournal(this.file);
+        journal.open();
+        journal.recordRegistration(HEATER);
+        for (int i = 0; i < 10; ++i) {
+            journal.recordRegistration(LAMP);
+            journal.recordUnregistration(LAMP.getUid());
+        }
+        // the records of the unregistered lamp were dropped
+        Assertions.assertTrue(journal.records <= RegistrationJournal.COMPACTION_THRESHOLD + 1,
+                "records " + journal.records);
+        journal.close();
+
+        List<DeviceRegistration> registrations = this.reopen();
+        Assertions.assertEquals(1, registrations.size());
+        Assertions.assertEquals(HEATER.getUid(), registrations.get(0).getUid());
+    }
+
+    @Test
+    void closedTest() throws IOException {
+        RegistrationJournal journal = new RegistrationJournal(this.file);
+        journal.open();
+        journal.close();
+        Assertions.assertThrows(IOException.class, () -> journal.recordRegistration(HEATER));
+    }
+}
@@ -49,4 +49,32 @@ implements RegistrationCI {
     public void unregister(String uid) throws Exception {
         ((RegistrationCI)this.getConnector()).unregister(uid);
     }
+
+    /**
+     * @see HEMRegistrationCI#invalidateModeConsumptions(String)
+     */
+    public void invalidateModeConsumptions(String uid) throws Exception {
+        ((HEMRegistrationCI)this.getConnector()).invalidateModeConsumptions(uid);
+    }
+
+    /**
+     * @see HEMRegistrationCI#registerAsync(String, String, String)
+     */
+    public boolean registerAsync(String uid, String controlPortURI, String xmlControlAdapter) throws Exception {
+        return ((HEMRegistrationCI)this.getConnector()).registerAsync(uid, controlPortURI, xmlControlAdapter);
+    }
+
+    /**
+     * @see HEMRegistrationCI#registerAll(DeviceRegistration[])
+     */
+    public boolean[] registerAll(DeviceRegistration[] registrations) throws Exception {
+        return ((HEMRegistrationCI)this.getConnector()).registerAll(registrations);
+    }
+
+    /**
+     * @see HEMRegistrationCI#unregisterAll(String[])
+     */
+    public boolean[] unregisterAll(String[] uids) throws Exception {
+        return ((HEMRegistrationCI)this.getConnector()).unregisterAll(uids);
+    }
 }
@@ -94,6 +94,12 @@ import java.text.NumberFormat;
  * </li>
  * </ul>
  * 
+ * <p>
+ * The energy consumed by each appliance is integrated with the cumulative
+ * consumption in {@code applianceEnergies}, indexed as the intensities of
+ * {@code applianceIntensityInputs()}, and given in the final report.
+ * </p>
+ * 
  * <p><strong>Implementation Invariants</strong></p>
  * 
  * <pre>
@@ -105,6 +111,7 @@ import java.text.NumberFormat;
  * invariant	{@code currentIntensity != null && (!currentIntensity.isInitialised() || currentIntensity.getValue() >= 0.0)}
  * invariant	{@code cumulativeConsumption != null && (!cumulativeConsumption.isInitialised() || cumulativeConsumption.getValue() >= 0.0)}
  * invariant	{@code powerProduction != null && (!powerProduction.isInitialised() || powerProduction.getValue() >= 0.0)}
+ * invariant	{@code applianceEnergies == null || applianceEnergies.length == lastApplianceIntensities.length}
  * </pre>
  * 
  * <p><strong>Invariants</strong></p>
@@ -233,6 +240,12 @@ extends		AtomicHIOA
 	@ImportedVariable(type = Double.class)
 	protected Value<Double> currentDimmerLampIntensity;
 
+	/** intensities of the appliances in the cumulative consumption, indexed
+	 *  as {@code applianceIntensityInputs()}.								*/
+	protected double[]				lastApplianceIntensities;
+	/** energy consumed by each appliance since the start of the run in kwh.	*/
+	protected double[]				applianceEnergies;
+
 	/** current total power production of the house in the power unit
 	 *  defined by the electric meter.										*/
 	@InternalVariable(type = Double.class)
@@ -348,6 +361,15 @@ extends		AtomicHIOA
 				"powerProduction != null && "
 				+ "(!powerProduction.isInitialised() || "
 				+ "powerProduction.getValue() >= 0.0)");
+		ret &= AssertionChecking.checkImplementationInvariant(
+				instance.applianceEnergies == null ||
+					instance.applianceEnergies.length ==
+								instance.lastApplianceIntensities.length,
+				ElectricMeterElectricityModel.class,
+				instance,
+				"applianceEnergies == null || "
+				+ "applianceEnergies.length == "
+				+ "lastApplianceIntensities.length");
 		return ret;
 	}
 
@@ -469,6 +491,14 @@ extends		AtomicHIOA
 				ElectricMeter.TENSION.getData()*this.currentIntensity.getValue());
 		Time t = this.cumulativeConsumption.getTime().add(d);
 		this.cumulativeConsumption.setNewValue(c, t);
+		// the last intensities are the ones maintained during d
+		for (int i = 0 ; i < this.applianceEnergies.length ; i++) {
+			this.applianceEnergies[i] +=
+				Electricity.computeConsumption(
+						d,
+						ElectricMeter.TENSION.getData() *
+											this.lastApplianceIntensities[i]);
+		}
 
 		assert	ElectricMeterElectricityModel.implementationInvariants(this) :
 				new NeoSim4JavaException(
@@ -503,6 +533,68 @@ extends		AtomicHIOA
 						+ this.currentFanIntensity.getValue();
 	}
 
+	/**
+	 * return the imported intensities of the appliances, the intensity
+	 * consumed to charge the batteries being left out.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null}
+	 * </pre>
+	 *
+	 * @return	the imported intensities of the appliances.
+	 */
+	@SuppressWarnings("unchecked")
+	protected Value<Double>[]	applianceIntensityInputs()
+	{
+		return new Value[] {this.currentHeaterIntensity,
+							this.currentHairDryerIntensity,
+							this.currentOvenIntensity,
+							this.currentHeatPumpIntensity,
+							this.currentDimmerLampIntensity,
+							this.currentFanIntensity};
+	}
+
+	/**
+	 * return the names of the appliances, in the order of
+	 * {@code applianceIntensityInputs()}.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code true}	// no precondition.
+	 * post	{@code return != null && return.length == applianceIntensityInputs().length}
+	 * </pre>
+	 *
+	 * @return	the names of the appliances.
+	 */
+	protected String[]	applianceIntensityNames()
+	{
+		return new String[] {"heater", "hairDryer", "oven", "heatPump",
+							 "dimmerLamp", "fan"};
+	}
+
+	/**
+	 * record the current intensities of the appliances, the ones integrated
+	 * by the next update of the cumulative consumption.
+	 * 
+	 * <p><strong>Contract</strong></p>
+	 * 
+	 * <pre>
+	 * pre	{@code lastApplianceIntensities != null}
+	 * post	{@code true}	// no postcondition.
+	 * </pre>
+	 */
+	protected void		recordApplianceIntensities()
+	{
+		Value<Double>[] inputs = this.applianceIntensityInputs();
+		for (int i = 0 ; i < inputs.length ; i++) {
+			this.lastApplianceIntensities[i] = inputs[i].getValue();
+		}
+	}
+
 	/**
 	 * compute the current total power production.
 	 * 
@@ -543,6 +635,9 @@ extends		AtomicHIOA
 	{
 		this.generatorToBeNotified = false;
 		this.batteriesToBeNotified = false;
+		int appliances = this.applianceIntensityNames().length;
+		this.lastApplianceIntensities = new double[appliances];
+		this.applianceEnergies = new double[appliances];
 		
 		super.initialiseState(initialTime);
 	}
@@ -589,6 +684,7 @@ extends		AtomicHIOA
 				&& this.currentDimmerLampIntensity.isInitialised()
 				&& this.currentFanIntensity.isInitialised()) {
 			double i = this.computeTotalIntensity();
+			this.recordApplianceIntensities();
 			this.currentIntensity.initialise(i);
 			this.cumulativeConsumption.initialise(0.0);
 			justInitialised += 2;
@@ -681,6 +777,7 @@ extends		AtomicHIOA
 			somethingHasChanged = true;
 		}
 		this.currentIntensity.setNewValue(totalConsumption, this.getCurrentStateTime());
+		this.recordApplianceIntensities();
 
 		if (somethingHasChanged) {
 			// set the power to be taken from the generator
@@ -791,7 +888,9 @@ extends		AtomicHIOA
 		// reinitialise the internal model variable.
 		this.finalReport = new ElectricMeterElectricityReport(
 											URI,
-											this.cumulativeConsumption.getValue());
+											this.cumulativeConsumption.getValue(),
+											this.applianceIntensityNames(),
+											this.applianceEnergies);
 
 		if (VERBOSE) {
 			this.logMessage("simulation ends.");
@@ -826,15 +925,21 @@ extends		AtomicHIOA
 		private static final long serialVersionUID = 1L;
 		protected String	modelURI;
 		protected double	totalConsumption; // in kwh
+		protected String[]	applianceNames;
+		protected double[]	applianceConsumptions; // in kwh
 
 		public			ElectricMeterElectricityReport(
 			String modelURI,
-			double totalConsumption
+			double totalConsumption,
+			String[] applianceNames,
+			double[] applianceConsumptions
 			)
 		{
 			super();
 			this.modelURI = modelURI;
 			this.totalConsumption = totalConsumption;
+			this.applianceNames = applianceNames.clone();
+			this.applianceConsumptions = applianceConsumptions.clone();
 		}
 
 		@Override
@@ -857,6 +962,15 @@ extends		AtomicHIOA
 			ret.append("total consumption in kwh = ");
 			ret.append(this.totalConsumption);
 			ret.append(".\n");
+			for (int i = 0 ; i < this.applianceNames.length ; i++) {
+				ret.append(indent);
+				ret.append('|');
+				ret.append("consumption of ");
+				ret.append(this.applianceNames[i]);
+				ret.append(" in kwh = ");
+				ret.append(this.applianceConsumptions[i]);
+				ret.append(".\n");
+			}
 			ret.append(indent);
 			ret.append("---\n");
 			return ret.toString();
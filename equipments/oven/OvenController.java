@@ -9,6 +9,7 @@ import java.util.concurrent.TimeUnit;
 import equipments.oven.connections.OvenActuatorOutboundPort;
 import equipments.oven.connections.OvenControllerInboundPort;
 import equipments.oven.connections.OvenExternalControlOutboundPort;
+import equipments.utils.FixedRateLoop;
 
 @RequiredInterfaces(required = {
         OvenExternalControlCI.class,
@@ -37,6 +38,9 @@ implements OvenControllerI {
     protected final long controlPeriod;
     protected final TimeUnit timeUnit;
 
+    /** executes controlLoop at a fixed rate while controlling. */
+    protected final FixedRateLoop loop;
+
     // -------------------------------------------------------------------------
     // Ports
     // -------------------------------------------------------------------------
@@ -87,6 +91,12 @@ implements OvenControllerI {
                 (long)((controlPeriod * TimeUnit.SECONDS.toNanos(1)) / accelerationFactor);
         this.timeUnit = TimeUnit.NANOSECONDS;
 
+        this.loop = new FixedRateLoop(
+                this.timeUnit.toNanos(this.controlPeriod),
+                FixedRateLoop.OverrunPolicy.SKIP,
+                (task, delay) -> this.scheduleTask(owner -> task.run(), delay, TimeUnit.NANOSECONDS),
+                this::controlLoop);
+
         this.currentState = ControlState.Off;
 
         this.externalPort = new OvenExternalControlOutboundPort(this);
@@ -110,11 +120,7 @@ implements OvenControllerI {
 
         this.currentState = ControlState.On;
 
-        this.scheduleTask(
-                owner -> ((OvenController) owner).controlLoop(),
-                this.controlPeriod,
-                this.timeUnit
-        );
+        this.loop.start(this.timeUnit.toNanos(this.controlPeriod));
     }
 
     @Override
@@ -122,6 +128,7 @@ implements OvenControllerI {
         synchronized (this) {
             this.currentState = ControlState.Off;
         }
+        this.loop.stop();
     }
 
     // -------------------------------------------------------------------------
@@ -155,12 +162,6 @@ implements OvenControllerI {
                 } catch (Exception e) {
                     this.logMessage("Control error: " + e.getMessage());
                 }
-
-                this.scheduleTask(
-                        owner -> ((OvenController) owner).controlLoop(),
-                        this.controlPeriod,
-                        this.timeUnit
-                );
             }
         }
     }
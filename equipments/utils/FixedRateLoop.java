@@ -0,0 +1,290 @@
+package equipments.utils;
+
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+/**
+ * The class <code>equipments.utils.FixedRateLoop</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Drift-free periodic execution of the control loops of the components.
+ *  Instead of rescheduling the body {@code period} after the end of the
+ *  previous execution, which makes the actual period grow with the duration
+ *  of the body, the ticks are kept on a fixed grid {@code origin + k * period}
+ *  and each tick is scheduled at the next point of the grid.
+ * </p>
+ *
+ * <p>
+ *  The period is given in real nanoseconds, that is the period of the
+ *  accelerated clock divided by the acceleration factor, as the components
+ *  already compute it; the grid is therefore aligned with the accelerated
+ *  clock whatever the duration of the bodies.
+ * </p>
+ *
+ * <p>
+ *  When an execution of the body overruns one or more points of the grid, the
+ *  {@code OverrunPolicy} tells what to do with the missed ticks: skip them and
+ *  wait for the next point of the grid, or merge them into one execution
+ *  started at once. The loop counts the ticks, the overruns and the missed
+ *  ticks, and measures the jitter, the delay between the point of the grid
+ *  and the actual start of the tick.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code getPeriod() > 0}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class FixedRateLoop {
+
+    public enum OverrunPolicy {
+        /** the missed ticks are dropped, the next tick is the next point of the grid. */
+        SKIP,
+        /** the missed ticks are merged into one tick executed at once. */
+        MERGE
+    }
+
+    /**
+     * Schedules a task after a delay, typically with the {@code scheduleTask}
+     * method of the component owning the loop.
+     */
+    @FunctionalInterface
+    public interface Scheduler {
+        void schedule(Runnable task, long delayNanos) throws Exception;
+    }
+
+    protected final long period;
+    protected final OverrunPolicy policy;
+    protected final Scheduler scheduler;
+    protected final Runnable body;
+
+    /** incremented by each start, the ticks of a previous start are ignored. */
+    protected volatile long generation;
+    protected volatile boolean running;
+    /** point of the grid of the tick currently scheduled, in nanoseconds of {@code System.nanoTime}. */
+    protected long scheduledTick;
+
+    protected volatile long ticks;
+    protected volatile long overruns;
+    protected volatile long missedTicks;
+    protected volatile long lastJitter;
+    protected volatile long maxJitter;
+    protected volatile long totalJitter;
+
+    /**
+     *
+     * Creates a stopped loop
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code period > 0}
+     *  pre {@code policy != null && scheduler != null && body != null}
+     *  post {@code !isRunning()}
+     * </pre>
+     * @param period period of the loop in nanoseconds
+     * @param policy what to do with the ticks missed because of an overrun
+     * @param scheduler used to schedule the ticks
+     * @param body executed at each tick
+     */
+    public FixedRateLoop(long period, OverrunPolicy policy, Scheduler scheduler, Runnable body) {
+        assert period > 0 :
+                new PreconditionException("period <= 0");
+        assert policy != null && scheduler != null && body != null :
+                new PreconditionException("policy == null || scheduler == null || body == null");
+
+        this.period = period;
+        this.policy = policy;
+        this.scheduler = scheduler;
+        this.body = body;
+        this.generation = 0L;
+        this.running = false;
+    }
+
+    /**
+     *
+     * Starts the loop, the first tick occurs after {@code initialDelay}
+     * nanoseconds and the next ones every {@code period} nanoseconds
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code initialDelay >= 0}
+     *  post {@code isRunning()}
+     * </pre>
+     * @param initialDelay delay before the first tick in nanoseconds
+     * @throws Exception if the first tick cannot be scheduled
+     */
+    public synchronized void start(long initialDelay) throws Exception {
+        assert initialDelay >= 0 :
+                new PreconditionException("initialDelay < 0");
+
+        final long current = ++this.generation;
+        this.running = true;
+        this.scheduledTick = System.nanoTime() + initialDelay;
+        this.scheduler.schedule(() -> this.tick(current), initialDelay);
+    }
+
+    /**
+     *
+     * Stops the loop, the tick already scheduled will do nothing
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code true} // no precondition
+     *  post {@code !isRunning()}
+     * </pre>
+     */
+    public synchronized void stop() {
+        this.running = false;
+    }
+
+    /**
+     *
+     * Executes the body and schedules the next tick on the grid according to
+     * the overrun policy
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code true} // no precondition
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param tickGeneration generation of the start which scheduled this tick
+     */
+    protected void tick(long tickGeneration) {
+        if (!this.running || tickGeneration != this.generation) {
+            return;
+        }
+
+        final long started = System.nanoTime();
+        final long jitter = Math.max(0L, started - this.scheduledTick);
+        this.lastJitter = jitter;
+        this.totalJitter += jitter;
+        if (jitter > this.maxJitter) {
+            this.maxJitter = jitter;
+        }
+        ++this.ticks;
+
+        try {
+            this.body.run();
+        } finally {
+            synchronized (this) {
+                if (this.running && tickGeneration == this.generation) {
+                    this.scheduleNext(tickGeneration);
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * Schedules the tick following the one which has just been executed
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code true} // no precondition
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param tickGeneration generation of the current start
+     */
+    protected void scheduleNext(long tickGeneration) {
+        final long ended = System.nanoTime();
+        long next = this.scheduledTick + this.period;
+
+        if (ended > next) {
+            // the body has overrun at least the next point of the grid
+            final long missed = (ended - next) / this.period + 1;
+            ++this.overruns;
+            this.missedTicks += missed;
+            if (this.policy == OverrunPolicy.SKIP) {
+                next += missed * this.period;
+            } else {
+                // the last missed point of the grid is executed at once
+                next += (missed - 1) * this.period;
+            }
+        }
+
+        this.scheduledTick = next;
+        try {
+            this.scheduler.schedule(() -> this.tick(tickGeneration), Math.max(0L, next - ended));
+        } catch (Exception e) {
+            this.running = false;
+            e.printStackTrace();
+        }
+    }
+
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    public long getPeriod() {
+        return this.period;
+    }
+
+    public long getTicks() {
+        return this.ticks;
+    }
+
+    public long getOverruns() {
+        return this.overruns;
+    }
+
+    /**
+     * @return the number of points of the grid missed because of overruns, skipped or merged
+     */
+    public long getMissedTicks() {
+        return this.missedTicks;
+    }
+
+    /**
+     * @return the jitter of the last tick in nanoseconds
+     */
+    public long getLastJitter() {
+        return this.lastJitter;
+    }
+
+    /**
+     * @return the largest jitter in nanoseconds
+     */
+    public long getMaxJitter() {
+        return this.maxJitter;
+    }
+
+    /**
+     * @return the mean jitter in nanoseconds
+     */
+    public long getMeanJitter() {
+        final long n = this.ticks;
+        return n == 0 ? 0L : this.totalJitter / n;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("FixedRateLoop[period=");
+        builder.append(this.period);
+        builder.append("ns, policy=");
+        builder.append(this.policy);
+        builder.append(", ticks=");
+        builder.append(this.ticks);
+        builder.append(", overruns=");
+        builder.append(this.overruns);
+        builder.append(", missed=");
+        builder.append(this.missedTicks);
+        builder.append(", meanJitter=");
+        builder.append(this.getMeanJitter());
+        builder.append("ns, maxJitter=");
+        builder.append(this.maxJitter);
+        builder.append("ns]");
+        return builder.toString();
+    }
+}
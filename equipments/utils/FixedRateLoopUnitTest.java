@@ -0,0 +1,163 @@
+package equipments.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The class <code>equipments.utils.FixedRateLoopUnitTest</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Tests the scheduling of the ticks of the loop on its grid, with a
+ *  scheduler which only records the tasks and their delays so that the test
+ *  executes the ticks itself.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class FixedRateLoopUnitTest {
+
+    static final long PERIOD = TimeUnit.MILLISECONDS.toNanos(50);
+    /** duration of an overrunning body, more than two periods */
+    static final long OVERRUN = TimeUnit.MILLISECONDS.toNanos(175);
+
+    List<Runnable> tasks;
+    List<Long> delays;
+    long bodyDuration;
+    int executions;
+
+    @BeforeEach
+    void initialise() {
+        this.tasks = new ArrayList<>();
+        this.delays = new ArrayList<>();
+        this.bodyDuration = 0L;
+        this.executions = 0;
+    }
+
+    FixedRateLoop loop(FixedRateLoop.OverrunPolicy policy) {
+        return new FixedRateLoop(
+                PERIOD,
+                policy,
+                (task, delay) -> {
+                    this.tasks.add(task);
+                    this.delays.add(delay);
+                },
+                () -> {
+                    ++this.executions;
+                    if (this.bodyDuration > 0L) {
+                        try {
+                            Thread.sleep(TimeUnit.NANOSECONDS.toMillis(this.bodyDuration));
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                });
+    }
+
+    Runnable lastTask() {
+        return this.tasks.get(this.tasks.size() - 1);
+    }
+
+    long lastDelay() {
+        return this.delays.get(this.delays.size() - 1);
+    }
+
+    @Test
+    void onTimeTickTest() throws Exception {
+        FixedRateLoop loop = this.loop(FixedRateLoop.OverrunPolicy.SKIP);
+        loop.start(0L);
+        final long origin = loop.scheduledTick;
+        Assertions.assertTrue(loop.isRunning());
+        Assertions.assertEquals(0L, this.lastDelay());
+
+        this.lastTask().run();
+        Assertions.assertEquals(1, this.executions);
+        Assertions.assertEquals(1L, loop.getTicks());
+        Assertions.assertEquals(0L, loop.getOverruns());
+        // the next tick is on the grid, whatever the duration of the body
+        Assertions.assertEquals(origin + PERIOD, loop.scheduledTick);
+        Assertions.assertTrue(this.lastDelay() > 0L && this.lastDelay() <= PERIOD);
+    }
+
+    @Test
+    void skipOverrunTest() throws Exception {
+        FixedRateLoop loop = this.loop(FixedRateLoop.OverrunPolicy.SKIP);
+        loop.start(0L);
+        final long origin = loop.scheduledTick;
+        this.bodyDuration = OVERRUN;
+
+        this.lastTask().run();
+        Assertions.assertEquals(1L, loop.getOverruns());
+        final long missed = loop.getMissedTicks();
+        Assertions.assertTrue(missed >= 3, "missed " + missed);
+        // the missed points are dropped, the next tick waits for the next point of the grid
+        Assertions.assertEquals(origin + (missed + 1) * PERIOD, loop.scheduledTick);
+        Assertions.assertTrue(this.lastDelay() >= 0L && this.lastDelay() < PERIOD);
+        Assertions.assertEquals(1, this.executions);
+    }
+
+    @Test
+    void mergeOverrunTest() throws Exception {
+        FixedRateLoop loop = this.loop(FixedRateLoop.OverrunPolicy.MERGE);
+        loop.start(0L);
+        final long origin = loop.scheduledTick;
+        this.bodyDuration = OVERRUN;
+
+        this.lastTask().run();
+        Assertions.assertEquals(1L, loop.getOverruns());
+        final long missed = loop.getMissedTicks();
+        Assertions.assertTrue(missed >= 3, "missed " + missed);
+        // the missed points are merged into one tick executed at once
+        Assertions.assertEquals(origin + missed * PERIOD, loop.scheduledTick);
+        Assertions.assertEquals(0L, this.lastDelay());
+
+        this.bodyDuration = 0L;
+        this.lastTask().run();
+        Assertions.assertEquals(2, this.executions);
+        Assertions.assertTrue(loop.getLastJitter() > 0L);
+        // the ticks stay on the grid
+        Assertions.assertTrue(loop.scheduledTick > origin + missed * PERIOD);
+        Assertions.assertEquals(0L, (loop.scheduledTick - origin) % PERIOD);
+    }
+
+    @Test
+    void stopTest() throws Exception {
+        FixedRateLoop loop = this.loop(FixedRateLoop.OverrunPolicy.SKIP);
+        loop.start(0L);
+        loop.stop();
+        Assertions.assertFalse(loop.isRunning());
+
+        this.lastTask().run();
+        Assertions.assertEquals(0, this.executions);
+        Assertions.assertEquals(1, this.tasks.size());
+    }
+
+    @Test
+    void restartIgnoresPreviousTicksTest() throws Exception {
+        FixedRateLoop loop = this.loop(FixedRateLoop.OverrunPolicy.SKIP);
+        loop.start(0L);
+        final Runnable previous = this.lastTask();
+        loop.stop();
+        loop.start(0L);
+
+        previous.run();
+        Assertions.assertEquals(0, this.executions);
+        this.lastTask().run();
+        Assertions.assertEquals(1, this.executions);
+        Assertions.assertEquals(3, this.tasks.size());
+    }
+}
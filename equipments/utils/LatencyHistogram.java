@@ -0,0 +1,259 @@
+package equipments.utils;
+
+import fr.sorbonne_u.exceptions.PreconditionException;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The class <code>equipments.utils.LatencyHistogram</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Histogram of latencies with fixed, preallocated buckets, used to
+ *  instrument the control loops without disturbing them: recording a latency
+ *  neither allocates nor takes a lock, it only increments atomic counters, so
+ *  the histograms can be shared by all the threads of a component.
+ * </p>
+ *
+ * <p>
+ *  The bucket {@code 0} counts the latencies under one microsecond (1024
+ *  nanoseconds) and the bucket {@code i > 0} the latencies in
+ *  {@code [2^(i-1), 2^i)} microseconds; the last bucket also counts every
+ *  longer latency. The percentiles are therefore given as the upper bound of
+ *  their bucket, that is with a precision of a factor 2, which is enough to
+ *  see where the time of a cycle goes.
+ * </p>
+ *
+ * <p>
+ *  A report taken while latencies are recorded may be slightly inconsistent
+ *  (the count may not be exactly the sum of the buckets), as the counters are
+ *  read one by one.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * invariant	{@code getCount() >= 0}
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class LatencyHistogram {
+
+    /** number of buckets, the last one counts the latencies over 2^31 microseconds. */
+    public static final int BUCKETS = 32;
+    /** the buckets are powers of two of 2^UNIT_SHIFT nanoseconds. */
+    protected static final int UNIT_SHIFT = 10;
+
+    protected final String name;
+    protected final AtomicLongArray buckets;
+    protected final AtomicLong count;
+    protected final AtomicLong total;
+    protected final AtomicLong max;
+
+    /**
+     *
+     * Creates an empty histogram
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code name != null}
+     *  post {@code getCount() == 0}
+     * </pre>
+     * @param name name of the measured latency, used in the reports
+     */
+    public LatencyHistogram(String name) {
+        assert name != null :
+                new PreconditionException("name == null");
+
+        this.name = name;
+        this.buckets = new AtomicLongArray(BUCKETS);
+        this.count = new AtomicLong();
+        this.total = new AtomicLong();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * @param nanos a latency in nanoseconds
+     * @return the index of the bucket counting {@code nanos}
+     */
+    protected static int bucketOf(long nanos) {
+        final int index = 64 - Long.numberOfLeadingZeros(nanos >>> UNIT_SHIFT);
+        return Math.min(index, BUCKETS - 1);
+    }
+
+    /**
+     * @param index index of a bucket
+     * @return the upper bound of the bucket in nanoseconds
+     */
+    public static long upperBound(int index) {
+        return (1L << UNIT_SHIFT) << index;
+    }
+
+    /**
+     *
+     * Records a latency
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code true} // no precondition
+     *  post {@code getCount() > 0}
+     * </pre>
+     * @param nanos the latency in nanoseconds, a negative latency is recorded as 0
+     */
+    public void record(long nanos) {
+        final long latency = Math.max(nanos, 0L);
+        this.buckets.incrementAndGet(bucketOf(latency));
+        this.count.incrementAndGet();
+        this.total.addAndGet(latency);
+        long current = this.max.get();
+        while (latency > current && !this.max.compareAndSet(current, latency)) {
+            current = this.max.get();
+        }
+    }
+
+    /**
+     *
+     * Records the latency elapsed since {@code started}
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code true} // no precondition
+     *  post {@code getCount() > 0}
+     * </pre>
+     * @param started date of the beginning of the measure, from {@code System.nanoTime}
+     */
+    public void recordSince(long started) {
+        this.record(System.nanoTime() - started);
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public long getCount() {
+        return this.count.get();
+    }
+
+    /**
+     * @return the largest latency in nanoseconds
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * @return the sum of the latencies in nanoseconds
+     */
+    public long getTotal() {
+        return this.total.get();
+    }
+
+    /**
+     * @return the mean latency in nanoseconds
+     */
+    public long getMean() {
+        final long n = this.count.get();
+        return n == 0 ? 0L : this.total.get() / n;
+    }
+
+    /**
+     *
+     * Returns the upper bound of the bucket holding the given percentile
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code percentile > 0.0 && percentile <= 1.0}
+     *  post {@code return >= 0}
+     * </pre>
+     * @param percentile the percentile, 0.99 for the 99th percentile
+     * @return the upper bound in nanoseconds of the percentile, 0 if the histogram is empty
+     */
+    public long getPercentile(double percentile) {
+        assert percentile > 0.0 && percentile <= 1.0 :
+                new PreconditionException("percentile <= 0.0 || percentile > 1.0");
+
+        final long n = this.count.get();
+        if (n == 0) {
+            return 0L;
+        }
+        final long rank = (long) Math.ceil(percentile * n);
+        long cumulated = 0L;
+        for (int i = 0; i < BUCKETS; ++i) {
+            cumulated += this.buckets.get(i);
+            if (cumulated >= rank && i < BUCKETS - 1) {
+                return Math.min(upperBound(i), this.max.get());
+            }
+        }
+        // the last bucket is not bounded
+        return this.max.get();
+    }
+
+    /**
+     *
+     * Empties the histogram
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code true} // no precondition
+     *  post {@code true} // no postcondition
+     * </pre>
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; ++i) {
+            this.buckets.set(i, 0L);
+        }
+        this.count.set(0L);
+        this.total.set(0L);
+        this.max.set(0L);
+    }
+
+    /**
+     *
+     * Appends a one line report of the histogram, the latencies in microseconds
+     *
+     * <p><strong>Contract</strong></p>
+     *
+     * <pre>
+     *  pre {@code builder != null}
+     *  post {@code true} // no postcondition
+     * </pre>
+     * @param builder the builder receiving the report
+     * @return {@code builder}
+     */
+    public StringBuilder report(StringBuilder builder) {
+        assert builder != null :
+                new PreconditionException("builder == null");
+
+        builder.append(this.name);
+        builder.append(": count=");
+        builder.append(this.getCount());
+        builder.append(", mean=");
+        builder.append(this.getMean() / 1000L);
+        builder.append("us, p50<=");
+        builder.append(this.getPercentile(0.50) / 1000L);
+        builder.append("us, p90<=");
+        builder.append(this.getPercentile(0.90) / 1000L);
+        builder.append("us, p99<=");
+        builder.append(this.getPercentile(0.99) / 1000L);
+        builder.append("us, max=");
+        builder.append(this.getMax() / 1000L);
+        builder.append("us");
+        return builder;
+    }
+
+    @Override
+    public String toString() {
+        return this.report(new StringBuilder("LatencyHistogram[")).append(']').toString();
+    }
+}
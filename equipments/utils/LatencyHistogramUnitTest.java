@@ -0,0 +1,101 @@
+package equipments.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+/**
+ * The class <code>equipments.utils.LatencyHistogramUnitTest</code>.
+ *
+ * <p><strong>Description</strong></p>
+ *
+ * <p>
+ *  Tests the boundaries of the buckets of the histogram and the percentiles
+ *  and aggregates computed from them.
+ * </p>
+ *
+ * <p><strong>Invariants</strong></p>
+ *
+ * <pre>
+ * </pre>
+ *
+ * <p>Created on : 2026-10-18</p>
+ *
+ * @author    <a href="mailto:Rodrigo.Vila@etu.sorbonne-universite.fr">Rodrigo Vila</a>
+ * @author    <a href="mailto:Damien.Ribeiro@etu.sorbonne-universite.fr">Damien Ribeiro</a>
+ */
+public class LatencyHistogramUnitTest {
+
+    @Test
+    void bucketBoundariesTest() {
+        Assertions.assertEquals(0, LatencyHistogram.bucketOf(0L));
+        Assertions.assertEquals(0, LatencyHistogram.bucketOf(LatencyHistogram.upperBound(0) - 1));
+        for (int i = 1; i < LatencyHistogram.BUCKETS - 1; ++i) {
+            // a bucket holds [upperBound(i - 1), upperBound(i))
+            Assertions.assertEquals(i, LatencyHistogram.bucketOf(LatencyHistogram.upperBound(i - 1)));
+            Assertions.assertEquals(i, LatencyHistogram.bucketOf(LatencyHistogram.upperBound(i) - 1));
+        }
+        // the last bucket is not bounded
+        Assertions.assertEquals(LatencyHistogram.BUCKETS - 1,
+                LatencyHistogram.bucketOf(LatencyHistogram.upperBound(LatencyHistogram.BUCKETS - 1)));
+        Assertions.assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    void negativeLatencyTest() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        histogram.record(-5L);
+        Assertions.assertEquals(1L, histogram.getCount());
+        Assertions.assertEquals(0L, histogram.getTotal());
+        Assertions.assertEquals(1L, histogram.buckets.get(0));
+    }
+
+    @Test
+    void aggregatesTest() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        Assertions.assertEquals(0L, histogram.getMean());
+        Assertions.assertEquals(0L, histogram.getPercentile(0.99));
+
+        histogram.record(1000L);
+        histogram.record(3000L);
+        histogram.record(5000L);
+        Assertions.assertEquals(3L, histogram.getCount());
+        Assertions.assertEquals(9000L, histogram.getTotal());
+        Assertions.assertEquals(3000L, histogram.getMean());
+        Assertions.assertEquals(5000L, histogram.getMax());
+    }
+
+    @Test
+    void percentileTest() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        // 90 latencies in bucket 0 and 10 in bucket 4
+        for (int i = 0; i < 90; ++i) {
+            histogram.record(500L);
+        }
+        for (int i = 0; i < 10; ++i) {
+            histogram.record(LatencyHistogram.upperBound(3) + 1);
+        }
+        Assertions.assertEquals(LatencyHistogram.upperBound(0), histogram.getPercentile(0.50));
+        Assertions.assertEquals(LatencyHistogram.upperBound(0), histogram.getPercentile(0.90));
+        // the bound of the bucket is capped by the largest latency
+        Assertions.assertEquals(LatencyHistogram.upperBound(3) + 1, histogram.getPercentile(0.91));
+        Assertions.assertEquals(LatencyHistogram.upperBound(3) + 1, histogram.getPercentile(1.0));
+    }
+
+    @Test
+    void lastBucketPercentileTest() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        histogram.record(Long.MAX_VALUE / 2);
+        Assertions.assertEquals(Long.MAX_VALUE / 2, histogram.getPercentile(0.50));
+    }
+
+    @Test
+    void resetTest() {
+        LatencyHistogram histogram = new LatencyHistogram("test");
+        histogram.record(2000L);
+        histogram.reset();
+        Assertions.assertEquals(0L, histogram.getCount());
+        Assertions.assertEquals(0L, histogram.getTotal());
+        Assertions.assertEquals(0L, histogram.getMax());
+        Assertions.assertEquals(0L, histogram.buckets.get(1));
+    }
+}